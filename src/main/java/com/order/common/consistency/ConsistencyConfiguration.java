@@ -0,0 +1,15 @@
+package com.order.common.consistency;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Entry point for read-your-writes consistency tokens.
+ *
+ * Imported by each application that issues or honours {@code X-Consistency-Token}: it registers
+ * the request filter and the commit listener that issues the tokens.
+ */
+@Configuration
+@ComponentScan("com.order.common.consistency")
+public class ConsistencyConfiguration {
+}
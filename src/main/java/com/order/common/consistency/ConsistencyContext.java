@@ -0,0 +1,57 @@
+package com.order.common.consistency;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Database Optimisation Enhancement: Read-Your-Writes Consistency Context
+ *
+ * Per-request (thread-local) consistency requirement for replica reads.
+ * A token is the commit time (epoch ms) of a write the caller has seen; a replica may serve
+ * the read only if it has replayed everything up to that time. Set from the
+ * {@code X-Consistency-Token} request header and raised by every write committed
+ * during the request, so later reads in the same request also see it.
+ */
+public final class ConsistencyContext {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<State> CONTEXT = new ThreadLocal<>();
+
+    private ConsistencyContext() {}
+
+    static void open(long requiredToken, HttpServletResponse response) {
+        CONTEXT.set(new State(requiredToken, response));
+    }
+
+    static void close() {
+        CONTEXT.remove();
+    }
+
+    /** Commit time a replica must have caught up to, or 0 if any replica will do */
+    public static long requiredToken() {
+        State state = CONTEXT.get();
+        return state == null ? 0 : state.required;
+    }
+
+    /** Records a committed write and hands its token back to the caller */
+    static void recordWrite(long token) {
+        State state = CONTEXT.get();
+        if (state == null) {
+            return;
+        }
+        state.required = Math.max(state.required, token);
+        if (state.response != null && !state.response.isCommitted()) {
+            state.response.setHeader(HEADER, Long.toString(state.required));
+        }
+    }
+
+    private static final class State {
+        long required;
+        final HttpServletResponse response;
+
+        State(long required, HttpServletResponse response) {
+            this.required = required;
+            this.response = response;
+        }
+    }
+}
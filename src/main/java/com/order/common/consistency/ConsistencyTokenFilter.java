@@ -0,0 +1,43 @@
+package com.order.common.consistency;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.*;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Database Optimisation Enhancement: Consistency Token Filter
+ * Reads X-Consistency-Token from the request (the token a previous write returned) and
+ * opens the {@link ConsistencyContext} for the request; writes committed during the request
+ * put their token on the response.
+ */
+@Component
+@Order(2)
+public class ConsistencyTokenFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest  httpReq = (HttpServletRequest)  req;
+        HttpServletResponse httpRes = (HttpServletResponse) res;
+
+        long required = 0;
+        String token = httpReq.getHeader(ConsistencyContext.HEADER);
+        if (token != null && !token.isBlank()) {
+            try {
+                required = Long.parseLong(token.trim());
+            } catch (NumberFormatException ignored) {
+                // unknown token format — treat as no requirement
+            }
+        }
+
+        ConsistencyContext.open(required, httpRes);
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            ConsistencyContext.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.order.common.consistency;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Database Optimisation Enhancement: Consistency Token Issuer
+ *
+ * Registered with the JPA transaction manager — explicitly by JpaQueryOptimisationConfig, and by
+ * Spring Boot's transaction manager customizers where the manager is auto-configured. After every
+ * successfully committed read-write transaction the commit time becomes the request's consistency token.
+ */
+@Component
+public class ConsistencyTokenListener implements TransactionExecutionListener {
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            ConsistencyContext.recordWrite(System.currentTimeMillis());
+        }
+    }
+}
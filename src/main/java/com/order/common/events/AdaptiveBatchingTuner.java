@@ -0,0 +1,153 @@
+package com.order.common.events;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Switches the event producer between two batching profiles based on observed send rate.
+ *
+ *  LOW_LATENCY  linger.ms=1,  batch.size=16 KB,  no compression — quiet periods, minimal delay
+ *  BURST        linger.ms=20, batch.size=256 KB, lz4            — bursts, few large compressed batches
+ *
+ * Hysteresis: BURST is entered once the rate reaches {@code burst-above} msg/s and left only after
+ * the rate stays below {@code calm-below} msg/s for {@code calm-ticks} consecutive ticks, so the
+ * producer does not flap around a single threshold.
+ *
+ * A switch never touches the producer that is in use: it builds a new producer factory from the
+ * event template's factory with the profile's overrides, swaps a template over it into
+ * {@link EventPublisher}, and retires the previous tuned factory. The retired factory is closed on
+ * the next tick — by then no send can still be inside it, since a send blocks at most max.block.ms —
+ * and closing flushes whatever it still buffers. The eventKafkaTemplate bean's own factory is never
+ * closed here; the spool replayer and warm-up keep using it.
+ *
+ * Metrics:
+ *  - orderprocessing.kafka.producer.profile   — 0 = LOW_LATENCY, 1 = BURST
+ *  - orderprocessing.kafka.producer.switches  — profile changes
+ */
+@Component
+@Slf4j
+public class AdaptiveBatchingTuner {
+
+    enum Profile {
+        LOW_LATENCY(1, 16_384, "none"),
+        BURST(20, 262_144, "lz4");
+
+        private final Map<String, Object> configs;
+
+        Profile(int lingerMs, int batchSize, String compression) {
+            this.configs = Map.of(
+                    ProducerConfig.LINGER_MS_CONFIG, lingerMs,
+                    ProducerConfig.BATCH_SIZE_CONFIG, batchSize,
+                    ProducerConfig.COMPRESSION_TYPE_CONFIG, compression);
+        }
+    }
+
+    private final EventPublisher eventPublisher;
+    private final KafkaTemplate<String, byte[]> eventKafkaTemplate;
+    private final ProducerFactory<String, byte[]> producerFactory;
+    private final boolean enabled;
+    private final double burstAbove;
+    private final double calmBelow;
+    private final int calmTicks;
+    private final Counter switches;
+
+    private volatile Profile profile = Profile.LOW_LATENCY;
+    private long lastSent;
+    private long lastTick = System.nanoTime();
+    private int ticksBelow;
+    /** Factory behind the template EventPublisher currently uses, when it is one of ours */
+    private DefaultKafkaProducerFactory<String, byte[]> active;
+    /** Factory swapped out by the last switch, closed on the next tick */
+    private DefaultKafkaProducerFactory<String, byte[]> retired;
+
+    public AdaptiveBatchingTuner(EventPublisher eventPublisher,
+                                 KafkaTemplate<String, byte[]> eventKafkaTemplate,
+                                 @Value("${events.producer.tuning.enabled:true}") boolean enabled,
+                                 @Value("${events.producer.tuning.burst-above:1000}") double burstAbove,
+                                 @Value("${events.producer.tuning.calm-below:200}") double calmBelow,
+                                 @Value("${events.producer.tuning.calm-ticks:3}") int calmTicks,
+                                 MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.eventKafkaTemplate = eventKafkaTemplate;
+        this.producerFactory = eventKafkaTemplate.getProducerFactory();
+        this.enabled = enabled;
+        this.burstAbove = burstAbove;
+        this.calmBelow = calmBelow;
+        this.calmTicks = calmTicks;
+
+        Gauge.builder("orderprocessing.kafka.producer.profile", this, t -> t.profile.ordinal())
+             .description("Active producer batching profile (0 = low latency, 1 = burst)")
+             .tag("service", "orderprocessing")
+             .register(meterRegistry);
+        this.switches = Counter.builder("orderprocessing.kafka.producer.switches")
+             .description("Producer batching profile changes")
+             .tag("service", "orderprocessing")
+             .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${events.producer.tuning.interval-ms:10000}")
+    public synchronized void tune() {
+        long now = System.nanoTime();
+        long sent = eventPublisher.sentCount();
+        double rate = (sent - lastSent) / ((now - lastTick) / 1e9);
+        lastSent = sent;
+        lastTick = now;
+        closeRetired();
+
+        if (!enabled || !(producerFactory instanceof DefaultKafkaProducerFactory<String, byte[]> factory)) {
+            return;
+        }
+
+        if (profile == Profile.LOW_LATENCY && rate >= burstAbove) {
+            apply(factory, Profile.BURST, rate);
+        } else if (profile == Profile.BURST) {
+            ticksBelow = rate < calmBelow ? ticksBelow + 1 : 0;
+            if (ticksBelow >= calmTicks) {
+                apply(factory, Profile.LOW_LATENCY, rate);
+            }
+        }
+    }
+
+    private void apply(DefaultKafkaProducerFactory<String, byte[]> factory, Profile next, double rate) {
+        log.info("[KAFKA] Send rate {} msg/s — switching producer profile {} → {}",
+                String.format("%.0f", rate), profile, next);
+        DefaultKafkaProducerFactory<String, byte[]> tuned = factory.copyWithConfigurationOverride(next.configs);
+        eventPublisher.swapTemplate(new KafkaTemplate<>(tuned));
+        retired = active;
+        active = tuned;
+        profile = next;
+        ticksBelow = 0;
+        switches.increment();
+    }
+
+    private void closeRetired() {
+        if (retired != null) {
+            retired.destroy();
+            retired = null;
+        }
+    }
+
+    /** Hands the publisher back to the bean template and closes the tuned factories */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (active == null) {
+            return;
+        }
+        eventPublisher.swapTemplate(eventKafkaTemplate);
+        closeRetired();
+        active.destroy();
+        active = null;
+    }
+}
@@ -0,0 +1,70 @@
+package com.order.common.events;
+
+import com.order.common.events.codec.BinaryEventCodec;
+import com.order.common.events.codec.EventEncodingProperties;
+import com.order.common.events.codec.EventFormat;
+import com.order.common.events.dto.CancellationEventDto;
+import com.order.common.events.dto.OrderProcessEventDto;
+import com.order.common.events.dto.StageTransitionsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Single entry point for turning events into Kafka record values.
+ * Picks JSON ({@link EventPayloadWriter}) or binary ({@link BinaryEventCodec})
+ * per topic from {@link EventEncodingProperties}.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventEncoder {
+
+    private final EventPayloadWriter jsonWriter;
+    private final BinaryEventCodec binaryCodec;
+    private final EventEncodingProperties properties;
+
+    public byte[] orderProcessed(String topic, String orderId, String stage, String message, LocalDateTime timestamp) {
+        return binary(topic)
+                ? binaryCodec.orderProcessed(orderId, stage, message, timestamp)
+                : jsonWriter.orderProcessed(orderId, stage, message, timestamp);
+    }
+
+    public byte[] trackingCancelled(String topic, String orderId, String reason, LocalDateTime timestamp) {
+        if (!binary(topic)) {
+            return jsonWriter.trackingCancelled(orderId, reason, timestamp);
+        }
+        return binaryCodec.orderCancelled(CancellationEventDto.builder()
+                .orderId(orderId)
+                .reason(reason)
+                .cancelledAt(timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli())
+                .build());
+    }
+
+    public byte[] orderCancelled(String topic, CancellationEventDto event) {
+        return binary(topic)
+                ? binaryCodec.orderCancelled(event)
+                : jsonWriter.orderCancelled(event);
+    }
+
+    public byte[] orderProcessChanged(String topic, OrderProcessEventDto event) {
+        return binary(topic)
+                ? binaryCodec.orderProcessChanged(event)
+                : jsonWriter.orderProcessChanged(event);
+    }
+
+    public byte[] orderStageTransitions(String topic, StageTransitionsDto event) {
+        return binary(topic)
+                ? binaryCodec.orderStageTransitions(event)
+                : jsonWriter.orderStageTransitions(event);
+    }
+
+    public EventFormat formatFor(String topic) {
+        return properties.formatFor(topic);
+    }
+
+    private boolean binary(String topic) {
+        return properties.formatFor(topic) == EventFormat.BINARY;
+    }
+}
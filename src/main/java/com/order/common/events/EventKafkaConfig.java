@@ -0,0 +1,53 @@
+package com.order.common.events;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
+
+/**
+ * Kafka templates for orderprocessing.
+ *
+ *  - kafkaTemplate       KafkaTemplate<String, String> — plain string payloads
+ *  - eventKafkaTemplate  KafkaTemplate<String, byte[]> — pre-encoded event payloads
+ *                        from {@link EventPayloadWriter}
+ *
+ * Both share the auto-configured producer settings (bootstrap servers, acks, ...);
+ * the byte[] template only overrides the value serializer. Declaring any KafkaTemplate
+ * bean switches off Spring Boot's default one, so the String template is declared here too.
+ *
+ * The event template also caps max.block.ms / delivery.timeout.ms so a slow or unreachable
+ * broker fails sends quickly; {@link EventPublisher} then spools them locally and
+ * {@link com.order.common.events.spool.KafkaSpoolReplayer} (scheduled) replays them.
+ */
+@Configuration
+@EnableScheduling
+public class EventKafkaConfig {
+
+    @Bean
+    public KafkaTemplate<String, String> kafkaTemplate(ProducerFactory<Object, Object> producerFactory) {
+        return new KafkaTemplate<>(typed(producerFactory));
+    }
+
+    @Bean
+    public KafkaTemplate<String, byte[]> eventKafkaTemplate(
+            ProducerFactory<Object, Object> producerFactory,
+            @Value("${events.producer.max-block-ms:500}") long maxBlockMs,
+            @Value("${events.producer.delivery-timeout-ms:30000}") int deliveryTimeoutMs) {
+        return new KafkaTemplate<>(typed(producerFactory), Map.of(
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs,
+                ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, deliveryTimeoutMs));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> ProducerFactory<K, V> typed(ProducerFactory<?, ?> producerFactory) {
+        return (ProducerFactory<K, V>) producerFactory;
+    }
+}
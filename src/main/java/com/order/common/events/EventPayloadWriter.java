@@ -0,0 +1,378 @@
+package com.order.common.events;
+
+import com.order.common.events.dto.CancellationEventDto;
+import com.order.common.events.dto.OrderProcessEventDto;
+import com.order.common.events.dto.StageTransitionsDto;
+import com.order.common.events.dto.TrackingStatusDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes every Kafka event this service emits as UTF-8 JSON bytes.
+ *
+ * Fields are written straight into a per-thread reusable byte buffer with correct
+ * JSON string escaping — no intermediate String (String.format) and no Jackson tree
+ * (ObjectNode). The only allocation per event is the final byte[] handed to Kafka.
+ *
+ * Field names and order match the payloads previously produced by
+ * TrackingEventProducer and OrderCancellationEventProducer, so consumers are unaffected.
+ */
+@Component
+public class EventPayloadWriter {
+
+    private static final ThreadLocal<JsonBuffer> BUFFER = ThreadLocal.withInitial(JsonBuffer::new);
+
+    /** order.processed — one processing stage reached */
+    public byte[] orderProcessed(TrackingStatusDto event) {
+        return orderProcessed(event.getOrderId(), event.getStage(), event.getMessage(), event.getTimestamp());
+    }
+
+    /** order.processed — same payload from the individual fields, for callers that hold no DTO */
+    public byte[] orderProcessed(String orderId, String stage, String message, LocalDateTime timestamp) {
+        JsonBuffer out = BUFFER.get().reset();
+        out.beginObject();
+        out.field("orderId", orderId);
+        out.field("stage", stage);
+        out.field("message", message);
+        out.field("event", "ORDER_PROCESSED");
+        out.field("timestamp", timestamp);
+        out.endObject();
+        return out.toByteArray();
+    }
+
+    /** order.cancelled — tracking notification (orderId + reason) */
+    public byte[] trackingCancelled(String orderId, String reason, LocalDateTime timestamp) {
+        JsonBuffer out = BUFFER.get().reset();
+        out.beginObject();
+        out.field("orderId", orderId);
+        out.field("reason", reason);
+        out.field("event", "ORDER_CANCELLED");
+        out.field("timestamp", timestamp);
+        out.endObject();
+        return out.toByteArray();
+    }
+
+    /** order.cancelled — full cancellation with refund details */
+    public byte[] orderCancelled(CancellationEventDto event) {
+        JsonBuffer out = BUFFER.get().reset();
+        out.beginObject();
+        out.field("orderId", event.getOrderId());
+        out.field("customerId", event.getCustomerId());
+        out.field("reason", event.getReason());
+        out.field("refundAmount", event.getRefundAmount());
+        out.field("cancelledAt", event.getCancelledAt());
+        out.field("status", "CANCELLED");
+        out.endObject();
+        return out.toByteArray();
+    }
+
+    /** order.processed — OrderProcess created / updated / deleted / bulk imported */
+    public byte[] orderProcessChanged(OrderProcessEventDto event) {
+        JsonBuffer out = BUFFER.get().reset();
+        out.beginObject();
+        out.field("event", event.getEvent());
+        out.field("id", event.getId());
+        out.field("orderId", event.getOrderId());
+        out.field("stage", event.getStage());
+        out.field("status", event.getStatus());
+        out.field("notes", event.getNotes());
+        out.field("createdAt", event.getCreatedAt());
+        out.field("updatedAt", event.getUpdatedAt());
+        if (event.getCount() != null) {
+            out.field("ids", event.getIds());
+            out.field("count", event.getCount());
+        }
+        out.endObject();
+        return out.toByteArray();
+    }
+
+    /**
+     * order.processed — coalesced stage transitions of one order.
+     * Top-level stage/timestamp carry the latest transition, so consumers that only read
+     * those fields of ORDER_PROCESSED keep working.
+     */
+    public byte[] orderStageTransitions(StageTransitionsDto event) {
+        List<StageTransitionsDto.Transition> transitions = event.getTransitions();
+        StageTransitionsDto.Transition latest = transitions.get(transitions.size() - 1);
+        JsonBuffer out = BUFFER.get().reset();
+        out.beginObject();
+        out.field("orderId", event.getOrderId());
+        out.field("event", "ORDER_STAGE_TRANSITIONS");
+        out.field("stage", latest.getStage());
+        out.field("timestamp", latest.getTimestamp());
+        out.beginArray("transitions");
+        for (StageTransitionsDto.Transition t : transitions) {
+            out.beginObject();
+            out.field("stage", t.getStage());
+            out.field("message", t.getMessage());
+            out.field("timestamp", t.getTimestamp());
+            out.endObject();
+        }
+        out.endArray();
+        out.endObject();
+        return out.toByteArray();
+    }
+
+    /**
+     * Growable byte buffer with just enough JSON writing for event objects
+     * (flat fields, arrays of numbers and arrays of flat objects).
+     * Not thread-safe — one instance per thread via {@link #BUFFER}.
+     */
+    static final class JsonBuffer {
+
+        private static final byte[] HEX = "0123456789abcdef".getBytes();
+        private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+        private byte[] buf = new byte[512];
+        private int len;
+        private boolean first;
+
+        JsonBuffer reset() {
+            len = 0;
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, len);
+        }
+
+        /** Starts an object — top-level, or the next element of the current array */
+        void beginObject() {
+            if (len > 0 && !first) {
+                put((byte) ',');
+            }
+            put((byte) '{');
+            first = true;
+        }
+
+        void endObject() {
+            put((byte) '}');
+            first = false;
+        }
+
+        /** Starts an array field whose elements are written with {@link #beginObject()} */
+        void beginArray(String name) {
+            name(name);
+            put((byte) '[');
+            first = true;
+        }
+
+        void endArray() {
+            put((byte) ']');
+            first = false;
+        }
+
+        void field(String name, String value) {
+            name(name);
+            if (value == null) {
+                put(NULL);
+            } else {
+                string(value);
+            }
+        }
+
+        void field(String name, Long value) {
+            name(name);
+            if (value == null) {
+                put(NULL);
+            } else {
+                number(value);
+            }
+        }
+
+        void field(String name, List<Long> values) {
+            name(name);
+            if (values == null) {
+                put(NULL);
+                return;
+            }
+            put((byte) '[');
+            for (int i = 0; i < values.size(); i++) {
+                if (i > 0) {
+                    put((byte) ',');
+                }
+                number(values.get(i));
+            }
+            put((byte) ']');
+        }
+
+        void field(String name, Double value) {
+            name(name);
+            if (value == null || value.isNaN() || value.isInfinite()) {
+                put(NULL);
+            } else {
+                ascii(value.toString());
+            }
+        }
+
+        void field(String name, LocalDateTime value) {
+            name(name);
+            if (value == null) {
+                put(NULL);
+                return;
+            }
+            put((byte) '"');
+            dateTime(value);
+            put((byte) '"');
+        }
+
+        private void name(String name) {
+            if (!first) {
+                put((byte) ',');
+            }
+            first = false;
+            string(name);
+            put((byte) ':');
+        }
+
+        /** Writes a quoted, escaped JSON string encoded as UTF-8 */
+        private void string(String s) {
+            int n = s.length();
+            ensure(n * 3 + 2);
+            buf[len++] = '"';
+            for (int i = 0; i < n; i++) {
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    if (c == '"' || c == '\\') {
+                        ensure(2 + (n - i) * 3);
+                        buf[len++] = '\\';
+                        buf[len++] = (byte) c;
+                    } else if (c < 0x20) {
+                        ensure(6 + (n - i) * 3);
+                        control(c);
+                    } else {
+                        buf[len++] = (byte) c;
+                    }
+                } else if (c < 0x800) {
+                    buf[len++] = (byte) (0xC0 | (c >> 6));
+                    buf[len++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buf[len++] = (byte) (0xF0 | (cp >> 18));
+                    buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[len++] = (byte) (0x80 | (cp & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    buf[len++] = '?';   // unpaired surrogate — same replacement as String.getBytes(UTF_8)
+                } else {
+                    buf[len++] = (byte) (0xE0 | (c >> 12));
+                    buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buf[len++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            buf[len++] = '"';
+        }
+
+        private void control(char c) {
+            buf[len++] = '\\';
+            switch (c) {
+                case '\b' -> buf[len++] = 'b';
+                case '\f' -> buf[len++] = 'f';
+                case '\n' -> buf[len++] = 'n';
+                case '\r' -> buf[len++] = 'r';
+                case '\t' -> buf[len++] = 't';
+                default -> {
+                    buf[len++] = 'u';
+                    buf[len++] = '0';
+                    buf[len++] = '0';
+                    buf[len++] = HEX[c >> 4];
+                    buf[len++] = HEX[c & 0xF];
+                }
+            }
+        }
+
+        private void number(long v) {
+            if (v == Long.MIN_VALUE) {
+                ascii(Long.toString(v));
+                return;
+            }
+            ensure(20);
+            if (v < 0) {
+                buf[len++] = '-';
+                v = -v;
+            }
+            int start = len;
+            do {
+                buf[len++] = (byte) ('0' + (v % 10));
+                v /= 10;
+            } while (v != 0);
+            // digits were written least-significant first
+            for (int i = start, j = len - 1; i < j; i++, j--) {
+                byte t = buf[i];
+                buf[i] = buf[j];
+                buf[j] = t;
+            }
+        }
+
+        /** Same text as LocalDateTime.toString(), written without creating the String */
+        private void dateTime(LocalDateTime t) {
+            ensure(29);
+            int year = t.getYear();
+            if (year >= 0 && year <= 9999) {
+                digits(year, 4);
+            } else {
+                ascii(Integer.toString(year));
+            }
+            buf[len++] = '-';
+            digits(t.getMonthValue(), 2);
+            buf[len++] = '-';
+            digits(t.getDayOfMonth(), 2);
+            buf[len++] = 'T';
+            digits(t.getHour(), 2);
+            buf[len++] = ':';
+            digits(t.getMinute(), 2);
+            int second = t.getSecond();
+            int nano = t.getNano();
+            if (second > 0 || nano > 0) {
+                buf[len++] = ':';
+                digits(second, 2);
+                if (nano > 0) {
+                    buf[len++] = '.';
+                    if (nano % 1_000_000 == 0) {
+                        digits(nano / 1_000_000, 3);
+                    } else if (nano % 1000 == 0) {
+                        digits(nano / 1000, 6);
+                    } else {
+                        digits(nano, 9);
+                    }
+                }
+            }
+        }
+
+        private void digits(int v, int width) {
+            for (int i = len + width - 1; i >= len; i--) {
+                buf[i] = (byte) ('0' + (v % 10));
+                v /= 10;
+            }
+            len += width;
+        }
+
+        private void ascii(String s) {
+            int n = s.length();
+            ensure(n);
+            for (int i = 0; i < n; i++) {
+                buf[len++] = (byte) s.charAt(i);
+            }
+        }
+
+        private void put(byte b) {
+            ensure(1);
+            buf[len++] = b;
+        }
+
+        private void put(byte[] bytes) {
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, len, bytes.length);
+            len += bytes.length;
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+            }
+        }
+    }
+}
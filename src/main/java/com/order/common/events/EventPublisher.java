@@ -0,0 +1,176 @@
+package com.order.common.events;
+
+import com.order.common.events.spool.KafkaSpool;
+import com.orderprocessing.trace.KafkaTraceHeaders;
+import com.orderprocessing.trace.TraceContextHolder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Single entry point for every Kafka send in orderprocessing.
+ *
+ *  - injects the current TraceContext into the record headers
+ *  - sends asynchronously; the outcome is handled in the send callback, never by blocking
+ *  - falls back to the local {@link KafkaSpool} when the broker is slow or unreachable:
+ *      send throws (metadata / buffer wait exceeded max.block.ms)  → record is spooled
+ *      send future fails (delivery timeout, broker error)          → record is spooled
+ *      spool still holds undelivered records                       → record is spooled, so
+ *      new events queue behind older ones until the replayer has drained the spool
+ *  - a failed send future completes on the producer's I/O thread; the spool write (a synchronized
+ *    append that may roll and force a segment) is handed to a single "kafka-spool-writer" thread
+ *    so the I/O thread goes straight back to other partitions' acknowledgements
+ *
+ * Metrics (per topic):
+ *  - orderprocessing.kafka.send.latency   — send → broker ack, tagged result=success|failure
+ *  - orderprocessing.kafka.send.inflight  — records handed to the producer and not yet acknowledged
+ *
+ * The total number of sends feeds {@link AdaptiveBatchingTuner}.
+ */
+@Component
+@Slf4j
+public class EventPublisher {
+
+    /** Swapped by {@link AdaptiveBatchingTuner} when it switches the producer profile */
+    private volatile KafkaTemplate<String, byte[]> eventKafkaTemplate;
+    private final KafkaSpool kafkaSpool;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, TopicMeters> topicMeters = new ConcurrentHashMap<>();
+    private final LongAdder sent = new LongAdder();
+    private final ExecutorService spoolWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "kafka-spool-writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public EventPublisher(KafkaTemplate<String, byte[]> eventKafkaTemplate,
+                          KafkaSpool kafkaSpool,
+                          MeterRegistry meterRegistry) {
+        this.eventKafkaTemplate = eventKafkaTemplate;
+        this.kafkaSpool = kafkaSpool;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public void publish(String topic, String key, byte[] payload) {
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(topic, key, payload);
+        var ctx = TraceContextHolder.get();
+        if (ctx != null) {
+            KafkaTraceHeaders.inject(ctx, record.headers());
+        }
+
+        if (!kafkaSpool.isEmpty()) {
+            spool(record, null);
+            return;
+        }
+
+        TopicMeters meters = topicMeters.computeIfAbsent(topic, this::registerMeters);
+        long start = System.nanoTime();
+        meters.inFlight.incrementAndGet();
+        try {
+            eventKafkaTemplate.send(record).whenComplete((result, ex) -> {
+                meters.inFlight.decrementAndGet();
+                if (ex == null) {
+                    meters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                } else {
+                    meters.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    spoolLater(record, ex);
+                }
+            });
+            sent.increment();
+        } catch (Exception e) {
+            meters.inFlight.decrementAndGet();
+            meters.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            spool(record, e);
+        }
+    }
+
+    /** Pushes buffered records to the broker; use after publishing a batch */
+    public void flush() {
+        try {
+            eventKafkaTemplate.flush();
+        } catch (Exception e) {
+            log.warn("[KAFKA] Flush failed: {}", e.getMessage());
+        }
+    }
+
+    /** Routes later sends through {@code next}; returns the template it replaces */
+    KafkaTemplate<String, byte[]> swapTemplate(KafkaTemplate<String, byte[]> next) {
+        KafkaTemplate<String, byte[]> previous = eventKafkaTemplate;
+        eventKafkaTemplate = next;
+        return previous;
+    }
+
+    /** Records handed to the producer since startup */
+    public long sentCount() {
+        return sent.sum();
+    }
+
+    /** Waits for spool writes handed off by send callbacks before the spool itself is closed */
+    @PreDestroy
+    public void close() {
+        spoolWriter.shutdown();
+        try {
+            if (!spoolWriter.awaitTermination(5, TimeUnit.SECONDS)) {
+                log.error("[KAFKA] Spool writer did not finish — pending failed sends may be lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void spoolLater(ProducerRecord<String, byte[]> record, Throwable cause) {
+        try {
+            spoolWriter.execute(() -> spool(record, cause));
+        } catch (RejectedExecutionException e) {
+            // shutting down — write on the callback thread rather than lose the record
+            spool(record, cause);
+        }
+    }
+
+    private void spool(ProducerRecord<String, byte[]> record, Throwable cause) {
+        if (cause != null) {
+            log.warn("[KAFKA] Send to {} failed for key={} — spooling locally: {}",
+                    record.topic(), record.key(), cause.getMessage());
+        }
+        if (!kafkaSpool.append(record.topic(), record.key(), record.value(), record.headers())) {
+            log.error("[KAFKA] Event for topic={} key={} lost: spool rejected it", record.topic(), record.key());
+        }
+    }
+
+    private TopicMeters registerMeters(String topic) {
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder("orderprocessing.kafka.send.inflight", inFlight, AtomicInteger::get)
+             .description("Kafka records sent and not yet acknowledged")
+             .tag("service", "orderprocessing")
+             .tag("topic", topic)
+             .register(meterRegistry);
+        return new TopicMeters(inFlight, sendTimer(topic, "success"), sendTimer(topic, "failure"));
+    }
+
+    private Timer sendTimer(String topic, String result) {
+        return Timer.builder("orderprocessing.kafka.send.latency")
+                    .description("Kafka send latency from send() to broker acknowledgement")
+                    .tag("service", "orderprocessing")
+                    .tag("topic", topic)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+    }
+
+    private record TopicMeters(AtomicInteger inFlight, Timer success, Timer failure) {}
+}
@@ -0,0 +1,17 @@
+package com.order.common.events;
+
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Entry point for the shared event publishing components.
+ *
+ * {@code com.order.common.events} sits outside every application root, so no
+ * {@code @SpringBootApplication} picks it up by scanning. Each application that publishes
+ * events imports this configuration explicitly and gets its own encoders, publisher and
+ * {@code eventKafkaTemplate} instead of reaching into another application's beans.
+ */
+@Configuration
+@ComponentScan("com.order.common.events")
+public class EventPublishingConfiguration {
+}
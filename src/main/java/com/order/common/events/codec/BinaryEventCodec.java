@@ -0,0 +1,248 @@
+package com.order.common.events.codec;
+
+import com.order.common.events.dto.CancellationEventDto;
+import com.order.common.events.dto.OrderProcessEventDto;
+import com.order.common.events.dto.StageTransitionsDto;
+import com.order.common.events.dto.TrackingStatusDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+/**
+ * Compact binary codec for every event this service emits.
+ *
+ * Records start with a 3-byte header (magic, schema ID, schema version — see {@link EventSchema})
+ * followed by tagged fields. Strings are length-prefixed UTF-8, integers are zigzag varints,
+ * timestamps are varint nanoseconds, and absent (null) fields take no space at all.
+ *
+ * Compatibility rules:
+ *  - field numbers below are permanent; new fields get new numbers and bump the schema version
+ *  - decoders skip fields they do not know and leave missing fields null
+ *  - {@link #isBinary(byte[])} lets consumers accept JSON and binary on the same topic
+ */
+@Component
+public class BinaryEventCodec {
+
+    private static final ThreadLocal<BinaryEventWriter> WRITER = ThreadLocal.withInitial(BinaryEventWriter::new);
+
+    // ── ORDER_PROCESSED fields ────────────────────────────────────────────────
+    private static final int PROCESSED_ORDER_ID  = 1;
+    private static final int PROCESSED_STAGE     = 2;
+    private static final int PROCESSED_MESSAGE   = 3;
+    private static final int PROCESSED_TIMESTAMP = 4;
+
+    // ── ORDER_CANCELLED fields ────────────────────────────────────────────────
+    private static final int CANCELLED_ORDER_ID     = 1;
+    private static final int CANCELLED_CUSTOMER_ID  = 2;
+    private static final int CANCELLED_REASON       = 3;
+    private static final int CANCELLED_REFUND       = 4;
+    private static final int CANCELLED_CANCELLED_AT = 5;
+
+    // ── ORDER_PROCESS_CHANGED fields ──────────────────────────────────────────
+    private static final int CHANGED_EVENT      = 1;
+    private static final int CHANGED_ID         = 2;
+    private static final int CHANGED_ORDER_ID   = 3;
+    private static final int CHANGED_STAGE      = 4;
+    private static final int CHANGED_STATUS     = 5;
+    private static final int CHANGED_NOTES      = 6;
+    private static final int CHANGED_CREATED_AT = 7;
+    private static final int CHANGED_UPDATED_AT = 8;
+    // 9 was lastId (v2) — retired, never reuse; readers skip it
+    private static final int CHANGED_COUNT      = 10;
+    /** Repeated once per id */
+    private static final int CHANGED_IDS        = 11;
+
+    // ── ORDER_STAGE_TRANSITIONS fields ────────────────────────────────────────
+    // Stage/message/timestamp repeat once per transition; each stage field starts a new transition.
+    private static final int TRANSITIONS_ORDER_ID  = 1;
+    private static final int TRANSITIONS_STAGE     = 2;
+    private static final int TRANSITIONS_MESSAGE   = 3;
+    private static final int TRANSITIONS_TIMESTAMP = 4;
+
+    /** True if the payload is a binary event record rather than JSON */
+    public static boolean isBinary(byte[] payload) {
+        return payload != null && payload.length > 0 && payload[0] == BinaryEventWriter.MAGIC;
+    }
+
+    /** Schema of a binary payload without decoding its fields */
+    public static EventSchema schemaOf(byte[] payload) {
+        return EventSchema.ofId(new BinaryEventReader(payload).schemaId());
+    }
+
+    // ── Encoding ──────────────────────────────────────────────────────────────
+
+    public byte[] orderProcessed(String orderId, String stage, String message, LocalDateTime timestamp) {
+        BinaryEventWriter out = WRITER.get().begin(EventSchema.ORDER_PROCESSED);
+        out.string(PROCESSED_ORDER_ID, orderId);
+        out.string(PROCESSED_STAGE, stage);
+        out.string(PROCESSED_MESSAGE, message);
+        out.dateTime(PROCESSED_TIMESTAMP, timestamp);
+        return out.toByteArray();
+    }
+
+    public byte[] orderCancelled(CancellationEventDto event) {
+        BinaryEventWriter out = WRITER.get().begin(EventSchema.ORDER_CANCELLED);
+        out.string(CANCELLED_ORDER_ID, event.getOrderId());
+        out.string(CANCELLED_CUSTOMER_ID, event.getCustomerId());
+        out.string(CANCELLED_REASON, event.getReason());
+        out.float64(CANCELLED_REFUND, event.getRefundAmount());
+        out.int64(CANCELLED_CANCELLED_AT, event.getCancelledAt());
+        return out.toByteArray();
+    }
+
+    public byte[] orderProcessChanged(OrderProcessEventDto event) {
+        BinaryEventWriter out = WRITER.get().begin(EventSchema.ORDER_PROCESS_CHANGED);
+        out.string(CHANGED_EVENT, event.getEvent());
+        out.int64(CHANGED_ID, event.getId());
+        out.int64(CHANGED_ORDER_ID, event.getOrderId());
+        out.string(CHANGED_STAGE, event.getStage());
+        out.string(CHANGED_STATUS, event.getStatus());
+        out.string(CHANGED_NOTES, event.getNotes());
+        out.dateTime(CHANGED_CREATED_AT, event.getCreatedAt());
+        out.dateTime(CHANGED_UPDATED_AT, event.getUpdatedAt());
+        out.int64(CHANGED_COUNT, event.getCount());
+        if (event.getIds() != null) {
+            for (Long id : event.getIds()) {
+                out.int64(CHANGED_IDS, id);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] orderStageTransitions(StageTransitionsDto event) {
+        BinaryEventWriter out = WRITER.get().begin(EventSchema.ORDER_STAGE_TRANSITIONS);
+        out.string(TRANSITIONS_ORDER_ID, event.getOrderId());
+        for (StageTransitionsDto.Transition t : event.getTransitions()) {
+            out.string(TRANSITIONS_STAGE, t.getStage() == null ? "" : t.getStage());
+            out.string(TRANSITIONS_MESSAGE, t.getMessage());
+            out.dateTime(TRANSITIONS_TIMESTAMP, t.getTimestamp());
+        }
+        return out.toByteArray();
+    }
+
+    // ── Decoding ──────────────────────────────────────────────────────────────
+
+    /**
+     * Decodes any binary event record.
+     *
+     * @return a {@link TrackingStatusDto}, {@link CancellationEventDto}, {@link OrderProcessEventDto}
+     *         or {@link StageTransitionsDto} depending on the schema ID in the header
+     */
+    public Object decode(byte[] payload) {
+        BinaryEventReader in = new BinaryEventReader(payload);
+        return switch (EventSchema.ofId(in.schemaId())) {
+            case ORDER_PROCESSED         -> readOrderProcessed(in);
+            case ORDER_CANCELLED         -> readOrderCancelled(in);
+            case ORDER_PROCESS_CHANGED   -> readOrderProcessChanged(in);
+            case ORDER_STAGE_TRANSITIONS -> readOrderStageTransitions(in);
+        };
+    }
+
+    public TrackingStatusDto decodeOrderProcessed(byte[] payload) {
+        return readOrderProcessed(open(payload, EventSchema.ORDER_PROCESSED));
+    }
+
+    public CancellationEventDto decodeOrderCancelled(byte[] payload) {
+        return readOrderCancelled(open(payload, EventSchema.ORDER_CANCELLED));
+    }
+
+    public OrderProcessEventDto decodeOrderProcessChanged(byte[] payload) {
+        return readOrderProcessChanged(open(payload, EventSchema.ORDER_PROCESS_CHANGED));
+    }
+
+    public StageTransitionsDto decodeOrderStageTransitions(byte[] payload) {
+        return readOrderStageTransitions(open(payload, EventSchema.ORDER_STAGE_TRANSITIONS));
+    }
+
+    private BinaryEventReader open(byte[] payload, EventSchema expected) {
+        BinaryEventReader in = new BinaryEventReader(payload);
+        if (in.schemaId() != expected.id()) {
+            throw new IllegalArgumentException(
+                    "Expected schema " + expected + " but record has schema id " + in.schemaId());
+        }
+        return in;
+    }
+
+    private TrackingStatusDto readOrderProcessed(BinaryEventReader in) {
+        TrackingStatusDto dto = new TrackingStatusDto();
+        while (in.next()) {
+            switch (in.field()) {
+                case PROCESSED_ORDER_ID  -> dto.setOrderId(in.readString());
+                case PROCESSED_STAGE     -> dto.setStage(in.readString());
+                case PROCESSED_MESSAGE   -> dto.setMessage(in.readString());
+                case PROCESSED_TIMESTAMP -> dto.setTimestamp(in.readDateTime().toString());
+                default -> in.skip();
+            }
+        }
+        return dto;
+    }
+
+    private CancellationEventDto readOrderCancelled(BinaryEventReader in) {
+        CancellationEventDto dto = new CancellationEventDto();
+        while (in.next()) {
+            switch (in.field()) {
+                case CANCELLED_ORDER_ID     -> dto.setOrderId(in.readString());
+                case CANCELLED_CUSTOMER_ID  -> dto.setCustomerId(in.readString());
+                case CANCELLED_REASON       -> dto.setReason(in.readString());
+                case CANCELLED_REFUND       -> dto.setRefundAmount(in.readDouble());
+                case CANCELLED_CANCELLED_AT -> dto.setCancelledAt(in.readLong());
+                default -> in.skip();
+            }
+        }
+        return dto;
+    }
+
+    private OrderProcessEventDto readOrderProcessChanged(BinaryEventReader in) {
+        OrderProcessEventDto dto = new OrderProcessEventDto();
+        while (in.next()) {
+            switch (in.field()) {
+                case CHANGED_EVENT      -> dto.setEvent(in.readString());
+                case CHANGED_ID         -> dto.setId(in.readLong());
+                case CHANGED_ORDER_ID   -> dto.setOrderId(in.readLong());
+                case CHANGED_STAGE      -> dto.setStage(in.readString());
+                case CHANGED_STATUS     -> dto.setStatus(in.readString());
+                case CHANGED_NOTES      -> dto.setNotes(in.readString());
+                case CHANGED_CREATED_AT -> dto.setCreatedAt(in.readDateTime());
+                case CHANGED_UPDATED_AT -> dto.setUpdatedAt(in.readDateTime());
+                case CHANGED_COUNT      -> dto.setCount(in.readLong());
+                case CHANGED_IDS        -> {
+                    if (dto.getIds() == null) {
+                        dto.setIds(new ArrayList<>());
+                    }
+                    dto.getIds().add(in.readLong());
+                }
+                default -> in.skip();
+            }
+        }
+        return dto;
+    }
+
+    private StageTransitionsDto readOrderStageTransitions(BinaryEventReader in) {
+        StageTransitionsDto dto = new StageTransitionsDto(null, new ArrayList<>());
+        StageTransitionsDto.Transition current = null;
+        while (in.next()) {
+            switch (in.field()) {
+                case TRANSITIONS_ORDER_ID -> dto.setOrderId(in.readString());
+                case TRANSITIONS_STAGE -> {
+                    current = new StageTransitionsDto.Transition(in.readString(), null, null);
+                    dto.getTransitions().add(current);
+                }
+                case TRANSITIONS_MESSAGE -> {
+                    String message = in.readString();
+                    if (current != null) {
+                        current.setMessage(message);
+                    }
+                }
+                case TRANSITIONS_TIMESTAMP -> {
+                    LocalDateTime timestamp = in.readDateTime();
+                    if (current != null) {
+                        current.setTimestamp(timestamp);
+                    }
+                }
+                default -> in.skip();
+            }
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,119 @@
+package com.order.common.events.codec;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Low-level reader for the binary event format written by {@link BinaryEventWriter}.
+ *
+ * Usage:
+ *   while (reader.next()) {
+ *       switch (reader.field()) { case 1 -> x = reader.readString(); default -> reader.skip(); }
+ *   }
+ */
+final class BinaryEventReader {
+
+    private final byte[] data;
+    private int pos;
+    private final int schemaId;
+    private final int schemaVersion;
+    private int field;
+    private int wireType;
+
+    BinaryEventReader(byte[] data) {
+        if (data == null || data.length < 3 || data[0] != BinaryEventWriter.MAGIC) {
+            throw new IllegalArgumentException("Not a binary event record");
+        }
+        this.data = data;
+        this.pos = 1;
+        this.schemaId = (int) readVarint();
+        this.schemaVersion = (int) readVarint();
+    }
+
+    int schemaId()      { return schemaId; }
+    int schemaVersion() { return schemaVersion; }
+    int field()         { return field; }
+
+    /** Advances to the next field; false at end of record */
+    boolean next() {
+        if (pos >= data.length) {
+            return false;
+        }
+        long tag = readVarint();
+        field = (int) (tag >>> 3);
+        wireType = (int) (tag & 0x7);
+        return true;
+    }
+
+    String readString() {
+        expect(BinaryEventWriter.WIRE_LENGTH);
+        int length = (int) readVarint();
+        check(length);
+        String s = new String(data, pos, length, StandardCharsets.UTF_8);
+        pos += length;
+        return s;
+    }
+
+    long readLong() {
+        expect(BinaryEventWriter.WIRE_VARINT);
+        long v = readVarint();
+        return (v >>> 1) ^ -(v & 1);   // zigzag
+    }
+
+    double readDouble() {
+        expect(BinaryEventWriter.WIRE_FIXED64);
+        check(8);
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (data[pos++] & 0xFFL) << (8 * i);
+        }
+        return Double.longBitsToDouble(bits);
+    }
+
+    LocalDateTime readDateTime() {
+        long nanos = readLong();
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(nanos, 1_000_000_000L),
+                (int) Math.floorMod(nanos, 1_000_000_000L), ZoneOffset.UTC);
+    }
+
+    /** Skips a field this reader does not know — keeps old readers compatible with newer writers */
+    void skip() {
+        switch (wireType) {
+            case BinaryEventWriter.WIRE_VARINT -> readVarint();
+            case BinaryEventWriter.WIRE_FIXED64 -> { check(8); pos += 8; }
+            case BinaryEventWriter.WIRE_LENGTH -> {
+                int length = (int) readVarint();
+                check(length);
+                pos += length;
+            }
+            default -> throw new IllegalArgumentException("Unknown wire type " + wireType + " for field " + field);
+        }
+    }
+
+    private void expect(int expected) {
+        if (wireType != expected) {
+            throw new IllegalArgumentException(
+                    "Field " + field + " has wire type " + wireType + ", expected " + expected);
+        }
+    }
+
+    private long readVarint() {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            check(1);
+            byte b = data[pos++];
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at offset " + pos);
+    }
+
+    private void check(int bytes) {
+        if (bytes < 0 || pos + bytes > data.length) {
+            throw new IllegalArgumentException("Truncated binary event record");
+        }
+    }
+}
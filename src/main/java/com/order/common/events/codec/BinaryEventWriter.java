@@ -0,0 +1,138 @@
+package com.order.common.events.codec;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Low-level writer for the binary event format.
+ *
+ * Layout:  header  = MAGIC | schemaId (varint) | schemaVersion (varint)
+ *          field   = tag (varint: fieldNumber << 3 | wireType) | value
+ *
+ * Null values are simply not written. Not thread-safe — reused per thread by the codec.
+ */
+final class BinaryEventWriter {
+
+    /** First byte of every binary record; never the first byte of a JSON document */
+    static final byte MAGIC = (byte) 0xC5;
+
+    static final int WIRE_VARINT  = 0;
+    static final int WIRE_FIXED64 = 1;
+    static final int WIRE_LENGTH  = 2;
+
+    private byte[] buf = new byte[256];
+    private int len;
+
+    BinaryEventWriter begin(EventSchema schema) {
+        len = 0;
+        ensure(1);
+        buf[len++] = MAGIC;
+        varint(schema.id());
+        varint(schema.version());
+        return this;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buf, len);
+    }
+
+    void string(int field, String value) {
+        if (value == null) {
+            return;
+        }
+        tag(field, WIRE_LENGTH);
+        int n = value.length();
+        varint(utf8Length(value));
+        ensure(n * 3);
+        for (int i = 0; i < n; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buf[len++] = (byte) c;
+            } else if (c < 0x800) {
+                buf[len++] = (byte) (0xC0 | (c >> 6));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buf[len++] = (byte) (0xF0 | (cp >> 18));
+                buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buf[len++] = '?';
+            } else {
+                buf[len++] = (byte) (0xE0 | (c >> 12));
+                buf[len++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[len++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    void int64(int field, Long value) {
+        if (value == null) {
+            return;
+        }
+        tag(field, WIRE_VARINT);
+        varint((value << 1) ^ (value >> 63));   // zigzag
+    }
+
+    void float64(int field, Double value) {
+        if (value == null) {
+            return;
+        }
+        tag(field, WIRE_FIXED64);
+        long bits = Double.doubleToLongBits(value);
+        ensure(8);
+        for (int i = 0; i < 8; i++) {
+            buf[len++] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    /** LocalDateTime as nanoseconds since 1970-01-01T00:00 (no zone — the value is local time) */
+    void dateTime(int field, LocalDateTime value) {
+        if (value == null) {
+            return;
+        }
+        int64(field, value.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + value.getNano());
+    }
+
+    private void tag(int field, int wireType) {
+        varint(((long) field << 3) | wireType);
+    }
+
+    private void varint(long v) {
+        ensure(10);
+        while ((v & ~0x7FL) != 0) {
+            buf[len++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[len++] = (byte) v;
+    }
+
+    private static int utf8Length(String s) {
+        int n = s.length();
+        int bytes = 0;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                bytes += 1;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                bytes += 1;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private void ensure(int extra) {
+        if (len + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.order.common.events.codec;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-topic event payload format.
+ *
+ *   events.encoding.default-format=JSON
+ *   events.encoding.topics[order.processed]=BINARY
+ *   events.encoding.topics[order.cancelled]=JSON
+ *
+ * Switch a topic to BINARY only once its consumers accept both formats
+ * (see {@link BinaryEventCodec#isBinary(byte[])}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "events.encoding")
+public class EventEncodingProperties {
+
+    private EventFormat defaultFormat = EventFormat.JSON;
+
+    private Map<String, EventFormat> topics = new HashMap<>();
+
+    public EventFormat formatFor(String topic) {
+        return topics.getOrDefault(topic, defaultFormat);
+    }
+}
@@ -0,0 +1,9 @@
+package com.order.common.events.codec;
+
+/** Wire format of event payloads on a topic */
+public enum EventFormat {
+    /** UTF-8 JSON — the default, readable by every existing consumer */
+    JSON,
+    /** Schema-versioned, field-tagged binary — see {@link BinaryEventCodec} */
+    BINARY
+}
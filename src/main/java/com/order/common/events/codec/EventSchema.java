@@ -0,0 +1,44 @@
+package com.order.common.events.codec;
+
+/**
+ * Registry of binary event schemas.
+ *
+ * The schema ID is written in every binary record header and must never be reused.
+ * Bump {@code version} when fields are added; field numbers of existing fields never change,
+ * so readers of any version can decode records of any other version (unknown fields are
+ * skipped, missing fields decode as null).
+ */
+public enum EventSchema {
+
+    /** order.processed — processing stage reached (TrackingStatusDto) */
+    ORDER_PROCESSED(1, 1),
+    /** order.cancelled — cancellation, with or without refund details (CancellationEventDto) */
+    ORDER_CANCELLED(2, 1),
+    /**
+     * order.processed — OrderProcess created / updated / deleted / bulk imported (OrderProcessEventDto);
+     * v2 adds lastId, count; v3 replaces lastId with the list of ids
+     */
+    ORDER_PROCESS_CHANGED(3, 3),
+    /** order.processed — coalesced stage transitions of one order (StageTransitionsDto) */
+    ORDER_STAGE_TRANSITIONS(4, 1);
+
+    private final int id;
+    private final int version;
+
+    EventSchema(int id, int version) {
+        this.id = id;
+        this.version = version;
+    }
+
+    public int id()      { return id; }
+    public int version() { return version; }
+
+    public static EventSchema ofId(int id) {
+        for (EventSchema schema : values()) {
+            if (schema.id == id) {
+                return schema;
+            }
+        }
+        throw new IllegalArgumentException("Unknown event schema id: " + id);
+    }
+}
@@ -0,0 +1,17 @@
+package com.order.common.events.dto;
+
+import lombok.*;
+
+/**
+ * Payload of a single order.cancelled event.
+ * Used when publishing cancellation events and as the decoded form of binary order.cancelled records.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class CancellationEventDto {
+    private String orderId;
+    private String customerId;
+    private String reason;
+    private Double refundAmount;
+    /** Epoch milliseconds */
+    private Long cancelledAt;
+}
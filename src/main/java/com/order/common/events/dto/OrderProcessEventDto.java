@@ -0,0 +1,28 @@
+package com.order.common.events.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Payload of an OrderProcess change event on order.processed
+ * (ORDERPROCESS_CREATED / ORDERPROCESS_UPDATED / ORDERPROCESS_DELETED).
+ * For deletions only {@code event} and {@code id} are set.
+ * ORDERPROCESS_BULK_IMPORTED summarises one import chunk: {@code count} rows with the given {@code ids}.
+ * Sequence ids are allocated in pooled blocks shared with concurrent writers, so a chunk's ids are
+ * not a contiguous range and are listed one by one.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class OrderProcessEventDto {
+    private String event;
+    private Long id;
+    private Long orderId;
+    private String stage;
+    private String status;
+    private String notes;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private List<Long> ids;
+    private Long count;
+}
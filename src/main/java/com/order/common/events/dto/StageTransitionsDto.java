@@ -0,0 +1,23 @@
+package com.order.common.events.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Coalesced order.processed payload: every stage an order passed through
+ * during one coalescing window, oldest first.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class StageTransitionsDto {
+    private String orderId;
+    private List<Transition> transitions;
+
+    @Data @NoArgsConstructor @AllArgsConstructor @Builder
+    public static class Transition {
+        private String stage;
+        private String message;
+        private LocalDateTime timestamp;
+    }
+}
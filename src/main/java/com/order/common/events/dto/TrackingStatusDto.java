@@ -1,4 +1,4 @@
-package com.order.processing.dto;
+package com.order.common.events.dto;
 
 import lombok.*;
 
@@ -0,0 +1,476 @@
+package com.order.common.events.spool;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local durable spool for Kafka records that could not be sent.
+ *
+ * Append-only log split into fixed-size memory-mapped segment files
+ * ({@code <dir>/00000000000000000001.seg}, ...). A small checkpoint file records
+ * how far the replayer has delivered; fully delivered segments are deleted.
+ *
+ * Record layout inside a segment:
+ *   int length | int crc32(body) | body
+ *   body = long spooledAt | short topicLen | topic | int keyLen (-1 = null) | key | int valueLen | value
+ *          | short headerCount | { short nameLen | name | int valueLen (-1 = null) | value }*
+ * Segments are zero-filled, so a zero length marks the end of written data. On startup the
+ * write position is recovered by scanning the last segment up to the first empty or corrupt record.
+ *
+ * Mapped pages survive a process crash; they are forced to disk on segment roll, on
+ * {@link #flush()} (called by the replayer every tick) and on shutdown.
+ *
+ * Metrics:
+ *  - orderprocessing.kafka.spool.records      — records waiting for replay (lag)
+ *  - orderprocessing.kafka.spool.bytes        — bytes waiting for replay
+ *  - orderprocessing.kafka.spool.oldest.age   — seconds since the oldest waiting record was spooled
+ *  - orderprocessing.kafka.spool.appended     — records written to the spool
+ *  - orderprocessing.kafka.spool.dropped      — records rejected because the spool was full
+ */
+@Component
+@Slf4j
+public class KafkaSpool {
+
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final String CHECKPOINT     = "checkpoint";
+    private static final int    RECORD_HEADER  = 8;
+
+    private final Path dir;
+    private final int segmentBytes;
+    private final int maxSegments;
+
+    /** segment number → open mapped segment, in order */
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment writeSegment;
+    private long readSegment;
+    private int readOffset;
+
+    private final AtomicLong pendingRecords = new AtomicLong();
+    private final AtomicLong pendingBytes   = new AtomicLong();
+    /** spooledAt of the oldest waiting record, 0 when empty — read by the age gauge without the spool lock */
+    private volatile long oldestSpooledAt;
+    private final Counter appended;
+    private final Counter dropped;
+
+    public KafkaSpool(@Value("${events.spool.dir:${java.io.tmpdir}/orderprocessing-spool}") String dir,
+                      @Value("${events.spool.segment-bytes:67108864}") int segmentBytes,
+                      @Value("${events.spool.max-segments:16}") int maxSegments,
+                      MeterRegistry meterRegistry) {
+        this.dir = Paths.get(dir);
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = maxSegments;
+
+        Gauge.builder("orderprocessing.kafka.spool.records", pendingRecords, AtomicLong::get)
+             .description("Kafka records waiting in the local spool")
+             .tag("service", "orderprocessing")
+             .register(meterRegistry);
+        Gauge.builder("orderprocessing.kafka.spool.bytes", pendingBytes, AtomicLong::get)
+             .description("Bytes waiting in the local spool")
+             .tag("service", "orderprocessing")
+             .baseUnit("bytes")
+             .register(meterRegistry);
+        Gauge.builder("orderprocessing.kafka.spool.oldest.age", this, KafkaSpool::oldestAgeSeconds)
+             .description("Age of the oldest record waiting in the local spool")
+             .tag("service", "orderprocessing")
+             .baseUnit("seconds")
+             .register(meterRegistry);
+        this.appended = Counter.builder("orderprocessing.kafka.spool.appended")
+             .description("Kafka records written to the local spool")
+             .tag("service", "orderprocessing")
+             .register(meterRegistry);
+        this.dropped = Counter.builder("orderprocessing.kafka.spool.dropped")
+             .description("Kafka records dropped because the local spool was full")
+             .tag("service", "orderprocessing")
+             .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        Files.createDirectories(dir);
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+                String name = p.getFileName().toString();
+                long number = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(number, Segment.open(p, number, segmentBytes));
+            }
+        }
+        if (segments.isEmpty()) {
+            writeSegment = newSegment(1);
+        } else {
+            writeSegment = segments.lastEntry().getValue();
+            writeSegment.writePos = scanEnd(writeSegment);
+        }
+
+        loadCheckpoint();
+        recount();
+        if (pendingRecords.get() > 0) {
+            log.warn("[SPOOL] Recovered {} undelivered Kafka records ({} bytes) from {}",
+                    pendingRecords.get(), pendingBytes.get(), dir);
+        }
+    }
+
+    /**
+     * Appends one record. Returns false (and counts a drop) if the spool is full
+     * or the record is larger than a segment.
+     */
+    public synchronized boolean append(String topic, String key, byte[] value, Headers headers) {
+        byte[] topicBytes = topic.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = key == null ? null : key.getBytes(StandardCharsets.UTF_8);
+        Header[] headerArray = headers == null ? new Header[0] : headers.toArray();
+        int bodyLength = 8 + 2 + topicBytes.length + 4 + (keyBytes == null ? 0 : keyBytes.length) + 4 + value.length + 2;
+        for (Header h : headerArray) {
+            bodyLength += 2 + h.key().getBytes(StandardCharsets.UTF_8).length + 4 + (h.value() == null ? 0 : h.value().length);
+        }
+        int recordLength = RECORD_HEADER + bodyLength;
+
+        if (recordLength > segmentBytes) {
+            dropped.increment();
+            log.error("[SPOOL] Record for topic={} key={} is larger than a spool segment — dropped", topic, key);
+            return false;
+        }
+        if (writeSegment.writePos + recordLength > segmentBytes) {
+            if (segments.size() >= maxSegments) {
+                dropped.increment();
+                log.error("[SPOOL] Spool full ({} segments) — dropped record for topic={} key={}",
+                        maxSegments, topic, key);
+                return false;
+            }
+            writeSegment.buffer.force();
+            writeSegment = newSegment(writeSegment.number + 1);
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(bodyLength);
+        body.putLong(System.currentTimeMillis());
+        body.putShort((short) topicBytes.length).put(topicBytes);
+        if (keyBytes == null) {
+            body.putInt(-1);
+        } else {
+            body.putInt(keyBytes.length).put(keyBytes);
+        }
+        body.putInt(value.length).put(value);
+        body.putShort((short) headerArray.length);
+        for (Header h : headerArray) {
+            byte[] name = h.key().getBytes(StandardCharsets.UTF_8);
+            body.putShort((short) name.length).put(name);
+            if (h.value() == null) {
+                body.putInt(-1);
+            } else {
+                body.putInt(h.value().length).put(h.value());
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body.array());
+
+        MappedByteBuffer out = writeSegment.buffer;
+        int pos = writeSegment.writePos;
+        out.put(pos + RECORD_HEADER, body.array());
+        out.putInt(pos + 4, (int) crc.getValue());
+        out.putInt(pos, bodyLength);   // length last — a torn write reads as end-of-data
+        writeSegment.writePos = pos + recordLength;
+
+        if (pendingRecords.incrementAndGet() == 1) {
+            oldestSpooledAt = out.getLong(pos + RECORD_HEADER);
+        }
+        pendingBytes.addAndGet(recordLength);
+        appended.increment();
+        return true;
+    }
+
+    /** Reads up to {@code max} records from the replay position without consuming them */
+    public synchronized List<SpooledRecord> read(int max) {
+        List<SpooledRecord> records = new ArrayList<>(Math.min(max, 1024));
+        long segmentNumber = readSegment;
+        int offset = readOffset;
+
+        while (records.size() < max) {
+            Segment segment = segments.get(segmentNumber);
+            if (segment == null) {
+                Map.Entry<Long, Segment> next = segments.higherEntry(segmentNumber);
+                if (next == null) {
+                    break;
+                }
+                segmentNumber = next.getKey();
+                offset = 0;
+                continue;
+            }
+            SpooledRecord record = decode(segment, offset);
+            if (record == null) {
+                if (segment == writeSegment) {
+                    break;
+                }
+                Map.Entry<Long, Segment> next = segments.higherEntry(segmentNumber);
+                if (next == null) {
+                    break;
+                }
+                segmentNumber = next.getKey();
+                offset = 0;
+                continue;
+            }
+            records.add(record);
+            offset = record.nextOffset();
+        }
+        return records;
+    }
+
+    /**
+     * Marks {@code delivered} (a prefix of the last {@link #read}) as delivered,
+     * persists the checkpoint and deletes fully delivered segments.
+     */
+    public synchronized void commit(List<SpooledRecord> delivered) {
+        if (delivered.isEmpty()) {
+            return;
+        }
+        long bytes = 0;
+        for (SpooledRecord r : delivered) {
+            bytes += r.length();
+        }
+        SpooledRecord last = delivered.get(delivered.size() - 1);
+        readSegment = last.segment();
+        readOffset = last.nextOffset();
+        pendingRecords.addAndGet(-delivered.size());
+        pendingBytes.addAndGet(-bytes);
+
+        while (!segments.isEmpty() && segments.firstKey() < readSegment) {
+            segments.pollFirstEntry().getValue().delete();
+        }
+        writeCheckpoint();
+        oldestSpooledAt = pendingRecords.get() == 0 ? 0 : oldestPendingSpooledAt();
+    }
+
+    public boolean isEmpty() {
+        return pendingRecords.get() == 0;
+    }
+
+    public long pendingRecords() {
+        return pendingRecords.get();
+    }
+
+    /** Forces written records to disk */
+    public synchronized void flush() {
+        writeSegment.buffer.force();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        for (Segment s : segments.values()) {
+            s.buffer.force();
+            s.close();
+        }
+        writeCheckpoint();
+    }
+
+    // ── internals ─────────────────────────────────────────────────────────────
+
+    private double oldestAgeSeconds() {
+        long oldest = oldestSpooledAt;
+        return oldest == 0 ? 0 : (System.currentTimeMillis() - oldest) / 1000.0;
+    }
+
+    private Segment newSegment(long number) {
+        try {
+            Segment s = Segment.open(dir.resolve(String.format("%020d%s", number, SEGMENT_SUFFIX)), number, segmentBytes);
+            segments.put(number, s);
+            return s;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create spool segment in " + dir, e);
+        }
+    }
+
+    /**
+     * Length of the record body at {@code offset}, or -1 at end of data / corruption.
+     * The CRC is computed over the mapped bytes, so checking a record copies nothing to the heap.
+     */
+    private int bodyLengthAt(Segment segment, int offset) {
+        MappedByteBuffer in = segment.buffer;
+        if (offset + RECORD_HEADER > segmentBytes) {
+            return -1;
+        }
+        int bodyLength = in.getInt(offset);
+        if (bodyLength <= 0 || offset + RECORD_HEADER + bodyLength > segmentBytes) {
+            return -1;
+        }
+        CRC32 crc = new CRC32();
+        crc.update(in.slice(offset + RECORD_HEADER, bodyLength));
+        if ((int) crc.getValue() != in.getInt(offset + 4)) {
+            log.error("[SPOOL] Corrupt record in segment {} at offset {} — skipping rest of segment",
+                    segment.number, offset);
+            return -1;
+        }
+        return bodyLength;
+    }
+
+    /** Decodes the record at {@code offset}, or null at end of data / corruption */
+    private SpooledRecord decode(Segment segment, int offset) {
+        int bodyLength = bodyLengthAt(segment, offset);
+        if (bodyLength < 0) {
+            return null;
+        }
+        byte[] body = new byte[bodyLength];
+        segment.buffer.get(offset + RECORD_HEADER, body);
+
+        ByteBuffer b = ByteBuffer.wrap(body);
+        long spooledAt = b.getLong();
+        byte[] topic = new byte[b.getShort()];
+        b.get(topic);
+        int keyLength = b.getInt();
+        String key = null;
+        if (keyLength >= 0) {
+            byte[] k = new byte[keyLength];
+            b.get(k);
+            key = new String(k, StandardCharsets.UTF_8);
+        }
+        byte[] value = new byte[b.getInt()];
+        b.get(value);
+        RecordHeaders headers = new RecordHeaders();
+        for (int i = b.getShort(); i > 0; i--) {
+            byte[] name = new byte[b.getShort()];
+            b.get(name);
+            int headerLength = b.getInt();
+            byte[] headerValue = null;
+            if (headerLength >= 0) {
+                headerValue = new byte[headerLength];
+                b.get(headerValue);
+            }
+            headers.add(new String(name, StandardCharsets.UTF_8), headerValue);
+        }
+        return new SpooledRecord(new String(topic, StandardCharsets.UTF_8), key, value, headers, spooledAt,
+                segment.number, offset + RECORD_HEADER + bodyLength, RECORD_HEADER + bodyLength);
+    }
+
+    private int scanEnd(Segment segment) {
+        int offset = 0;
+        int bodyLength;
+        while ((bodyLength = bodyLengthAt(segment, offset)) >= 0) {
+            offset += RECORD_HEADER + bodyLength;
+        }
+        return offset;
+    }
+
+    /** Rebuilds the pending counters and the oldest timestamp from record headers, walking from the replay position */
+    private void recount() {
+        long records = 0;
+        long bytes = 0;
+        long oldest = 0;
+        for (Segment segment : segments.tailMap(readSegment, true).values()) {
+            int offset = segment.number == readSegment ? readOffset : 0;
+            int bodyLength;
+            while ((bodyLength = bodyLengthAt(segment, offset)) >= 0) {
+                if (records == 0) {
+                    oldest = segment.buffer.getLong(offset + RECORD_HEADER);
+                }
+                records++;
+                bytes += RECORD_HEADER + bodyLength;
+                offset += RECORD_HEADER + bodyLength;
+            }
+        }
+        pendingRecords.set(records);
+        pendingBytes.set(bytes);
+        oldestSpooledAt = oldest;
+    }
+
+    /** spooledAt of the record at the replay position, or 0 if there is none */
+    private long oldestPendingSpooledAt() {
+        for (Segment segment : segments.tailMap(readSegment, true).values()) {
+            int offset = segment.number == readSegment ? readOffset : 0;
+            if (bodyLengthAt(segment, offset) >= 0) {
+                return segment.buffer.getLong(offset + RECORD_HEADER);
+            }
+        }
+        return 0;
+    }
+
+    private void loadCheckpoint() throws IOException {
+        Path checkpoint = dir.resolve(CHECKPOINT);
+        readSegment = segments.firstKey();
+        readOffset = 0;
+        if (Files.exists(checkpoint)) {
+            String[] parts = Files.readString(checkpoint).trim().split(":");
+            long segment = Long.parseLong(parts[0]);
+            if (segments.containsKey(segment)) {
+                readSegment = segment;
+                readOffset = Integer.parseInt(parts[1]);
+            }
+        }
+    }
+
+    private void writeCheckpoint() {
+        Path checkpoint = dir.resolve(CHECKPOINT);
+        Path tmp = dir.resolve(CHECKPOINT + ".tmp");
+        try {
+            Files.writeString(tmp, readSegment + ":" + readOffset,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
+            Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("[SPOOL] Failed to write checkpoint: {}", e.getMessage());
+        }
+    }
+
+    /** One memory-mapped segment file */
+    private static final class Segment {
+        final long number;
+        final Path path;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+        int writePos;
+
+        private Segment(long number, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path path, long number, int size) throws IOException {
+            FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new Segment(number, path, channel, buffer);
+        }
+
+        void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // nothing useful to do on close
+            }
+        }
+
+        void delete() {
+            close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                log.warn("[SPOOL] Could not delete delivered segment {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.order.common.events.spool;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the {@link KafkaSpool} back to Kafka in spool order.
+ *
+ * Every tick reads batches of records, sends each batch pipelined, flushes once and waits
+ * for the acknowledgements. The longest acknowledged prefix is committed; on the first
+ * failure the tick stops and the rest is retried on the next tick (at-least-once — a record
+ * acknowledged after its batch timed out may be sent twice).
+ *
+ * Ticks run on a dedicated thread rather than the shared {@code @Scheduled} pool: while the
+ * broker is down a tick can block for max.block.ms per send and for the ack timeout, and must
+ * not hold up the health snapshots, pool sampling or partition maintenance. A send that throws
+ * (metadata not available within max.block.ms) or whose future has already failed ends the
+ * batch at once instead of paying the timeout again for every remaining record.
+ *
+ * Metrics:
+ *  - orderprocessing.kafka.spool.replayed  — records delivered from the spool (rate = replay rate)
+ */
+@Component
+@Slf4j
+public class KafkaSpoolReplayer {
+
+    private final KafkaSpool kafkaSpool;
+    private final KafkaTemplate<String, byte[]> eventKafkaTemplate;
+    private final int batchSize;
+    private final long ackTimeoutMs;
+    private final long intervalMs;
+    private final Counter replayed;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "kafka-spool-replay");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public KafkaSpoolReplayer(KafkaSpool kafkaSpool,
+                              KafkaTemplate<String, byte[]> eventKafkaTemplate,
+                              @Value("${events.spool.replay-batch-size:500}") int batchSize,
+                              @Value("${events.spool.replay-ack-timeout-ms:10000}") long ackTimeoutMs,
+                              @Value("${events.spool.replay-interval-ms:1000}") long intervalMs,
+                              MeterRegistry meterRegistry) {
+        this.kafkaSpool = kafkaSpool;
+        this.eventKafkaTemplate = eventKafkaTemplate;
+        this.batchSize = batchSize;
+        this.ackTimeoutMs = ackTimeoutMs;
+        this.intervalMs = intervalMs;
+        this.replayed = Counter.builder("orderprocessing.kafka.spool.replayed")
+                .description("Kafka records replayed from the local spool")
+                .tag("service", "orderprocessing")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::tick, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void tick() {
+        try {
+            replay();
+        } catch (Exception e) {
+            // an exception would cancel the fixed-delay task for good
+            log.error("[SPOOL] Replay tick failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public void replay() {
+        kafkaSpool.flush();
+        if (kafkaSpool.isEmpty()) {
+            return;
+        }
+        long total = 0;
+        while (!kafkaSpool.isEmpty()) {
+            List<SpooledRecord> batch = kafkaSpool.read(batchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            int delivered = send(batch);
+            kafkaSpool.commit(batch.subList(0, delivered));
+            replayed.increment(delivered);
+            total += delivered;
+            if (delivered < batch.size()) {
+                log.warn("[SPOOL] Broker still unavailable — replayed {} records, {} remain",
+                        total, kafkaSpool.pendingRecords());
+                return;
+            }
+        }
+        log.info("[SPOOL] Replayed {} records, spool drained", total);
+    }
+
+    /** Sends the batch and returns the length of the acknowledged prefix */
+    private int send(List<SpooledRecord> batch) {
+        List<CompletableFuture<SendResult<String, byte[]>>> futures = new ArrayList<>(batch.size());
+        try {
+            for (SpooledRecord r : batch) {
+                CompletableFuture<SendResult<String, byte[]>> future =
+                        eventKafkaTemplate.send(new ProducerRecord<>(r.topic(), null, r.key(), r.value(), r.headers()));
+                futures.add(future);
+                if (future.isCompletedExceptionally()) {
+                    break;
+                }
+            }
+            eventKafkaTemplate.flush();
+        } catch (Exception e) {
+            log.debug("[SPOOL] Send failed during replay: {}", e.getMessage());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ackTimeoutMs);
+        int acknowledged = 0;
+        for (CompletableFuture<SendResult<String, byte[]>> f : futures) {
+            try {
+                f.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged++;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                break;
+            }
+        }
+        return acknowledged;
+    }
+}
@@ -0,0 +1,19 @@
+package com.order.common.events.spool;
+
+import org.apache.kafka.common.header.Headers;
+
+/**
+ * One Kafka record read back from the spool.
+ * {@code segment}/{@code nextOffset} identify the position just after this record and
+ * {@code length} its size on disk — hand delivered records back to {@link KafkaSpool#commit}.
+ */
+public record SpooledRecord(
+    String topic,
+    String key,
+    byte[] value,
+    Headers headers,
+    long   spooledAt,
+    long   segment,
+    int    nextOffset,
+    int    length
+) {}
@@ -1,9 +1,15 @@
 package com.order.processing;
 
+import com.order.common.consistency.ConsistencyConfiguration;
+import com.order.common.events.EventPublishingConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@Import({EventPublishingConfiguration.class, ConsistencyConfiguration.class})
+@EnableScheduling
 public class OrderProcessingApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,66 @@
+package com.order.processing.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Database Optimisation Enhancement: Hibernate Second-Level Cache
+ *
+ * Entity / natural-id / query cache for {@link com.order.processing.entity.OrderProcessing}:
+ * JCache region factory over bounded local Caffeine caches, sized per region
+ * ({@link SecondLevelCacheProperties}). The cache is per node; entries expire after a bounded
+ * time, which also bounds cross-node staleness.
+ *
+ * Hit ratios are exported as hibernate.second.level.cache.* (requires generate_statistics).
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /**
+     * Local bounded caches backing the Hibernate second-level cache, one per region.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateRegionCacheManager(SecondLevelCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        properties.effectiveRegions().forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> cfg = new CaffeineConfiguration<>();
+            cfg.setMaximumSize(OptionalLong.of(region.getMaxEntries()));
+            if (region.getExpireAfterWrite() != null) {
+                cfg.setExpireAfterWrite(OptionalLong.of(region.getExpireAfterWrite().toNanos()));
+            }
+            cfg.setStatisticsEnabled(true);
+            if (cacheManager.getCache(name) == null) {
+                cacheManager.createCache(name, cfg);
+            }
+        });
+        return cacheManager;
+    }
+
+    /**
+     * Merged with the spring.jpa.properties.* settings of the auto-configured EntityManagerFactory.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernateProperties(SecondLevelCacheProperties cache,
+                                                                              CacheManager hibernateRegionCacheManager) {
+        return p -> {
+            p.put("hibernate.generate_statistics", "true");
+            p.put("hibernate.cache.use_second_level_cache", Boolean.toString(cache.isEnabled()));
+            p.put("hibernate.cache.use_query_cache",        Boolean.toString(cache.isEnabled() && cache.isQueryCache()));
+            if (cache.isEnabled()) {
+                p.putAll(Map.of(
+                        "hibernate.cache.region.factory_class",        "jcache",
+                        "hibernate.javax.cache.cache_manager",          hibernateRegionCacheManager,
+                        "hibernate.javax.cache.missing_cache_strategy", "fail"));
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package com.order.processing.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Database Optimisation Enhancement: Hibernate Second-Level Cache Regions
+ *
+ *   jpa.cache.enabled=true
+ *   jpa.cache.regions.orderProcessing.max-entries=50000
+ *   jpa.cache.regions.orderProcessing.expire-after-write=10m
+ *
+ * Every region is a bounded local Caffeine cache. The regions below are always created (a
+ * configured entry overrides the default size/expiry); any other region must be listed, and
+ * Hibernate fails fast on an unknown region instead of creating an unbounded one.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jpa.cache")
+public class SecondLevelCacheProperties {
+
+    /** Entity region of OrderProcessing */
+    public static final String ORDER_PROCESSING_REGION = "orderProcessing";
+    /** Natural-id (orderId → id) region of OrderProcessing */
+    public static final String ORDER_PROCESSING_NATURAL_ID_REGION = "orderProcessingNaturalId";
+    /** Hibernate's default query cache regions */
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    private boolean enabled = true;
+    private boolean queryCache = false;
+
+    private Map<String, Region> regions = defaultRegions();
+
+    /** Configured regions on top of the defaults, so the regions the entities name always exist */
+    public Map<String, Region> effectiveRegions() {
+        Map<String, Region> effective = defaultRegions();
+        effective.putAll(regions);
+        return effective;
+    }
+
+    private static Map<String, Region> defaultRegions() {
+        return new LinkedHashMap<>(Map.of(
+                ORDER_PROCESSING_REGION,            new Region(50_000, Duration.ofMinutes(10)),
+                ORDER_PROCESSING_NATURAL_ID_REGION, new Region(50_000, Duration.ofMinutes(10)),
+                QUERY_RESULTS_REGION,               new Region(10_000, Duration.ofMinutes(5)),
+                // timestamps must outlive every cached query result and should never be evicted early
+                UPDATE_TIMESTAMPS_REGION,           new Region(100_000, null)));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Region {
+        private long maxEntries = 10_000;
+        /** null = no time-based expiry */
+        private Duration expireAfterWrite;
+    }
+}
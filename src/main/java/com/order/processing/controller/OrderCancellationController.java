@@ -1,5 +1,7 @@
 package com.order.processing.controller;
 
+import com.order.processing.dto.BatchCancellationRequest;
+import com.order.processing.dto.BatchCancellationResponse;
 import com.order.processing.dto.CancellationRequest;
 import com.order.processing.dto.CancellationResponse;
 import com.order.processing.service.OrderCancellationService;
@@ -22,10 +24,15 @@ public class OrderCancellationController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @PostMapping("/cancel:batch")
+    public ResponseEntity<BatchCancellationResponse> cancelOrders(@Valid @RequestBody BatchCancellationRequest request) {
+        BatchCancellationResponse response = cancellationService.cancelOrders(request);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @GetMapping("/{orderId}/can-cancel")
     public ResponseEntity<Boolean> canCancelOrder(@PathVariable String orderId) {
         boolean canCancel = cancellationService.canCancelOrder(orderId);
         return ResponseEntity.ok(canCancel);
     }
 }
-
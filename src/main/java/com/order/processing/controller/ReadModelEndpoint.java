@@ -0,0 +1,47 @@
+package com.order.processing.controller;
+
+import com.order.processing.service.OrderProcessingProjector;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Operations on the order_processing_view read model.
+ *
+ *   GET  /actuator/readmodel  — projection lag, pending orders, last rebuild
+ *   POST /actuator/readmodel  — start a rebuild from scratch (runs in the background)
+ */
+@Component
+@Endpoint(id = "readmodel")
+public class ReadModelEndpoint {
+
+    private final OrderProcessingProjector projector;
+
+    public ReadModelEndpoint(OrderProcessingProjector projector) {
+        this.projector = projector;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("lagMs", (long) projector.lagMs());
+        status.put("pending", projector.pendingCount());
+        status.put("rebuilding", projector.isRebuilding());
+        status.put("lastRebuild", projector.lastRebuild());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> rebuild() {
+        if (projector.isRebuilding()) {
+            return Map.of("started", false, "reason", "a rebuild is already running");
+        }
+        CompletableFuture.runAsync(projector::rebuild);
+        return Map.of("started", true);
+    }
+}
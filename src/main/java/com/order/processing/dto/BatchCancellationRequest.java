@@ -0,0 +1,24 @@
+package com.order.processing.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for bulk cancellation.
+ * Each entry is validated exactly like a single {@link CancellationRequest}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCancellationRequest {
+
+    @NotEmpty(message = "At least one cancellation is required")
+    @Size(max = 1000, message = "At most 1000 orders can be cancelled per batch")
+    private List<@Valid CancellationRequest> cancellations;
+}
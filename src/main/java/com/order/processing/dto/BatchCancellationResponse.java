@@ -0,0 +1,26 @@
+package com.order.processing.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response DTO for bulk cancellation — one {@link CancellationResponse} per requested order,
+ * in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCancellationResponse {
+
+    private int requested;
+    private int cancelled;
+    private int rejected;
+    /** Orders that were cancelled before this request — reported, but no event or refund is issued again */
+    private int alreadyCancelled;
+    private List<CancellationResponse> results;
+}
@@ -5,11 +5,17 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "order_processing")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "orderProcessing")
+@NaturalIdCache(region = "orderProcessingNaturalId")
 @Data
 @Builder
 @NoArgsConstructor
@@ -20,6 +26,8 @@ public class OrderProcessing {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    /** Business key; lookups by orderId resolve through the natural-id cache */
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String orderId;
 
@@ -44,6 +52,10 @@ public class OrderProcessing {
 
     private LocalDateTime updatedAt;
 
+    /** Optimistic-concurrency version — status changes are conditional on it instead of row locks */
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,49 @@
+package com.order.processing.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model of {@link OrderProcessing}: one denormalised row per order, keyed by orderId,
+ * maintained asynchronously by {@code OrderProcessingProjector}. Status reads are served
+ * from here so they do not touch the write table.
+ */
+@Entity
+@Table(name = "order_processing_view")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderProcessingView {
+
+    @Id
+    private String orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ProcessingStatus status;
+
+    private Boolean inventoryAvailable;
+    private String inventoryCheck;
+    private Boolean validationPassed;
+    private String validationResult;
+
+    @Column(columnDefinition = "TEXT")
+    private String processingNotes;
+
+    private LocalDateTime processedAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    /** Version of the order_processing row this view row was built from */
+    private Long sourceVersion;
+
+    /** When the projector last wrote this row */
+    @Column(nullable = false)
+    private LocalDateTime projectedAt;
+}
@@ -1,5 +1,10 @@
 package com.order.processing.entity;
 
+import com.order.processing.model.OrderStatus;
+
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum ProcessingStatus {
     PENDING,
     IN_PROGRESS,
@@ -7,6 +12,26 @@ public enum ProcessingStatus {
     VALIDATED,
     COMPLETED,
     FAILED,
-    CANCELLED
-}
+    CANCELLED;
 
+    /** Order lifecycle status that this processing status corresponds to */
+    public OrderStatus toOrderStatus() {
+        return switch (this) {
+            case PENDING, IN_PROGRESS, INVENTORY_CHECKED, VALIDATED -> OrderStatus.PROCESSING;
+            case COMPLETED -> OrderStatus.READY_TO_SHIP;
+            case FAILED    -> OrderStatus.FAILED;
+            case CANCELLED -> OrderStatus.CANCELLED;
+        };
+    }
+
+    /** Processing statuses from which the order may move to {@code target} */
+    public static Set<ProcessingStatus> transitionableTo(OrderStatus target) {
+        Set<ProcessingStatus> from = EnumSet.noneOf(ProcessingStatus.class);
+        for (ProcessingStatus s : values()) {
+            if (s.toOrderStatus().canTransitionTo(target)) {
+                from.add(s);
+            }
+        }
+        return from;
+    }
+}
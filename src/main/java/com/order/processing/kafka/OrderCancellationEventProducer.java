@@ -1,39 +1,62 @@
 package com.order.processing.kafka;
 
+import com.order.common.events.EventEncoder;
+import com.order.common.events.EventPublisher;
+import com.order.common.events.dto.CancellationEventDto;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderCancellationEventProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EventPublisher eventPublisher;
+    private final EventEncoder eventEncoder;
 
     private static final String ORDER_CANCELLED_TOPIC = "order.cancelled";
 
     public void publishOrderCancelled(String orderId, String customerId, String reason, Double refundAmount) {
         try {
-            ObjectNode event = objectMapper.createObjectNode();
-            event.put("orderId", orderId);
-            event.put("customerId", customerId);
-            event.put("reason", reason);
-            event.put("refundAmount", refundAmount);
-            event.put("cancelledAt", System.currentTimeMillis());
-            event.put("status", "CANCELLED");
-
-            String message = objectMapper.writeValueAsString(event);
-            kafkaTemplate.send(ORDER_CANCELLED_TOPIC, orderId, message);
+            byte[] message = eventEncoder.orderCancelled(ORDER_CANCELLED_TOPIC, CancellationEventDto.builder()
+                    .orderId(orderId)
+                    .customerId(customerId)
+                    .reason(reason)
+                    .refundAmount(refundAmount)
+                    .cancelledAt(System.currentTimeMillis())
+                    .build());
+            eventPublisher.publish(ORDER_CANCELLED_TOPIC, orderId, message);
 
             log.info("Published order cancelled event for order: {}", orderId);
         } catch (Exception e) {
             log.error("Error publishing order cancelled event: {}", e.getMessage(), e);
         }
     }
-}
 
+    /**
+     * Publishes one order.cancelled event per entry as a single pipelined batch.
+     * All records are handed to the producer without waiting on each other and
+     * flushed once, so the batch costs roughly one broker round trip instead of N.
+     * Records the broker does not accept end up in the local spool (see {@link EventPublisher}).
+     */
+    public void publishOrdersCancelled(List<CancellationEventDto> events) {
+        long cancelledAt = System.currentTimeMillis();
+        int failed = 0;
+        for (CancellationEventDto event : events) {
+            try {
+                event.setCancelledAt(cancelledAt);
+                byte[] message = eventEncoder.orderCancelled(ORDER_CANCELLED_TOPIC, event);
+                eventPublisher.publish(ORDER_CANCELLED_TOPIC, event.getOrderId(), message);
+            } catch (Exception e) {
+                failed++;
+                log.error("Error publishing order cancelled event for order {}: {}",
+                        event.getOrderId(), e.getMessage(), e);
+            }
+        }
+        eventPublisher.flush();
+        log.info("Published {} order cancelled events in one batch ({} failed)", events.size(), failed);
+    }
+}
@@ -1,24 +1,25 @@
 package com.order.processing.kafka;
 
-import com.orderprocessing.trace.KafkaTraceHeaders;
+import com.order.common.events.EventPublisher;
 import com.orderprocessing.trace.TraceContextHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.producer.ProducerRecord;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Trace-aware Kafka producer for orderprocessing service.
- * Automatically injects current TraceContext into every Kafka message header
- * so downstream consumers (paymentprocessing, ordertracking) can correlate events.
+ * Sends string payloads through {@link EventPublisher}, which injects the current
+ * TraceContext into every Kafka message header so downstream consumers
+ * (paymentprocessing, ordertracking) can correlate events.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TraceAwareKafkaProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final EventPublisher eventPublisher;
 
     /**
      * Send a Kafka message with the current TraceContext injected into headers.
@@ -29,15 +30,12 @@ public class TraceAwareKafkaProducer {
      */
     public void sendWithTrace(String topic, String key, String payload) {
         var ctx = TraceContextHolder.get();
-        ProducerRecord<String, String> record = new ProducerRecord<>(topic, key, payload);
-
         if (ctx != null) {
-            KafkaTraceHeaders.inject(ctx, record.headers());
             log.info("[{}] Sending Kafka message to topic={} key={}", ctx.getTraceId(), topic, key);
         } else {
             log.warn("[TRACE-MISSING] Sending Kafka message without trace context to topic={}", topic);
         }
 
-        kafkaTemplate.send(record);
+        eventPublisher.publish(topic, key, payload.getBytes(StandardCharsets.UTF_8));
     }
 }
@@ -0,0 +1,180 @@
+package com.order.processing.kafka;
+
+import com.order.common.events.EventEncoder;
+import com.order.common.events.EventPublisher;
+import com.order.common.events.dto.StageTransitionsDto;
+import com.orderprocessing.trace.TraceContext;
+import com.orderprocessing.trace.TraceContextHolder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional coalescing of order.processed stage events per order.
+ *
+ * The first stage event of an order opens a window of {@code window-ms}; further stage events
+ * of that order are buffered, and when the window closes one record is emitted:
+ *
+ *  OFF          every stage event is published immediately (default)
+ *  LATEST       one ORDER_PROCESSED record with the latest stage only
+ *  TRANSITIONS  one ORDER_STAGE_TRANSITIONS record listing every stage with its timestamp
+ *
+ * The record is emitted on the coalescer's own thread, so the trace context of the latest
+ * buffered event is captured in {@link #offer} and set around the emit; the record carries
+ * the trace headers of the request that produced its final stage.
+ *
+ * At most {@code max-pending-orders} orders are buffered; beyond that events bypass the
+ * coalescer. {@link #flush(String)} lets callers emit an order's buffer early, e.g. before
+ * publishing a cancellation so the two stay in order. Buffers are flushed on shutdown.
+ *
+ * Metrics:
+ *  - orderprocessing.kafka.tracking.coalesced  — stage events saved by coalescing
+ *  - orderprocessing.kafka.tracking.pending    — orders with an open window
+ */
+@Component
+@Slf4j
+public class TrackingEventCoalescer {
+
+    public enum Mode { OFF, LATEST, TRANSITIONS }
+
+    private static final String ORDER_PROCESSED_TOPIC = "order.processed";
+
+    private final EventPublisher eventPublisher;
+    private final EventEncoder eventEncoder;
+    private final Mode mode;
+    private final long windowMs;
+    private final int maxPendingOrders;
+    private final Counter saved;
+
+    private final Map<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public TrackingEventCoalescer(EventPublisher eventPublisher,
+                                  EventEncoder eventEncoder,
+                                  @Value("${events.tracking.coalescing.mode:OFF}") Mode mode,
+                                  @Value("${events.tracking.coalescing.window-ms:500}") long windowMs,
+                                  @Value("${events.tracking.coalescing.max-pending-orders:10000}") int maxPendingOrders,
+                                  MeterRegistry meterRegistry) {
+        this.eventPublisher = eventPublisher;
+        this.eventEncoder = eventEncoder;
+        this.mode = mode;
+        this.windowMs = windowMs;
+        this.maxPendingOrders = maxPendingOrders;
+        this.scheduler = mode == Mode.OFF ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "tracking-coalescer");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.saved = Counter.builder("orderprocessing.kafka.tracking.coalesced")
+                .description("order.processed stage events saved by coalescing")
+                .tag("service", "orderprocessing")
+                .tag("mode", mode.name())
+                .register(meterRegistry);
+        Gauge.builder("orderprocessing.kafka.tracking.pending", pending, Map::size)
+                .description("Orders with buffered stage events")
+                .tag("service", "orderprocessing")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Buffers a stage event. Returns false if the event was not taken (coalescing off or
+     * buffer full) and must be published directly by the caller.
+     */
+    public boolean offer(String orderId, String stage, String message, LocalDateTime timestamp) {
+        if (mode == Mode.OFF || (pending.size() >= maxPendingOrders && !pending.containsKey(orderId))) {
+            return false;
+        }
+        StageTransitionsDto.Transition transition = new StageTransitionsDto.Transition(stage, message, timestamp);
+        TraceContext trace = TraceContextHolder.get();
+        boolean[] opened = {false};
+        pending.compute(orderId, (id, buffered) -> {
+            if (buffered == null) {
+                buffered = new Pending();
+                opened[0] = true;
+            }
+            buffered.transitions.add(transition);
+            if (trace != null) {
+                buffered.trace = trace;
+            }
+            return buffered;
+        });
+        if (opened[0]) {
+            scheduler.schedule(() -> flush(orderId), windowMs, TimeUnit.MILLISECONDS);
+        }
+        return true;
+    }
+
+    /** Emits whatever is buffered for the order now */
+    public void flush(String orderId) {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        Pending buffered = pending.remove(orderId);
+        if (buffered == null || buffered.transitions.isEmpty()) {
+            return;
+        }
+        TraceContext callerTrace = TraceContextHolder.get();
+        if (buffered.trace != null) {
+            TraceContextHolder.set(buffered.trace);
+        }
+        try {
+            emit(orderId, buffered.transitions);
+        } catch (Exception e) {
+            log.error("[TRACKING] Failed to publish coalesced events for orderId={}: {}", orderId, e.getMessage(), e);
+        } finally {
+            // flush also runs on request threads (before a cancellation); give them their own context back
+            if (callerTrace != null) {
+                TraceContextHolder.set(callerTrace);
+            } else {
+                TraceContextHolder.clear();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdownNow();
+        for (String orderId : List.copyOf(pending.keySet())) {
+            flush(orderId);
+        }
+    }
+
+    private void emit(String orderId, List<StageTransitionsDto.Transition> transitions) {
+        byte[] payload;
+        if (mode == Mode.LATEST) {
+            StageTransitionsDto.Transition latest = transitions.get(transitions.size() - 1);
+            payload = eventEncoder.orderProcessed(ORDER_PROCESSED_TOPIC, orderId,
+                    latest.getStage(), latest.getMessage(), latest.getTimestamp());
+        } else {
+            payload = eventEncoder.orderStageTransitions(ORDER_PROCESSED_TOPIC,
+                    new StageTransitionsDto(orderId, transitions));
+        }
+        eventPublisher.publish(ORDER_PROCESSED_TOPIC, orderId, payload);
+        saved.increment(transitions.size() - 1);
+        log.info("[TRACKING] Published coalesced order.processed event orderId={} stages={} mode={}",
+                orderId, transitions.size(), mode);
+    }
+
+    /** Buffered stages of one order and the trace context of the latest one */
+    private static final class Pending {
+        final List<StageTransitionsDto.Transition> transitions = new ArrayList<>(4);
+        TraceContext trace;
+    }
+}
@@ -1,35 +1,44 @@
 package com.order.processing.kafka;
 
+import com.order.common.events.EventEncoder;
+import com.order.common.events.EventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 import java.time.LocalDateTime;
 
 /**
  * Enhancement #1 - Order Tracking
  * Publishes order.processed event at each processing stage.
+ * With coalescing enabled, stage events are buffered per order by {@link TrackingEventCoalescer}.
  */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class TrackingEventProducer {
 
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private static final String ORDER_PROCESSED_TOPIC = "order.processed";
+    private static final String ORDER_CANCELLED_TOPIC = "order.cancelled";
+
+    private final EventPublisher eventPublisher;
+    private final EventEncoder eventEncoder;
+    private final TrackingEventCoalescer coalescer;
 
     public void publishOrderProcessed(String orderId, String stage, String message) {
-        String payload = String.format(
-            "{\"orderId\":\"%s\",\"stage\":\"%s\",\"message\":\"%s\",\"event\":\"ORDER_PROCESSED\",\"timestamp\":\"%s\"}",
-            orderId, stage, message, LocalDateTime.now());
-        kafkaTemplate.send("order.processed", orderId, payload);
+        LocalDateTime now = LocalDateTime.now();
+        if (coalescer.offer(orderId, stage, message, now)) {
+            log.debug("[TRACKING] Buffered order.processed event orderId={} stage={}", orderId, stage);
+            return;
+        }
+        byte[] payload = eventEncoder.orderProcessed(ORDER_PROCESSED_TOPIC, orderId, stage, message, now);
+        eventPublisher.publish(ORDER_PROCESSED_TOPIC, orderId, payload);
         log.info("[TRACKING] Published order.processed event orderId={} stage={}", orderId, stage);
     }
 
     public void publishOrderCancelled(String orderId, String reason) {
-        String payload = String.format(
-            "{\"orderId\":\"%s\",\"reason\":\"%s\",\"event\":\"ORDER_CANCELLED\",\"timestamp\":\"%s\"}",
-            orderId, reason, LocalDateTime.now());
-        kafkaTemplate.send("order.cancelled", orderId, payload);
+        coalescer.flush(orderId);
+        byte[] payload = eventEncoder.trackingCancelled(ORDER_CANCELLED_TOPIC, orderId, reason, LocalDateTime.now());
+        eventPublisher.publish(ORDER_CANCELLED_TOPIC, orderId, payload);
         log.info("[TRACKING] Published order.cancelled event orderId={}", orderId);
     }
 }
@@ -0,0 +1,15 @@
+package com.order.processing.model;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Application event: the processing records of these orders were written.
+ * Published inside the writing transaction; the read-model projector picks it up after commit.
+ */
+public record OrderProcessingChanged(Collection<String> orderIds) {
+
+    public static OrderProcessingChanged of(String orderId) {
+        return new OrderProcessingChanged(List.of(orderId));
+    }
+}
@@ -1,5 +1,11 @@
 package com.order.processing.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     CREATED,
     PENDING_PAYMENT,
@@ -13,6 +19,38 @@ public enum OrderStatus {
     RETURN_REQUESTED,
     RETURNED,
     REFUNDED,
-    FAILED
-}
+    FAILED;
+
+    /** Allowed transitions: current status → statuses it may move to */
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        allow(CREATED,           PENDING_PAYMENT, PROCESSING, CANCELLED, FAILED);
+        allow(PENDING_PAYMENT,   PAYMENT_CONFIRMED, CANCELLED, FAILED);
+        allow(PAYMENT_CONFIRMED, PROCESSING, CANCELLED, FAILED);
+        allow(PROCESSING,        READY_TO_SHIP, CANCELLED, FAILED);
+        allow(READY_TO_SHIP,     SHIPPED, FAILED);
+        allow(SHIPPED,           OUT_FOR_DELIVERY, DELIVERED);
+        allow(OUT_FOR_DELIVERY,  DELIVERED);
+        allow(DELIVERED,         RETURN_REQUESTED);
+        allow(RETURN_REQUESTED,  RETURNED);
+        allow(RETURNED,          REFUNDED);
+        allow(CANCELLED,         REFUNDED);
+        allow(REFUNDED);
+        allow(FAILED);
+    }
 
+    private static void allow(OrderStatus from, OrderStatus... to) {
+        Set<OrderStatus> targets = EnumSet.noneOf(OrderStatus.class);
+        Collections.addAll(targets, to);
+        TRANSITIONS.put(from, Collections.unmodifiableSet(targets));
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    public Set<OrderStatus> allowedTransitions() {
+        return TRANSITIONS.get(this);
+    }
+}
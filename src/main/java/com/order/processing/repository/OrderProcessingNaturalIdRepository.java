@@ -0,0 +1,15 @@
+package com.order.processing.repository;
+
+import com.order.processing.entity.OrderProcessing;
+
+import java.util.Optional;
+
+/**
+ * Lookup of OrderProcessing by its natural id (orderId).
+ * Overrides the derived {@code findByOrderId} query so repeated lookups are answered from the
+ * Hibernate natural-id and entity caches instead of running SQL.
+ */
+public interface OrderProcessingNaturalIdRepository {
+
+    Optional<OrderProcessing> findByOrderId(String orderId);
+}
@@ -0,0 +1,21 @@
+package com.order.processing.repository;
+
+import com.order.processing.entity.OrderProcessing;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class OrderProcessingNaturalIdRepositoryImpl implements OrderProcessingNaturalIdRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<OrderProcessing> findByOrderId(String orderId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(OrderProcessing.class)
+                .loadOptional(orderId);
+    }
+}
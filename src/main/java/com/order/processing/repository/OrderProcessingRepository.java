@@ -1,16 +1,50 @@
 package com.order.processing.repository;
 
 import com.order.processing.entity.OrderProcessing;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderProcessingRepository extends JpaRepository<OrderProcessing, Long> {
-    
-    Optional<OrderProcessing> findByOrderId(String orderId);
-    
+public interface OrderProcessingRepository extends JpaRepository<OrderProcessing, Long>,
+                                                   OrderProcessingNaturalIdRepository,
+                                                   OrderProcessingTransitionRepository {
+
     boolean existsByOrderId(String orderId);
-}
 
+    /** Current rows for a batch of orders — read by the read-model projector */
+    List<OrderProcessing> findByOrderIdIn(Collection<String> orderIds);
+
+    /** Most recent order ids, newest first — used to pick what start-up warm-up loads */
+    @Query("SELECT p.orderId FROM OrderProcessing p ORDER BY p.createdAt DESC, p.id DESC")
+    List<String> findRecentOrderIds(Pageable pageable);
+
+    /** Keyset page over all rows by id — used to rebuild the read model */
+    @Query("SELECT p FROM OrderProcessing p WHERE p.id > :afterId ORDER BY p.id")
+    List<OrderProcessing> findPageAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    /** Keyset page over rows changed after {@code since} — used to catch the read model up on restart */
+    @Query("SELECT p FROM OrderProcessing p WHERE p.updatedAt > :since AND p.id > :afterId ORDER BY p.id")
+    List<OrderProcessing> findUpdatedSinceAfter(@Param("since") LocalDateTime since,
+                                                @Param("afterId") Long afterId,
+                                                Pageable pageable);
+
+    /** Lightweight status + version snapshot — no entity hydration, no locks */
+    Optional<StatusVersion> findProjectedByOrderId(String orderId);
+
+    List<StatusVersion> findProjectedByOrderIdIn(Collection<String> orderIds);
+
+    interface StatusVersion {
+        Long getId();
+        String getOrderId();
+        ProcessingStatus getStatus();
+        Long getVersion();
+    }
+}
@@ -0,0 +1,36 @@
+package com.order.processing.repository;
+
+import com.order.processing.entity.ProcessingStatus;
+import com.order.processing.repository.OrderProcessingRepository.StatusVersion;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Compare-and-set status transitions for OrderProcessing, one order or a batch.
+ */
+public interface OrderProcessingTransitionRepository {
+
+    /**
+     * Moves one order to {@code toStatus} if its row is still in one of {@code fromStatuses}
+     * and still at the version it was read with.
+     * Returns false when the row changed in between; the caller re-reads and retries.
+     */
+    boolean transitionStatus(StatusVersion expected,
+                             Collection<ProcessingStatus> fromStatuses,
+                             ProcessingStatus toStatus,
+                             LocalDateTime updatedAt);
+
+    /**
+     * Moves every row in {@code expected} to {@code toStatus} if it is still in one of
+     * {@code fromStatuses} and still at the version it was read with. The per-row updates are
+     * sent as one JDBC batch, so N orders cost one round trip, and each row's update count says
+     * whether this call changed it.
+     * Returns the order ids whose row this call transitioned.
+     */
+    Set<String> transitionStatusBatch(Collection<StatusVersion> expected,
+                                      Collection<ProcessingStatus> fromStatuses,
+                                      ProcessingStatus toStatus,
+                                      LocalDateTime updatedAt);
+}
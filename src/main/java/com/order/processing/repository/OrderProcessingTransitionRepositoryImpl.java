@@ -0,0 +1,88 @@
+package com.order.processing.repository;
+
+import com.order.processing.entity.OrderProcessing;
+import com.order.processing.entity.ProcessingStatus;
+import com.order.processing.repository.OrderProcessingRepository.StatusVersion;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Plain JDBC batch so every row keeps its own version predicate and update count; a JPQL bulk
+ * UPDATE ... WHERE order_id IN (...) only reports how many rows matched, not which.
+ * The statements bypass Hibernate, so the second-level cache entry of every transitioned row is
+ * evicted afterwards. A JPQL bulk UPDATE would instead invalidate the whole entity region and the
+ * natural-id region on every call, emptying the cache for all orders on each cancellation.
+ * The orderId → id mapping never changes, so the natural-id region needs no eviction.
+ */
+class OrderProcessingTransitionRepositoryImpl implements OrderProcessingTransitionRepository {
+
+    private final JdbcTemplate jdbc;
+    private final EntityManagerFactory entityManagerFactory;
+
+    OrderProcessingTransitionRepositoryImpl(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.jdbc = new JdbcTemplate(dataSource);
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public boolean transitionStatus(StatusVersion expected,
+                                    Collection<ProcessingStatus> fromStatuses,
+                                    ProcessingStatus toStatus,
+                                    LocalDateTime updatedAt) {
+        return transitionStatusBatch(List.of(expected), fromStatuses, toStatus, updatedAt)
+                .contains(expected.getOrderId());
+    }
+
+    @Override
+    public Set<String> transitionStatusBatch(Collection<StatusVersion> expected,
+                                             Collection<ProcessingStatus> fromStatuses,
+                                             ProcessingStatus toStatus,
+                                             LocalDateTime updatedAt) {
+        if (expected.isEmpty() || fromStatuses.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<StatusVersion> rows = new ArrayList<>(expected);
+        List<String> from = fromStatuses.stream().map(Enum::name).toList();
+        String sql = "UPDATE order_processing SET status = ?, updated_at = ?, version = version + 1 " +
+                "WHERE order_id = ? AND version = ? AND status IN (" +
+                from.stream().map(s -> "?").collect(Collectors.joining(", ")) + ")";
+
+        int[][] counts = jdbc.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+            ps.setString(1, toStatus.name());
+            ps.setObject(2, updatedAt);
+            ps.setString(3, row.getOrderId());
+            ps.setObject(4, row.getVersion());
+            for (int i = 0; i < from.size(); i++) {
+                ps.setString(5 + i, from.get(i));
+            }
+        });
+
+        // PostgreSQL and H2 report an exact count for every batched UPDATE
+        Set<String> transitioned = new HashSet<>();
+        int[] perRow = counts.length == 0 ? new int[0] : counts[0];
+        for (int i = 0; i < perRow.length; i++) {
+            if (perRow[i] > 0) {
+                transitioned.add(rows.get(i).getOrderId());
+            }
+        }
+
+        Cache cache = entityManagerFactory.getCache();
+        for (StatusVersion row : rows) {
+            if (transitioned.contains(row.getOrderId())) {
+                cache.evict(OrderProcessing.class, row.getId());
+            }
+        }
+        return transitioned;
+    }
+}
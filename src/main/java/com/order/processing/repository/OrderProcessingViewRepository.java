@@ -0,0 +1,26 @@
+package com.order.processing.repository;
+
+import com.order.processing.entity.OrderProcessingView;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface OrderProcessingViewRepository extends JpaRepository<OrderProcessingView, String>,
+                                                       OrderProcessingViewUpsertRepository {
+
+    /** Latest projection time in the view, or null when it is empty — where a restart catches up from */
+    @Query("SELECT MAX(v.projectedAt) FROM OrderProcessingView v")
+    LocalDateTime findLatestProjectedAt();
+
+    /** Removes rows a rebuild did not rewrite — their source rows no longer exist */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OrderProcessingView v WHERE v.projectedAt < :before")
+    int deleteProjectedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,19 @@
+package com.order.processing.repository;
+
+import com.order.processing.entity.OrderProcessingView;
+
+import java.util.List;
+
+/**
+ * Version-guarded writes to the order_processing_view read model.
+ */
+public interface OrderProcessingViewUpsertRepository {
+
+    /**
+     * Inserts or updates each row in one batch. An existing row is only overwritten by a row
+     * built from the same or a newer source version, so a slow projection (a rebuild page, another
+     * node's drain) that read an older order_processing row cannot roll the view back.
+     * Returns the number of rows written.
+     */
+    int upsertIfNewer(List<OrderProcessingView> views);
+}
@@ -1,28 +1,98 @@
 package com.order.processing.service;
 
+import com.order.processing.dto.BatchCancellationRequest;
+import com.order.processing.dto.BatchCancellationResponse;
+import com.order.common.events.dto.CancellationEventDto;
 import com.order.processing.dto.CancellationRequest;
 import com.order.processing.dto.CancellationResponse;
+import com.order.processing.entity.OrderProcessing;
+import com.order.processing.entity.ProcessingStatus;
 import com.order.processing.kafka.OrderCancellationEventProducer;
+import com.order.processing.model.OrderProcessingChanged;
 import com.order.processing.model.OrderStatus;
-import lombok.RequiredArgsConstructor;
+import com.order.processing.repository.OrderProcessingRepository;
+import com.order.processing.repository.OrderProcessingViewRepository;
+import com.order.processing.repository.OrderProcessingRepository.StatusVersion;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Order cancellation.
+ *
+ * Cancellation is an optimistic compare-and-set on the processing record:
+ * read status + version without locks, check the {@link OrderStatus} transition table,
+ * then run one conditional UPDATE ... WHERE status IN (...) AND version = ?.
+ * If a concurrent writer got there first the UPDATE matches no row and we retry,
+ * so contention costs a retry instead of a lock wait.
+ *
+ * Methods are deliberately not @Transactional — each compare-and-set is its own
+ * short transaction so no row lock is held across the read-check-write sequence.
+ *
+ * Metrics:
+ *  - orderprocessing.cancellation.conflicts — compare-and-set lost to a concurrent writer
+ *  - orderprocessing.cancellation.retries   — attempts repeated after a conflict
+ */
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OrderCancellationService {
 
+    private static final int MAX_ATTEMPTS = 3;
+
+    /** Processing statuses from which an order may still be cancelled */
+    private static final Set<ProcessingStatus> CANCELLABLE_FROM =
+            ProcessingStatus.transitionableTo(OrderStatus.CANCELLED);
+
     private final OrderCancellationEventProducer eventProducer;
+    private final OrderProcessingRepository processingRepository;
+    private final OrderProcessingViewRepository viewRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final Counter conflicts;
+    private final Counter retries;
+
+    public OrderCancellationService(OrderCancellationEventProducer eventProducer,
+                                    OrderProcessingRepository processingRepository,
+                                    OrderProcessingViewRepository viewRepository,
+                                    ApplicationEventPublisher applicationEventPublisher,
+                                    MeterRegistry meterRegistry) {
+        this.eventProducer = eventProducer;
+        this.processingRepository = processingRepository;
+        this.viewRepository = viewRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.conflicts = Counter.builder("orderprocessing.cancellation.conflicts")
+                .description("Cancellation compare-and-set attempts lost to a concurrent writer")
+                .tag("service", "orderprocessing")
+                .register(meterRegistry);
+        this.retries = Counter.builder("orderprocessing.cancellation.retries")
+                .description("Cancellation attempts retried after a version conflict")
+                .tag("service", "orderprocessing")
+                .register(meterRegistry);
+    }
 
-    @Transactional
     public CancellationResponse cancelOrder(CancellationRequest request) {
         log.info("Processing cancellation request for order: {}", request.getOrderId());
 
-        // Validate if order can be cancelled
-        validateCancellationEligibility(request.getOrderId());
+        // Validate and apply the transition in one conditional update
+        Outcome outcome = applyCancellation(request.getOrderId(), request.getReason());
+        if (outcome.status() != OrderStatus.CANCELLED) {
+            throw new IllegalStateException(
+                "Order cannot be cancelled. It may have already been shipped or delivered.");
+        }
+        if (!outcome.cancelledHere()) {
+            // Idempotent repeat — the earlier call already published the event and started the refund
+            log.info("Order {} was already cancelled", request.getOrderId());
+            return alreadyCancelled(request.getOrderId());
+        }
 
         // Create cancellation response
         CancellationResponse response = new CancellationResponse();
@@ -46,28 +116,224 @@ public class OrderCancellationService {
         return response;
     }
 
+    /**
+     * Cancels many orders in one call.
+     * Eligibility is checked for all orders in one pass, the status change is applied as one JDBC
+     * batch of per-row compare-and-set UPDATEs and the order.cancelled events are published as one
+     * pipelined batch. Only orders whose UPDATE matched are reported as cancelled and published;
+     * rows that moved on since the read are settled through the single-order retry loop.
+     * Ineligible orders do not fail the batch — they are reported individually.
+     */
+    public BatchCancellationResponse cancelOrders(BatchCancellationRequest request) {
+        List<CancellationRequest> cancellations = request.getCancellations();
+        log.info("Processing batch cancellation request for {} orders", cancellations.size());
+
+        // Duplicate order IDs in one batch are collapsed — the first entry wins
+        Map<String, CancellationRequest> byOrderId = new LinkedHashMap<>();
+        for (CancellationRequest c : cancellations) {
+            byOrderId.putIfAbsent(c.getOrderId(), c);
+        }
+
+        Map<String, StatusVersion> current = findStatuses(byOrderId.keySet());
+        Map<String, Outcome> outcome = new HashMap<>();
+        List<StatusVersion> toUpdate = new ArrayList<>();
+
+        for (String orderId : byOrderId.keySet()) {
+            StatusVersion row = current.get(orderId);
+            OrderStatus status = toOrderStatus(row);
+            if (!status.canTransitionTo(OrderStatus.CANCELLED)) {
+                outcome.put(orderId, new Outcome(status, false));
+            } else if (row != null) {
+                toUpdate.add(row);
+            } else {
+                // Not yet in processing — no row to update, take the single-order path
+                outcome.put(orderId, applyCancellation(orderId, byOrderId.get(orderId).getReason()));
+            }
+        }
+
+        if (!toUpdate.isEmpty()) {
+            Set<String> updated = processingRepository.transitionStatusBatch(
+                    toUpdate, CANCELLABLE_FROM, ProcessingStatus.CANCELLED, LocalDateTime.now());
+            log.info("Batch cancellation updated {} of {} processing records", updated.size(), toUpdate.size());
+            if (!updated.isEmpty()) {
+                applicationEventPublisher.publishEvent(new OrderProcessingChanged(updated));
+            }
+
+            for (StatusVersion row : toUpdate) {
+                String orderId = row.getOrderId();
+                if (updated.contains(orderId)) {
+                    outcome.put(orderId, new Outcome(OrderStatus.CANCELLED, true));
+                } else {
+                    // The row moved on between the read and the update — settle it with the single-order CAS
+                    conflicts.increment();
+                    outcome.put(orderId, settleConflict(orderId, byOrderId.get(orderId).getReason()));
+                }
+            }
+        }
+
+        LocalDateTime cancelledAt = LocalDateTime.now();
+        List<CancellationEventDto> events = new ArrayList<>();
+        Map<String, CancellationResponse> results = new HashMap<>();
+
+        int alreadyCancelled = 0;
+
+        for (CancellationRequest c : byOrderId.values()) {
+            Outcome result = outcome.get(c.getOrderId());
+            if (result.status() == OrderStatus.CANCELLED && !result.cancelledHere()) {
+                results.put(c.getOrderId(), alreadyCancelled(c.getOrderId()));
+                alreadyCancelled++;
+                continue;
+            }
+
+            CancellationResponse response = new CancellationResponse();
+            response.setOrderId(c.getOrderId());
+            response.setStatus(result.status());
+
+            if (result.status() != OrderStatus.CANCELLED) {
+                response.setMessage("Order cannot be cancelled. It may have already been shipped or delivered.");
+                results.put(c.getOrderId(), response);
+                continue;
+            }
+
+            Double refundAmount = calculateRefundAmount(c.getOrderId());
+            response.setCancelledAt(cancelledAt);
+            response.setMessage("Order cancelled successfully");
+            response.setRefundAmount(refundAmount);
+            response.setRefundStatus("INITIATED");
+            results.put(c.getOrderId(), response);
+
+            events.add(CancellationEventDto.builder()
+                    .orderId(c.getOrderId())
+                    .customerId(c.getCustomerId())
+                    .reason(c.getReason())
+                    .refundAmount(refundAmount)
+                    .build());
+        }
+
+        if (!events.isEmpty()) {
+            eventProducer.publishOrdersCancelled(events);
+        }
+
+        // One result per requested entry, in request order
+        List<CancellationResponse> ordered = new ArrayList<>(cancellations.size());
+        for (CancellationRequest c : cancellations) {
+            ordered.add(results.get(c.getOrderId()));
+        }
+
+        int rejected = byOrderId.size() - events.size() - alreadyCancelled;
+        log.info("Batch cancellation finished: {} cancelled, {} already cancelled, {} rejected",
+            events.size(), alreadyCancelled, rejected);
+
+        return BatchCancellationResponse.builder()
+                .requested(cancellations.size())
+                .cancelled(events.size())
+                .rejected(rejected)
+                .alreadyCancelled(alreadyCancelled)
+                .results(ordered)
+                .build();
+    }
+
+    /** Read path — answered from the read model, falling back to the write table for unprojected orders */
     public boolean canCancelOrder(String orderId) {
         // Check if order is in a cancellable state
-        // In real system, fetch order status from database
-        OrderStatus currentStatus = getOrderStatus(orderId);
-        
-        return currentStatus == OrderStatus.CREATED || 
-               currentStatus == OrderStatus.PENDING_PAYMENT ||
-               currentStatus == OrderStatus.PAYMENT_CONFIRMED ||
-               currentStatus == OrderStatus.PROCESSING;
+        OrderStatus status = viewRepository.findById(orderId)
+                .map(view -> view.getStatus().toOrderStatus())
+                .orElseGet(() -> getOrderStatus(orderId));
+        return status.canTransitionTo(OrderStatus.CANCELLED);
     }
 
-    private void validateCancellationEligibility(String orderId) {
-        if (!canCancelOrder(orderId)) {
-            throw new IllegalStateException(
-                "Order cannot be cancelled. It may have already been shipped or delivered.");
+    /**
+     * Moves one order to CANCELLED with a compare-and-set, retrying on version conflicts.
+     *
+     * @return CANCELLED with {@code cancelledHere} set when this call made the transition;
+     *         otherwise the current status, which is CANCELLED if an earlier call already did
+     */
+    private Outcome applyCancellation(String orderId, String reason) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (attempt > 1) {
+                retries.increment();
+            }
+
+            StatusVersion current = processingRepository.findProjectedByOrderId(orderId).orElse(null);
+            OrderStatus status = toOrderStatus(current);
+            if (!status.canTransitionTo(OrderStatus.CANCELLED)) {
+                return new Outcome(status, false);
+            }
+
+            if (current == null ? insertCancelled(orderId, reason) : processingRepository.transitionStatus(
+                    current, CANCELLABLE_FROM, ProcessingStatus.CANCELLED, LocalDateTime.now())) {
+                applicationEventPublisher.publishEvent(OrderProcessingChanged.of(orderId));
+                return new Outcome(OrderStatus.CANCELLED, true);
+            }
+
+            conflicts.increment();
+            log.debug("Cancellation of order {} lost a version conflict (attempt {})", orderId, attempt);
+        }
+        throw new IllegalStateException(
+            "Order " + orderId + " is being modified concurrently. Please retry the cancellation.");
+    }
+
+    /**
+     * Retries one order of a batch whose batched compare-and-set lost. Other orders of the batch are
+     * already committed, so running out of attempts reports this order instead of failing the call.
+     */
+    private Outcome settleConflict(String orderId, String reason) {
+        try {
+            return applyCancellation(orderId, reason);
+        } catch (IllegalStateException e) {
+            log.warn("Batch cancellation of order {} gave up after {} version conflicts", orderId, MAX_ATTEMPTS);
+            return new Outcome(getOrderStatus(orderId), false);
+        }
+    }
+
+    private CancellationResponse alreadyCancelled(String orderId) {
+        CancellationResponse response = new CancellationResponse();
+        response.setOrderId(orderId);
+        response.setStatus(OrderStatus.CANCELLED);
+        response.setMessage("Order was already cancelled");
+        return response;
+    }
+
+    /**
+     * Order has not reached processing yet — record the cancellation so that a later
+     * processOrder call sees the order as already handled. A concurrent processOrder
+     * insert wins the unique orderId constraint and we retry against its row.
+     */
+    private boolean insertCancelled(String orderId, String reason) {
+        try {
+            processingRepository.save(OrderProcessing.builder()
+                    .orderId(orderId)
+                    .status(ProcessingStatus.CANCELLED)
+                    .processingNotes("Cancelled before processing: " + reason)
+                    .processedBy("CANCELLATION")
+                    .build());
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
         }
     }
 
     private OrderStatus getOrderStatus(String orderId) {
-        // In real system, fetch from database
-        // For now, returning a mock status
-        return OrderStatus.PROCESSING;
+        return toOrderStatus(processingRepository.findProjectedByOrderId(orderId).orElse(null));
+    }
+
+    /** No processing record yet means the order is still in its initial state */
+    private OrderStatus toOrderStatus(StatusVersion row) {
+        return row == null ? OrderStatus.CREATED : row.getStatus().toOrderStatus();
+    }
+
+    private Map<String, StatusVersion> findStatuses(Iterable<String> orderIds) {
+        List<String> ids = new ArrayList<>();
+        orderIds.forEach(ids::add);
+        Map<String, StatusVersion> statuses = new HashMap<>();
+        for (StatusVersion row : processingRepository.findProjectedByOrderIdIn(ids)) {
+            statuses.put(row.getOrderId(), row);
+        }
+        return statuses;
+    }
+
+    /** Resulting status of one cancellation, and whether this call is the one that cancelled it */
+    private record Outcome(OrderStatus status, boolean cancelledHere) {
     }
 
     private Double calculateRefundAmount(String orderId) {
@@ -76,4 +342,3 @@ public class OrderCancellationService {
         return 99.99;
     }
 }
-
@@ -0,0 +1,310 @@
+package com.order.processing.service;
+
+import com.order.processing.entity.OrderProcessing;
+import com.order.processing.entity.OrderProcessingView;
+import com.order.processing.model.OrderProcessingChanged;
+import com.order.processing.repository.OrderProcessingRepository;
+import com.order.processing.repository.OrderProcessingViewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Maintains the order_processing_view read model.
+ *
+ * Writers publish {@link OrderProcessingChanged}; after their transaction commits the order ids
+ * are queued here (several changes to one order before the next drain coalesce into one).
+ * Every {@code interval-ms} the queue is drained in batches: the current order_processing rows
+ * are read in one IN query on the primary and upserted into the view. The upsert only replaces
+ * a view row built from the same or an older source version, so a rebuild page or another
+ * node's drain that read an older row cannot roll the view back. A failed batch is put back
+ * and retried on the next drain. {@link #rebuild()} re-projects every row from scratch.
+ *
+ * The queue lives in memory, so changes queued when the node stopped are lost with it. Before
+ * its first drain the projector therefore catches up: it re-projects every row updated after the
+ * view's latest projected_at minus {@code catch-up-margin-ms}. The margin covers writes whose
+ * updated_at was set before a slow commit. A failed catch-up is retried on the next drain.
+ *
+ * {@link #watermark()} is the commit time up to which every change made on this node is in the
+ * view; {@code OrderProcessingService} uses it to honour X-Consistency-Token. It stays at 0 until
+ * the catch-up has finished, so token reads go to the primary in the meantime.
+ *
+ * Metrics:
+ *  - orderprocessing.readmodel.lag        — age of the oldest change not yet projected (ms)
+ *  - orderprocessing.readmodel.pending    — orders waiting to be projected
+ *  - orderprocessing.readmodel.delay      — commit → projected, per order
+ *  - orderprocessing.readmodel.projected  — view rows written (tag mode=incremental|rebuild)
+ */
+@Component
+@Slf4j
+public class OrderProcessingProjector {
+
+    private final OrderProcessingRepository processingRepository;
+    private final OrderProcessingViewRepository viewRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long catchUpMarginMs;
+
+    /** orderId → epoch ms of its first unprojected change */
+    private final Map<String, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    /** Start of the last drain that emptied the queue (epoch ms); 0 until caught up */
+    private volatile long watermark;
+    private volatile boolean caughtUp;
+    private volatile RebuildStatus lastRebuild;
+
+    private final Timer delay;
+    private final Counter projected;
+    private final Counter rebuilt;
+
+    public OrderProcessingProjector(OrderProcessingRepository processingRepository,
+                                    OrderProcessingViewRepository viewRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${readmodel.order-processing.batch-size:500}") int batchSize,
+                                    @Value("${readmodel.order-processing.catch-up-margin-ms:60000}") long catchUpMarginMs,
+                                    MeterRegistry meterRegistry) {
+        this.processingRepository = processingRepository;
+        this.viewRepository = viewRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.catchUpMarginMs = catchUpMarginMs;
+
+        Gauge.builder("orderprocessing.readmodel.lag", this, OrderProcessingProjector::lagMs)
+                .description("Age of the oldest processing change not yet in the read model")
+                .baseUnit("milliseconds")
+                .tag("service", "orderprocessing")
+                .register(meterRegistry);
+        Gauge.builder("orderprocessing.readmodel.pending", pending, Map::size)
+                .description("Orders waiting to be projected into the read model")
+                .tag("service", "orderprocessing")
+                .register(meterRegistry);
+        this.delay = Timer.builder("orderprocessing.readmodel.delay")
+                .description("Time from a processing change to its projection")
+                .tag("service", "orderprocessing")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.projected = Counter.builder("orderprocessing.readmodel.projected")
+                .tag("service", "orderprocessing")
+                .tag("mode", "incremental")
+                .register(meterRegistry);
+        this.rebuilt = Counter.builder("orderprocessing.readmodel.projected")
+                .tag("service", "orderprocessing")
+                .tag("mode", "rebuild")
+                .register(meterRegistry);
+    }
+
+    /** A fresh read model (new deployment, restored database) is populated once at start-up */
+    @EventListener(ApplicationReadyEvent.class)
+    public void populateIfEmpty() {
+        if (viewRepository.count() == 0
+                && !processingRepository.findPageAfter(0L, PageRequest.ofSize(1)).isEmpty()) {
+            log.info("Read model is empty, rebuilding from order_processing");
+            CompletableFuture.runAsync(this::rebuild);
+        }
+    }
+
+    /** Runs after the writer's commit, or immediately for writers without a transaction */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChanged(OrderProcessingChanged event) {
+        Long now = System.currentTimeMillis();
+        for (String orderId : event.orderIds()) {
+            pending.putIfAbsent(orderId, now);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${readmodel.order-processing.interval-ms:200}")
+    public void drain() {
+        if (!caughtUp && !catchUp()) {
+            return;
+        }
+        long startedAt = System.currentTimeMillis();
+        while (!pending.isEmpty()) {
+            Map<String, Long> batch = new HashMap<>();
+            for (Map.Entry<String, Long> e : pending.entrySet()) {
+                // removed before the read: a change committed after this point re-queues the order
+                if (pending.remove(e.getKey(), e.getValue())) {
+                    batch.put(e.getKey(), e.getValue());
+                }
+                if (batch.size() >= batchSize) {
+                    break;
+                }
+            }
+            try {
+                int written = project(batch.keySet());
+                projected.increment(written);
+                long now = System.currentTimeMillis();
+                batch.values().forEach(since -> delay.record(now - since, TimeUnit.MILLISECONDS));
+            } catch (Exception e) {
+                batch.forEach(pending::putIfAbsent);
+                log.warn("Read-model projection of {} orders failed, will retry: {}", batch.size(), e.getMessage());
+                return;
+            }
+        }
+        // everything queued before startedAt has been projected; a change queued after the loop's
+        // last check has a later commit time, so it stays above the watermark until the next drain
+        watermark = startedAt;
+    }
+
+    /**
+     * Re-projects the rows changed since the view was last written, in id order. An empty view has
+     * nothing to catch up from; {@link #populateIfEmpty()} rebuilds it instead.
+     */
+    private boolean catchUp() {
+        try {
+            LocalDateTime latest = viewRepository.findLatestProjectedAt();
+            long rows = 0;
+            if (latest != null) {
+                LocalDateTime since = latest.minusNanos(TimeUnit.MILLISECONDS.toNanos(catchUpMarginMs));
+                long afterId = 0;
+                while (true) {
+                    long from = afterId;
+                    List<OrderProcessing> page = transactionTemplate.execute(status -> {
+                        LocalDateTime readAt = LocalDateTime.now();
+                        List<OrderProcessing> rowsPage = processingRepository.findUpdatedSinceAfter(
+                                since, from, PageRequest.ofSize(batchSize));
+                        upsert(rowsPage, readAt);
+                        return rowsPage;
+                    });
+                    if (page == null || page.isEmpty()) {
+                        break;
+                    }
+                    rows += page.size();
+                    projected.increment(page.size());
+                    afterId = page.get(page.size() - 1).getId();
+                }
+                log.info("Read model caught up: {} rows changed since {} re-projected", rows, since);
+            }
+            caughtUp = true;
+            return true;
+        } catch (Exception e) {
+            log.warn("Read-model catch-up failed, will retry: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Re-projects every order_processing row, in id order, then deletes view rows that were not
+     * rewritten. The view stays readable throughout. Returns false if a rebuild is already running.
+     */
+    public boolean rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        long rows = 0;
+        try {
+            long afterId = 0;
+            while (true) {
+                long from = afterId;
+                List<OrderProcessing> page = transactionTemplate.execute(status -> {
+                    LocalDateTime readAt = LocalDateTime.now();
+                    List<OrderProcessing> rowsPage = processingRepository.findPageAfter(from, PageRequest.ofSize(batchSize));
+                    upsert(rowsPage, readAt);
+                    return rowsPage;
+                });
+                if (page == null || page.isEmpty()) {
+                    break;
+                }
+                rows += page.size();
+                rebuilt.increment(page.size());
+                afterId = page.get(page.size() - 1).getId();
+            }
+            int removed = viewRepository.deleteProjectedBefore(startedAt);
+            lastRebuild = new RebuildStatus(startedAt, LocalDateTime.now(), rows, removed, null);
+            log.info("Read model rebuilt: {} rows projected, {} orphans removed", rows, removed);
+        } catch (Exception e) {
+            lastRebuild = new RebuildStatus(startedAt, LocalDateTime.now(), rows, 0, e.getMessage());
+            log.error("Read model rebuild failed after {} rows: {}", rows, e.getMessage(), e);
+        } finally {
+            rebuilding.set(false);
+        }
+        return true;
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    public RebuildStatus lastRebuild() {
+        return lastRebuild;
+    }
+
+    /**
+     * Every change committed on this node before this time (epoch ms) is in the view. A consistency
+     * token at or above it may not be visible there yet.
+     */
+    public long watermark() {
+        return watermark;
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    public double lagMs() {
+        long oldest = Long.MAX_VALUE;
+        for (Long since : pending.values()) {
+            oldest = Math.min(oldest, since);
+        }
+        return oldest == Long.MAX_VALUE ? 0 : System.currentTimeMillis() - oldest;
+    }
+
+    /** Read-write transaction, so the source rows are read from the primary */
+    private int project(Collection<String> orderIds) {
+        Integer written = transactionTemplate.execute(status -> {
+            LocalDateTime readAt = LocalDateTime.now();
+            return upsert(processingRepository.findByOrderIdIn(orderIds), readAt);
+        });
+        return written == null ? 0 : written;
+    }
+
+    /**
+     * {@code readAt} is taken before the source rows are read: a view row's projected_at is a time
+     * by which every write to its order that had committed is reflected in it.
+     */
+    private int upsert(List<OrderProcessing> rows, LocalDateTime readAt) {
+        List<OrderProcessingView> views = new ArrayList<>(rows.size());
+        for (OrderProcessing row : rows) {
+            views.add(OrderProcessingView.builder()
+                    .orderId(row.getOrderId())
+                    .status(row.getStatus())
+                    .inventoryAvailable(row.getInventoryAvailable())
+                    .inventoryCheck(row.getInventoryCheck())
+                    .validationPassed(row.getValidationPassed())
+                    .validationResult(row.getValidationResult())
+                    .processingNotes(row.getProcessingNotes())
+                    .processedAt(row.getProcessedAt())
+                    .createdAt(row.getCreatedAt())
+                    .updatedAt(row.getUpdatedAt())
+                    .sourceVersion(row.getVersion())
+                    .projectedAt(readAt)
+                    .build());
+        }
+        return viewRepository.upsertIfNewer(views);
+    }
+
+    public record RebuildStatus(LocalDateTime startedAt, LocalDateTime finishedAt,
+                                long projected, int removed, String error) {
+    }
+}
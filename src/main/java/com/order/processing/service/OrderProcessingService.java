@@ -1,23 +1,49 @@
 package com.order.processing.service;
 
+import com.order.common.consistency.ConsistencyContext;
 import com.order.processing.dto.ProcessOrderRequest;
 import com.order.processing.dto.ProcessingResponse;
 import com.order.processing.entity.OrderProcessing;
+import com.order.processing.entity.OrderProcessingView;
 import com.order.processing.entity.ProcessingStatus;
+import com.order.processing.model.OrderProcessingChanged;
 import com.order.processing.repository.OrderProcessingRepository;
-import lombok.RequiredArgsConstructor;
+import com.order.processing.repository.OrderProcessingViewRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class OrderProcessingService {
 
     private final OrderProcessingRepository processingRepository;
+    private final OrderProcessingViewRepository viewRepository;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final OrderProcessingProjector projector;
+    private final Counter readModelFallbacks;
+
+    public OrderProcessingService(OrderProcessingRepository processingRepository,
+                                  OrderProcessingViewRepository viewRepository,
+                                  ApplicationEventPublisher applicationEventPublisher,
+                                  OrderProcessingProjector projector,
+                                  MeterRegistry meterRegistry) {
+        this.processingRepository = processingRepository;
+        this.viewRepository = viewRepository;
+        this.applicationEventPublisher = applicationEventPublisher;
+        this.projector = projector;
+        this.readModelFallbacks = Counter.builder("orderprocessing.readmodel.fallbacks")
+                .description("Status reads served from the write table because the read model had no row yet or was behind the consistency token")
+                .tag("service", "orderprocessing")
+                .register(meterRegistry);
+    }
 
     @Transactional
     public ProcessingResponse processOrder(ProcessOrderRequest request) {
@@ -48,7 +74,7 @@ public class OrderProcessingService {
         if (!inventoryAvailable) {
             processing.setStatus(ProcessingStatus.FAILED);
             processing.setProcessedAt(LocalDateTime.now());
-            OrderProcessing saved = processingRepository.save(processing);
+            OrderProcessing saved = save(processing);
             log.warn("Order processing failed due to inventory: {}", request.getOrderId());
             return mapToResponse(saved, "Order processing failed: Inventory not available");
         }
@@ -65,7 +91,7 @@ public class OrderProcessingService {
         if (!validationPassed) {
             processing.setStatus(ProcessingStatus.FAILED);
             processing.setProcessedAt(LocalDateTime.now());
-            OrderProcessing saved = processingRepository.save(processing);
+            OrderProcessing saved = save(processing);
             log.warn("Order processing failed due to validation: {}", request.getOrderId());
             return mapToResponse(saved, "Order processing failed: Validation failed");
         }
@@ -73,21 +99,49 @@ public class OrderProcessingService {
         // Complete processing
         processing.setStatus(ProcessingStatus.COMPLETED);
         processing.setProcessedAt(LocalDateTime.now());
-        OrderProcessing saved = processingRepository.save(processing);
+        OrderProcessing saved = save(processing);
         
         log.info("Order processed successfully: {}", request.getOrderId());
         return mapToResponse(saved, "Order processed successfully");
     }
 
+    /**
+     * Served from the order_processing_view read model. An order the projector has not reached
+     * yet (just created) falls back to the write table, so a create-then-read never 404s.
+     *
+     * A request carrying an X-Consistency-Token also reads the write table unless the view is
+     * known to include that write: the projector's watermark has passed the token and the row
+     * was projected from a read that started after it (which also covers writes made on
+     * another node).
+     */
     public ProcessingResponse getProcessingStatus(String orderId) {
         log.info("Fetching processing status for order: {}", orderId);
-        
+
+        long token = ConsistencyContext.requiredToken();
+        if (token == 0 || token < projector.watermark()) {
+            Optional<OrderProcessingView> view = viewRepository.findById(orderId);
+            if (view.isPresent() && (token == 0 || projectedAfter(view.get(), token))) {
+                return mapToResponse(view.get());
+            }
+        }
+        readModelFallbacks.increment();
         OrderProcessing processing = processingRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new RuntimeException("Processing record not found for order: " + orderId));
 
         return mapToResponse(processing, null);
     }
 
+    private static boolean projectedAfter(OrderProcessingView view, long token) {
+        return view.getProjectedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() > token;
+    }
+
+    /** Saves the record and queues it for the read model once the transaction commits */
+    private OrderProcessing save(OrderProcessing processing) {
+        OrderProcessing saved = processingRepository.save(processing);
+        applicationEventPublisher.publishEvent(OrderProcessingChanged.of(saved.getOrderId()));
+        return saved;
+    }
+
     private boolean checkInventory(String orderId) {
         // Simulate inventory check
         // In real implementation, this would call inventory service
@@ -113,5 +167,18 @@ public class OrderProcessingService {
                 .message(message)
                 .build();
     }
+
+    private ProcessingResponse mapToResponse(OrderProcessingView view) {
+        return ProcessingResponse.builder()
+                .orderId(view.getOrderId())
+                .status(view.getStatus().name())
+                .inventoryAvailable(view.getInventoryAvailable())
+                .inventoryCheck(view.getInventoryCheck())
+                .validationPassed(view.getValidationPassed())
+                .validationResult(view.getValidationResult())
+                .processingNotes(view.getProcessingNotes())
+                .processedAt(view.getProcessedAt())
+                .build();
+    }
 }
 
@@ -0,0 +1,125 @@
+package com.order.processing.service;
+
+import com.order.processing.repository.OrderProcessingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Start-up warm-up for the order processing service.
+ *
+ * Runs synchronously in the ApplicationReadyEvent listener: Spring Boot publishes
+ * ReadinessState.ACCEPTING_TRAFFIC only after the ready listeners return, so the readiness
+ * probe stays down until the caches are warm or {@code warmup.timeout} passes.
+ *
+ *   orders   the most recent orders are loaded with findByOrderIdIn (entity cache) and then
+ *            one by one with findByOrderId, which fills the natural-id cache the hot lookups use
+ *   status   their status is read through the read model path
+ *   offers   the latest offers are computed once
+ *
+ * A failing step is logged and skipped.
+ *
+ * Metrics:
+ *  - orderprocessing.warmup.step  — timer, tags step, outcome=ok|failed|skipped
+ */
+@Component
+@Slf4j
+public class OrderProcessingWarmer {
+
+    private final OrderProcessingRepository processingRepository;
+    private final OrderProcessingService processingService;
+    private final OfferService offerService;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration timeout;
+    private final int recentOrders;
+
+    private Instant deadline;
+
+    public OrderProcessingWarmer(OrderProcessingRepository processingRepository,
+                                 OrderProcessingService processingService,
+                                 OfferService offerService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${warmup.enabled:true}") boolean enabled,
+                                 @Value("${warmup.timeout:60s}") Duration timeout,
+                                 @Value("${warmup.recent-orders:200}") int recentOrders) {
+        this.processingRepository = processingRepository;
+        this.processingService = processingService;
+        this.offerService = offerService;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.timeout = timeout;
+        this.recentOrders = recentOrders;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        deadline = Instant.now().plus(timeout);
+        List<String> orderIds = new ArrayList<>();
+
+        step("orders", () -> {
+            orderIds.addAll(processingRepository.findRecentOrderIds(PageRequest.of(0, recentOrders)));
+            processingRepository.findByOrderIdIn(orderIds);
+            for (String orderId : orderIds) {
+                if (Instant.now().isAfter(deadline)) {
+                    break;
+                }
+                processingRepository.findByOrderId(orderId);
+            }
+        });
+        step("status", () -> {
+            for (String orderId : orderIds) {
+                if (Instant.now().isAfter(deadline)) {
+                    break;
+                }
+                processingService.getProcessingStatus(orderId);
+            }
+        });
+        step("offers", offerService::getLatestOffers);
+
+        log.info("[WARMUP] Loaded {} recent orders in {} ms", orderIds.size(),
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private void step(String name, Runnable step) {
+        if (Instant.now().isAfter(deadline)) {
+            record(name, "skipped", Duration.ZERO);
+            log.warn("[WARMUP] Skipping {} — warm-up timeout {} reached", name, timeout);
+            return;
+        }
+        long start = System.nanoTime();
+        String outcome = "ok";
+        try {
+            step.run();
+        } catch (RuntimeException e) {
+            outcome = "failed";
+            log.warn("[WARMUP] Step {} failed: {}", name, e.getMessage());
+        } finally {
+            record(name, outcome, Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private void record(String step, String outcome, Duration duration) {
+        Timer.builder("orderprocessing.warmup.step")
+                .description("Startup warm-up step duration")
+                .tag("service", "orderprocessing")
+                .tag("step", step)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(duration);
+    }
+}
@@ -1,14 +1,26 @@
 package com.orderprocessing.orderprocessing.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.orderprocessing.orderprocessing.dto.OrderProcessImportResult;
+import com.orderprocessing.orderprocessing.dto.OrderProcessPage;
+import com.orderprocessing.orderprocessing.dto.OrderProcessPatch;
 import com.orderprocessing.orderprocessing.model.OrderProcess;
+import com.orderprocessing.orderprocessing.service.OrderProcessImportService;
 import com.orderprocessing.orderprocessing.service.OrderProcessService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 
 @RestController
 @RequestMapping("/api/v1/order-processing")
@@ -16,7 +28,12 @@ import java.util.List;
 @Slf4j
 public class OrderProcessController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final OrderProcessService orderProcessService;
+    private final OrderProcessImportService orderProcessImportService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<OrderProcess> create(@RequestBody OrderProcess orderProcess) {
@@ -25,22 +42,120 @@ public class OrderProcessController {
                              .body(orderProcessService.create(orderProcess));
     }
 
+    /**
+     * Bulk import from NDJSON ({@code application/x-ndjson}) or CSV ({@code text/csv}, header row).
+     * The body is read incrementally and inserted in batched chunks.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<OrderProcessImportResult> importRows(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) throws IOException {
+        log.info("POST /api/v1/order-processing/import ({})", contentType);
+        OrderProcessImportService.Format format = contentType.isCompatibleWith(NDJSON)
+                ? OrderProcessImportService.Format.NDJSON
+                : OrderProcessImportService.Format.CSV;
+        return ResponseEntity.ok(orderProcessImportService.importRows(body, format));
+    }
+
+    /**
+     * Keyset-paginated list in (createdAt, id) order.
+     * Pass the returned {@code nextCursor} as {@code after} to fetch the next page;
+     * 400 if {@code after} is not a cursor this endpoint issued.
+     */
     @GetMapping
-    public ResponseEntity<List<OrderProcess>> getAll() {
-        return ResponseEntity.ok(orderProcessService.findAll());
+    public ResponseEntity<OrderProcessPage> getAll(@RequestParam(required = false) String status,
+                                                   @RequestParam(required = false) String after,
+                                                   @RequestParam(defaultValue = "50") int limit) {
+        if (after != null && !isCursor(after)) {
+            return ResponseEntity.badRequest().build();
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(orderProcessService.findPage(status, after, pageSize));
+    }
+
+    /**
+     * Full export as NDJSON (one JSON object per line), written and flushed row by row.
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> stream(@RequestParam(required = false) String status) {
+        ObjectWriter writer = objectMapper.writerFor(OrderProcess.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = out -> orderProcessService.streamAll(status, p -> {
+            try {
+                writer.writeValue(out, p);
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<OrderProcess> getById(@PathVariable Long id) {
         return orderProcessService.findById(id)
-                .map(ResponseEntity::ok)
+                .map(p -> ResponseEntity.ok().eTag(etag(p.getVersion())).body(p))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Full replacement. Needs the expected version like PATCH — {@code If-Match} or the body's
+     * {@code version} — so a client cannot overwrite a change it has not seen.
+     * 200 + new ETag on success, 412 + current ETag if stale, 428 without a version,
+     * 400 if If-Match is not a version ETag.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<OrderProcess> update(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                 @RequestBody OrderProcess orderProcess) {
-        return ResponseEntity.ok(orderProcessService.update(id, orderProcess));
+        Long expectedVersion = orderProcess.getVersion();
+        if (ifMatch != null) {
+            expectedVersion = parseEtag(ifMatch);
+            if (expectedVersion == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (expectedVersion == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        OrderProcessService.UpdateResult result = orderProcessService.update(id, orderProcess, expectedVersion);
+        return switch (result.outcome()) {
+            case APPLIED   -> ResponseEntity.ok().eTag(etag(result.version())).body(result.saved());
+            case CONFLICT  -> ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(etag(result.version())).build();
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
+
+    /**
+     * Partial update of the supplied fields. The expected version comes from
+     * {@code If-Match} (the ETag of GET /{id}) or the body's {@code version};
+     * one of them is required. 204 + new ETag on success, 412 + current ETag if stale,
+     * 400 if If-Match is not a version ETag.
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patch(@PathVariable Long id,
+                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                      @RequestBody OrderProcessPatch patch) {
+        Long expectedVersion = patch.getVersion();
+        if (ifMatch != null) {
+            expectedVersion = parseEtag(ifMatch);
+            if (expectedVersion == null) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+        if (expectedVersion == null) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).build();
+        }
+        if (patch.isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+        OrderProcessService.PatchResult result = orderProcessService.patch(id, patch, expectedVersion);
+        return switch (result.outcome()) {
+            case APPLIED   -> ResponseEntity.noContent().eTag(etag(result.version())).build();
+            case CONFLICT  -> ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(etag(result.version())).build();
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
     }
 
     @DeleteMapping("/{id}")
@@ -48,4 +163,33 @@ public class OrderProcessController {
         orderProcessService.delete(id);
         return ResponseEntity.noContent().build();
     }
+
+    private static String etag(Long version) {
+        return "\"" + (version == null ? 0 : version) + "\"";
+    }
+
+    private static boolean isCursor(String after) {
+        try {
+            OrderProcessPage.Cursor.decode(after);
+            return true;
+        } catch (IllegalArgumentException e) {
+            log.debug("Malformed page cursor: {}", after);
+            return false;
+        }
+    }
+
+    /** Version from an If-Match ETag, or null if it is not one of ours (answered with 400) */
+    private static Long parseEtag(String ifMatch) {
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            log.debug("Malformed If-Match header: {}", ifMatch);
+            return null;
+        }
+    }
 }
@@ -4,19 +4,36 @@ import com.orderprocessing.orderprocessing.db.config.DataSourceRoutingConfig.Dat
 import com.orderprocessing.orderprocessing.db.config.DataSourceRoutingConfig.DataSourceType;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.Order;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Database Optimisation Enhancement: Read-Replica Routing Aspect
  *
- * Intercepts @Transactional(readOnly=true) annotated methods and
- * routes them to the READ replica DataSource automatically.
- * Write transactions continue to use the PRIMARY DataSource.
+ * Classifies calls as READ (→ replica) or WRITE (→ primary) and sets the routing context:
+ *  - @Modifying query methods             → WRITE
+ *  - @Transactional (method, then class)  → readOnly ? READ : WRITE
+ *  - otherwise by name: find/get/read/query/search/stream/count/exists/list/load/fetch → READ,
+ *    anything else (save, delete, process, cancel, ...) → WRITE
+ * applied to Spring Data repository methods, @Service methods and @Transactional methods.
  *
+ * Rules:
+ *  - inside an open transaction the routing is left alone (its connection is already bound)
+ *  - a WRITE context is sticky: reads nested in a write (read-before-write) stay on the primary
+ *  - a WRITE nested in a READ escalates to the primary for its duration
+ *  - the previous context is restored afterwards, never just cleared
+ *
+ * The classification is computed once per Method and cached — no reflection per call.
  * Must run BEFORE @Transactional (Order = -1).
  */
 @Aspect
@@ -24,16 +41,63 @@ import java.lang.reflect.Method;
 @Order(-1)
 public class ReadOnlyTransactionAspect {
 
-    @Around("@annotation(transactional)")
-    public Object routeDataSource(ProceedingJoinPoint pjp,
-                                   Transactional transactional) throws Throwable {
-        boolean readOnly = transactional.readOnly();
-        DataSourceType target = readOnly ? DataSourceType.REPLICA : DataSourceType.PRIMARY;
+    private static final String[] READ_PREFIXES = {
+            "find", "get", "read", "query", "search", "stream", "count", "exists", "list", "load", "fetch"
+    };
+
+    private final Map<Method, DataSourceType> classification = new ConcurrentHashMap<>();
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " || @within(org.springframework.stereotype.Service)"
+            + " || @within(org.springframework.transaction.annotation.Transactional)"
+            + " || @annotation(org.springframework.transaction.annotation.Transactional)")
+    public Object routeDataSource(ProceedingJoinPoint pjp) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return pjp.proceed();
+        }
+
+        DataSourceType previous = DataSourceContextHolder.current();
+        if (previous == DataSourceType.PRIMARY) {
+            return pjp.proceed();
+        }
+
+        Method method = ((MethodSignature) pjp.getSignature()).getMethod();
+        DataSourceType target = classification.computeIfAbsent(method,
+                m -> classify(m, AopUtils.getTargetClass(pjp.getTarget())));
+        if (target == previous) {
+            return pjp.proceed();
+        }
+
         DataSourceContextHolder.set(target);
         try {
             return pjp.proceed();
         } finally {
-            DataSourceContextHolder.clear();
+            DataSourceContextHolder.restore(previous);
+        }
+    }
+
+    private static DataSourceType classify(Method method, Class<?> targetClass) {
+        if (AnnotatedElementUtils.hasAnnotation(method, Modifying.class)) {
+            return DataSourceType.PRIMARY;
+        }
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        Transactional tx = AnnotatedElementUtils.findMergedAnnotation(specific, Transactional.class);
+        if (tx == null) {
+            tx = AnnotatedElementUtils.findMergedAnnotation(specific.getDeclaringClass(), Transactional.class);
+        }
+        if (tx != null) {
+            return tx.readOnly() ? DataSourceType.REPLICA : DataSourceType.PRIMARY;
+        }
+        return isReadName(method.getName()) ? DataSourceType.REPLICA : DataSourceType.PRIMARY;
+    }
+
+    private static boolean isReadName(String name) {
+        for (String prefix : READ_PREFIXES) {
+            if (name.startsWith(prefix)
+                    && (name.length() == prefix.length() || !Character.isLowerCase(name.charAt(prefix.length())))) {
+                return true;
+            }
         }
+        return false;
     }
 }
@@ -0,0 +1,46 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import com.orderprocessing.orderprocessing.db.service.DatabaseMetricsService;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterCache;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterFamily;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+/**
+ * Database Optimisation Enhancement: Cache Instrumentation
+ *
+ * Wraps caches in an {@link InstrumentedCache} with their meters resolved once per cache.
+ * Used by {@link ResilientRedisCacheManager} as the outermost decorator, so it measures what
+ * {@code @Cacheable} callers see — Redis, circuit-breaker fallback and transaction-aware
+ * puts included.
+ */
+public class CacheInstrumentation {
+
+    private final DatabaseMetricsService databaseMetrics;
+    private final HotKeyTracker hotKeys;
+    private final MeterFamily<Timer> gets;
+    private final MeterFamily<Timer> loads;
+    private final MeterFamily<Counter> puts;
+    private final MeterFamily<Counter> evictions;
+
+    public CacheInstrumentation(DatabaseMetricsService databaseMetrics, HotKeyTracker hotKeys, MeterCache meterCache) {
+        this.databaseMetrics = databaseMetrics;
+        this.hotKeys = hotKeys;
+        this.gets = meterCache.timer("orderprocessing.cache.get",
+                "Cache read latency", true, "cache", "result");
+        this.loads = meterCache.timer("orderprocessing.cache.load",
+                "Latency of the loader run on a cache miss", true, "cache");
+        this.puts = meterCache.counter("orderprocessing.cache.puts",
+                "Cache writes", "cache");
+        this.evictions = meterCache.counter("orderprocessing.cache.evictions",
+                "Cache evictions and clears", "cache");
+    }
+
+    public Cache instrument(Cache cache) {
+        String name = cache.getName();
+        return new InstrumentedCache(cache, databaseMetrics, hotKeys,
+                gets.get(name, "hit"), gets.get(name, "miss"), loads.get(name),
+                puts.get(name), evictions.get(name));
+    }
+}
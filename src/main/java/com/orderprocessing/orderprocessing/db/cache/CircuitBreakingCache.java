@@ -0,0 +1,247 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Database Optimisation Enhancement: Circuit-Breaking Redis Cache
+ *
+ * Sits directly on the Redis cache so that every Redis round trip passes through the shared
+ * {@link RedisCircuitBreaker}. While the breaker is open, or when a call fails:
+ *
+ *  - reads are misses (or come from the local fallback, when configured), so the caller
+ *    goes straight to its loader instead of waiting for the Redis timeout;
+ *  - writes go to the local fallback only, and their keys are remembered like evictions —
+ *    Redis still holds the value from before the write;
+ *  - evictions are applied to the fallback and remembered, then replayed against Redis on
+ *    the first successful call after recovery — an entry written or evicted during the outage
+ *    is not served stale from Redis afterwards. Past MAX_PENDING_EVICTIONS the whole cache is
+ *    cleared instead.
+ *
+ * Serialization errors are not Redis failures: they do not count against the breaker and
+ * are rethrown to the CacheErrorHandler.
+ */
+@Slf4j
+public class CircuitBreakingCache implements Cache {
+
+    static final int MAX_PENDING_EVICTIONS = 10_000;
+
+    private final Cache delegate;
+    private final RedisCircuitBreaker breaker;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> fallback;
+    private final Counter shortCircuited;
+
+    private final Set<Object> pendingEvictions = ConcurrentHashMap.newKeySet();
+    private volatile boolean pendingClear;
+
+    public CircuitBreakingCache(Cache delegate, RedisCircuitBreaker breaker,
+                                com.github.benmanes.caffeine.cache.Cache<Object, Object> fallback,
+                                Counter shortCircuited) {
+        this.delegate = delegate;
+        this.breaker = breaker;
+        this.fallback = fallback;
+        this.shortCircuited = shortCircuited;
+        if (fallback != null) {
+            breaker.onClose(fallback::invalidateAll);
+        }
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        if (allow()) {
+            try {
+                ValueWrapper hit = delegate.get(key);
+                breaker.onSuccess();
+                return hit;
+            } catch (SerializationException e) {
+                breaker.onSuccess();
+                throw e;
+            } catch (RuntimeException e) {
+                failed("get", e);
+            }
+        }
+        Object local = fallback != null ? fallback.getIfPresent(key) : null;
+        return local != null ? new SimpleValueWrapper(local) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper hit = get(key);
+        Object value = hit != null ? hit.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /** Read-through without RedisCache's cache-wide lock; single flight is StampedeProtectedCache's job */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper hit = get(key);
+        if (hit != null) {
+            return (T) hit.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        if (value != null) {
+            put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (allow()) {
+            try {
+                delegate.put(key, value);
+                breaker.onSuccess();
+                return;
+            } catch (SerializationException e) {
+                breaker.onSuccess();
+                throw e;
+            } catch (RuntimeException e) {
+                failed("put", e);
+            }
+        }
+        remember(key);
+        if (fallback != null && value != null) {
+            fallback.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (allow()) {
+            try {
+                ValueWrapper existing = delegate.putIfAbsent(key, value);
+                breaker.onSuccess();
+                return existing;
+            } catch (SerializationException e) {
+                breaker.onSuccess();
+                throw e;
+            } catch (RuntimeException e) {
+                failed("putIfAbsent", e);
+            }
+        }
+        remember(key);
+        if (fallback == null || value == null) {
+            return null;
+        }
+        Object existing = fallback.asMap().putIfAbsent(key, value);
+        return existing != null ? new SimpleValueWrapper(existing) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        if (fallback != null) {
+            fallback.invalidate(key);
+        }
+        if (allow()) {
+            try {
+                boolean evicted = delegate.evictIfPresent(key);
+                breaker.onSuccess();
+                return evicted;
+            } catch (RuntimeException e) {
+                failed("evict", e);
+            }
+        }
+        remember(key);
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        if (fallback != null) {
+            fallback.invalidateAll();
+        }
+        if (allow()) {
+            try {
+                boolean invalidated = delegate.invalidate();
+                breaker.onSuccess();
+                pendingEvictions.clear();
+                return invalidated;
+            } catch (RuntimeException e) {
+                failed("clear", e);
+            }
+        }
+        pendingClear = true;
+        return false;
+    }
+
+    /** Evicts {@code key} from Redis once it is reachable again */
+    private void remember(Object key) {
+        if (pendingEvictions.size() < MAX_PENDING_EVICTIONS) {
+            pendingEvictions.add(key);
+        } else {
+            pendingClear = true;
+        }
+    }
+
+    /** Breaker permission, replaying evictions missed during an outage once Redis is back */
+    private boolean allow() {
+        if (!breaker.allowRequest()) {
+            shortCircuited.increment();
+            return false;
+        }
+        if (pendingClear || !pendingEvictions.isEmpty()) {
+            try {
+                replayPending();
+            } catch (RuntimeException e) {
+                failed("replay", e);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void replayPending() {
+        if (pendingClear) {
+            delegate.invalidate();
+            pendingClear = false;
+            pendingEvictions.clear();
+            return;
+        }
+        for (Object key : pendingEvictions) {
+            delegate.evict(key);
+            pendingEvictions.remove(key);
+        }
+    }
+
+    private void failed(String op, RuntimeException e) {
+        breaker.onFailure();
+        log.debug("[CACHE BREAKER] {} on {} failed: {}", op, getName(), e.getMessage());
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+}
@@ -0,0 +1,242 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.jsontype.BasicPolymorphicTypeValidator;
+import com.fasterxml.jackson.databind.jsontype.PolymorphicTypeValidator;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.orderprocessing.orderprocessing.db.config.CacheSerializationProperties.Compression;
+import com.orderprocessing.orderprocessing.db.config.CacheSerializationProperties.Format;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Database Optimisation Enhancement: Compact Redis Cache Value Serializer
+ *
+ * Stored layout:
+ *
+ *   byte 0     MAGIC (0xC7)
+ *   byte 1     format << 4 | compression
+ *   [int]      uncompressed length — only when compressed
+ *   bytes      Smile (binary JSON) or JSON, optionally LZ4 / deflate compressed
+ *
+ * Values keep Jackson default typing like {@link GenericJackson2JsonRedisSerializer}, so any
+ * cached type round-trips, but Smile writes each distinct class name and property name once
+ * per value and back-references repeats — a list of hundreds of documents no longer carries
+ * hundreds of copies of its class and field names. Compression is applied only from
+ * {@code compressThreshold} bytes up, where it pays for its CPU.
+ *
+ * Values without the magic byte are entries written by the previous JSON serializer and are
+ * still read, so a deployment does not need to flush Redis.
+ *
+ * Metrics (tag cache=<name>):
+ *  - orderprocessing.cache.value.size  — bytes, tag stage=encoded|stored
+ *  - orderprocessing.cache.codec       — timer, tag op=serialize|deserialize
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC7;
+
+    private static final LZ4Factory LZ4 = LZ4Factory.fastestInstance();
+    private static final ObjectMapper SMILE = typed(SmileMapper.builder(SmileFactory.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build()).build());
+    private static final ObjectMapper JSON = typed(JsonMapper.builder().build());
+    private static final GenericJackson2JsonRedisSerializer LEGACY = new GenericJackson2JsonRedisSerializer();
+
+    private final Format format;
+    private final Compression compression;
+    private final int compressThreshold;
+    private final LZ4Compressor lz4Compressor = LZ4.fastCompressor();
+    private final LZ4FastDecompressor lz4Decompressor = LZ4.fastDecompressor();
+
+    private final DistributionSummary encodedSize;
+    private final DistributionSummary storedSize;
+    private final Timer serializeTime;
+    private final Timer deserializeTime;
+
+    public CompactRedisSerializer(String cacheName, Format format, Compression compression,
+                                  int compressThreshold, MeterRegistry meterRegistry) {
+        this.format = format;
+        this.compression = compression;
+        this.compressThreshold = compressThreshold;
+        this.encodedSize = size("encoded", cacheName, meterRegistry);
+        this.storedSize = size("stored", cacheName, meterRegistry);
+        this.serializeTime = time("serialize", cacheName, meterRegistry);
+        this.deserializeTime = time("deserialize", cacheName, meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        long start = System.nanoTime();
+        try {
+            byte[] encoded = mapper(format).writeValueAsBytes(value);
+            Compression applied = encoded.length >= compressThreshold ? compression : Compression.NONE;
+            byte[] stored = envelope(encoded, applied);
+            encodedSize.record(encoded.length);
+            storedSize.record(stored.length);
+            return stored;
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize cache value", e);
+        } finally {
+            serializeTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return LEGACY.deserialize(bytes);
+        }
+        long start = System.nanoTime();
+        try {
+            Format storedFormat = Format.values()[(bytes[1] >> 4) & 0x0F];
+            Compression storedCompression = Compression.values()[bytes[1] & 0x0F];
+            if (storedCompression == Compression.NONE) {
+                return mapper(storedFormat).readValue(bytes, 2, bytes.length - 2, Object.class);
+            }
+            return mapper(storedFormat).readValue(decompress(bytes, storedCompression), Object.class);
+        } catch (IOException | DataFormatException | RuntimeException e) {
+            throw new SerializationException("Could not deserialize cache value", e);
+        } finally {
+            deserializeTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private byte[] envelope(byte[] encoded, Compression applied) {
+        byte header = (byte) (format.ordinal() << 4 | applied.ordinal());
+        if (applied == Compression.NONE) {
+            byte[] out = new byte[encoded.length + 2];
+            out[0] = MAGIC;
+            out[1] = header;
+            System.arraycopy(encoded, 0, out, 2, encoded.length);
+            return out;
+        }
+        byte[] compressed = applied == Compression.LZ4 ? lz4(encoded) : deflate(encoded);
+        byte[] out = new byte[compressed.length + 6];
+        out[0] = MAGIC;
+        out[1] = header;
+        writeInt(out, 2, encoded.length);
+        System.arraycopy(compressed, 0, out, 6, compressed.length);
+        return out;
+    }
+
+    private byte[] decompress(byte[] bytes, Compression storedCompression) throws DataFormatException {
+        int length = readInt(bytes, 2);
+        if (storedCompression == Compression.LZ4) {
+            byte[] out = new byte[length];
+            lz4Decompressor.decompress(bytes, 6, out, 0, length);
+            return out;
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 6, bytes.length - 6);
+            byte[] out = new byte[length];
+            int n = 0;
+            while (n < length && !inflater.finished()) {
+                int read = inflater.inflate(out, n, length - n);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Truncated deflate cache value");
+                }
+                n += read;
+            }
+            return out;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private byte[] lz4(byte[] encoded) {
+        byte[] out = new byte[lz4Compressor.maxCompressedLength(encoded.length)];
+        int n = lz4Compressor.compress(encoded, 0, encoded.length, out, 0, out.length);
+        return Arrays.copyOf(out, n);
+    }
+
+    private static byte[] deflate(byte[] encoded) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(encoded);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, encoded.length / 2));
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buf, 0, deflater.deflate(buf));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static ObjectMapper mapper(Format format) {
+        return format == Format.SMILE ? SMILE : JSON;
+    }
+
+    /** Default typing restricted to this service's and JDK value types */
+    private static ObjectMapper typed(ObjectMapper mapper) {
+        PolymorphicTypeValidator types = BasicPolymorphicTypeValidator.builder()
+                .allowIfSubType("com.orderprocessing.")
+                .allowIfSubType("com.order.")
+                .allowIfSubType("java.util.")
+                .allowIfSubType("java.time.")
+                .allowIfSubType("java.lang.")
+                .allowIfSubType("java.math.")
+                .build();
+        mapper.findAndRegisterModules();
+        mapper.activateDefaultTyping(types, ObjectMapper.DefaultTyping.EVERYTHING, JsonTypeInfo.As.PROPERTY);
+        return mapper;
+    }
+
+    private static void writeInt(byte[] b, int off, int v) {
+        b[off] = (byte) (v >>> 24);
+        b[off + 1] = (byte) (v >>> 16);
+        b[off + 2] = (byte) (v >>> 8);
+        b[off + 3] = (byte) v;
+    }
+
+    private static int readInt(byte[] b, int off) {
+        return (b[off] & 0xFF) << 24 | (b[off + 1] & 0xFF) << 16 | (b[off + 2] & 0xFF) << 8 | (b[off + 3] & 0xFF);
+    }
+
+    private static DistributionSummary size(String stage, String cacheName, MeterRegistry registry) {
+        return DistributionSummary.builder("orderprocessing.cache.value.size")
+                .description("Serialized cache value size")
+                .baseUnit("bytes")
+                .tag("service", "orderprocessing")
+                .tag("cache", cacheName)
+                .tag("stage", stage)
+                .register(registry);
+    }
+
+    private static Timer time(String op, String cacheName, MeterRegistry registry) {
+        return Timer.builder("orderprocessing.cache.codec")
+                .description("Cache value (de)serialization time")
+                .tag("service", "orderprocessing")
+                .tag("cache", cacheName)
+                .tag("op", op)
+                .register(registry);
+    }
+}
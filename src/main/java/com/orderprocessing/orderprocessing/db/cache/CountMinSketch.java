@@ -0,0 +1,66 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Database Optimisation Enhancement: Count-Min Sketch
+ *
+ * Fixed-memory frequency estimates: {@code depth} rows of {@code width} counters, each key
+ * incrementing one counter per row. The estimate — the smallest of its counters — never
+ * undercounts and overcounts by at most ~e·N/width with probability 1 - e^-depth.
+ *
+ * Lock-free increments; {@link #halve()} ages all counters so old traffic fades out.
+ */
+public class CountMinSketch {
+
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L};
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        this.depth = Math.max(1, Math.min(depth, SEEDS.length));
+        int w = Integer.highestOneBit(Math.max(16, width - 1)) << 1;
+        this.mask = w - 1;
+        this.counters = new AtomicLongArray(this.depth * w);
+    }
+
+    /** Adds one occurrence and returns the key's new estimate */
+    public long increment(Object key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.incrementAndGet(index(row, hash)));
+        }
+        return min;
+    }
+
+    public long estimate(Object key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(index(row, hash)));
+        }
+        return min;
+    }
+
+    /** Halves every counter; concurrent increments during the pass may be partly lost */
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, counters.get(i) >>> 1);
+        }
+    }
+
+    public int width() {
+        return mask + 1;
+    }
+
+    private int index(int row, int hash) {
+        long h = (hash + SEEDS[row]) * SEEDS[(row + 1) % SEEDS.length];
+        h ^= h >>> 32;
+        return row * (mask + 1) + (int) (h & mask);
+    }
+}
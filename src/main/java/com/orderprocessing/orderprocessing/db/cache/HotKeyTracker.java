@@ -0,0 +1,93 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import com.orderprocessing.orderprocessing.db.config.CacheMetricsProperties;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Database Optimisation Enhancement: Sampled Hot-Key Tracker
+ *
+ * A sample of cache reads ({@code sample-rate}) is counted in a {@link CountMinSketch} keyed by
+ * cache and key. Keys whose estimate beats the weakest current candidate enter a candidate set
+ * of at most 2 × top-k, pruned back to top-k when full — memory stays fixed however many
+ * distinct keys are read.
+ *
+ * Every 10 × sketch-width samples the sketch and candidates are halved, so the ranking follows
+ * recent traffic rather than all-time totals. Reported counts are scaled back up by the
+ * sample rate and are estimates.
+ */
+public class HotKeyTracker {
+
+    static final int MAX_KEY_LENGTH = 200;
+
+    public record HotKey(String cache, String key, long estimatedReads) { }
+
+    private record CacheKey(String cache, String key) { }
+
+    private final double sampleRate;
+    private final int topK;
+    private final CountMinSketch sketch;
+    private final long agingPeriod;
+    private final AtomicLong samples = new AtomicLong();
+    private final Map<CacheKey, Long> candidates = new ConcurrentHashMap<>();
+    private volatile long admissionFloor;
+
+    public HotKeyTracker(CacheMetricsProperties.HotKeys properties) {
+        this.sampleRate = Math.min(1.0, Math.max(0.0, properties.getSampleRate()));
+        this.topK = Math.max(1, properties.getTopK());
+        this.sketch = new CountMinSketch(properties.getSketchWidth(), properties.getSketchDepth());
+        this.agingPeriod = 10L * sketch.width();
+    }
+
+    public void record(String cache, Object key) {
+        if (sampleRate <= 0 || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        String text = String.valueOf(key);
+        CacheKey cacheKey = new CacheKey(cache,
+                text.length() > MAX_KEY_LENGTH ? text.substring(0, MAX_KEY_LENGTH) : text);
+        long estimate = sketch.increment(cacheKey);
+        if (estimate > admissionFloor || candidates.size() < topK) {
+            candidates.put(cacheKey, estimate);
+            if (candidates.size() > 2 * topK) {
+                prune();
+            }
+        }
+        if (samples.incrementAndGet() % agingPeriod == 0) {
+            age();
+        }
+    }
+
+    public List<HotKey> top(int limit, String cache) {
+        return candidates.keySet().stream()
+                .filter(k -> cache == null || cache.equals(k.cache()))
+                .map(k -> new HotKey(k.cache(), k.key(), Math.round(sketch.estimate(k) / sampleRate)))
+                .sorted(Comparator.comparingLong(HotKey::estimatedReads).reversed())
+                .limit(Math.min(limit, topK))
+                .toList();
+    }
+
+    private synchronized void prune() {
+        if (candidates.size() <= 2 * topK) {
+            return;
+        }
+        List<Map.Entry<CacheKey, Long>> ranked = candidates.entrySet().stream()
+                .sorted(Map.Entry.<CacheKey, Long>comparingByValue().reversed())
+                .toList();
+        for (int i = topK; i < ranked.size(); i++) {
+            candidates.remove(ranked.get(i).getKey());
+        }
+        admissionFloor = ranked.get(topK - 1).getValue();
+    }
+
+    private synchronized void age() {
+        sketch.halve();
+        candidates.replaceAll((k, v) -> v >>> 1);
+        admissionFloor >>>= 1;
+    }
+}
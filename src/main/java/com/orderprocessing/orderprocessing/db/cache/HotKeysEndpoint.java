@@ -0,0 +1,34 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Database Optimisation Enhancement: Hot Cache Keys Endpoint
+ *
+ *   GET /actuator/hotkeys?limit=20&cache=orderprocessingCache
+ *
+ * The most read cache keys by recent sampled traffic — candidates for longer TTLs, pinning
+ * or a local near-cache.
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final HotKeyTracker hotKeyTracker;
+
+    public HotKeysEndpoint(HotKeyTracker hotKeyTracker) {
+        this.hotKeyTracker = hotKeyTracker;
+    }
+
+    @ReadOperation
+    public List<HotKeyTracker.HotKey> top(@Nullable Integer limit, @Nullable String cache) {
+        return hotKeyTracker.top(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit, cache);
+    }
+}
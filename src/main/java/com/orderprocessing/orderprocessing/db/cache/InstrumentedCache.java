@@ -0,0 +1,151 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import com.orderprocessing.orderprocessing.db.service.DatabaseMetricsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Database Optimisation Enhancement: Instrumented Cache
+ *
+ * Records, per cache:
+ *  - orderprocessing.cache.hits.total / misses.total  — via DatabaseMetricsService
+ *  - orderprocessing.cache.get      — read latency, tag result=hit|miss (for a read-through
+ *                                     get this includes the loader)
+ *  - orderprocessing.cache.load     — loader latency on a miss, background refreshes included
+ *  - orderprocessing.cache.puts / orderprocessing.cache.evictions
+ *  - hot keys, sampled into {@link HotKeyTracker} (/actuator/hotkeys)
+ *
+ * Value sizes are recorded where the bytes exist, by CompactRedisSerializer
+ * (orderprocessing.cache.value.size). A read-through caller that joined another caller's load
+ * counts as a hit here; StampedeProtectedCache reports it as outcome=collapsed.
+ */
+public class InstrumentedCache implements Cache {
+
+    private final Cache delegate;
+    private final DatabaseMetricsService databaseMetrics;
+    private final HotKeyTracker hotKeys;
+    private final Timer getHit;
+    private final Timer getMiss;
+    private final Timer load;
+    private final Counter puts;
+    private final Counter evictions;
+
+    public InstrumentedCache(Cache delegate, DatabaseMetricsService databaseMetrics, HotKeyTracker hotKeys,
+                             Timer getHit, Timer getMiss, Timer load, Counter puts, Counter evictions) {
+        this.delegate = delegate;
+        this.databaseMetrics = databaseMetrics;
+        this.hotKeys = hotKeys;
+        this.getHit = getHit;
+        this.getMiss = getMiss;
+        this.load = load;
+        this.puts = puts;
+        this.evictions = evictions;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        long start = System.nanoTime();
+        ValueWrapper hit = delegate.get(key);
+        read(key, hit != null, start);
+        return hit;
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        long start = System.nanoTime();
+        T value = delegate.get(key, type);
+        read(key, value != null, start);
+        return value;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Thread caller = Thread.currentThread();
+        boolean[] loadedByCaller = new boolean[1];
+        Callable<T> timedLoader = () -> {
+            if (Thread.currentThread() == caller) {
+                loadedByCaller[0] = true;
+            }
+            long start = System.nanoTime();
+            try {
+                return valueLoader.call();
+            } finally {
+                load.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        };
+        long start = System.nanoTime();
+        T value = delegate.get(key, timedLoader);
+        read(key, !loadedByCaller[0], start);
+        return value;
+    }
+
+    private void read(Object key, boolean hit, long start) {
+        long nanos = System.nanoTime() - start;
+        if (hit) {
+            getHit.record(nanos, TimeUnit.NANOSECONDS);
+            databaseMetrics.recordCacheHit(getName());
+        } else {
+            getMiss.record(nanos, TimeUnit.NANOSECONDS);
+            databaseMetrics.recordCacheMiss(getName());
+        }
+        if (hotKeys != null) {
+            hotKeys.record(getName(), key);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        puts.increment();
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            puts.increment();
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictions.increment();
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = delegate.evictIfPresent(key);
+        if (evicted) {
+            evictions.increment();
+        }
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        evictions.increment();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.increment();
+        return delegate.invalidate();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+}
@@ -0,0 +1,116 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import com.orderprocessing.orderprocessing.db.config.CacheCircuitBreakerProperties;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterCache;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterFamily;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Database Optimisation Enhancement: Redis Circuit Breaker
+ *
+ * One breaker for all Redis-backed caches — they share one Redis.
+ *
+ *   CLOSED     calls go to Redis; failure-threshold consecutive failures → OPEN
+ *   OPEN       calls bypass Redis immediately; after open-duration the next call → HALF_OPEN
+ *   HALF_OPEN  that single probe call goes to Redis: success → CLOSED, failure → OPEN
+ *
+ * Without it every cache call during a Redis incident waits out spring.data.redis.timeout
+ * before falling back to the loader.
+ *
+ * Metrics:
+ *  - orderprocessing.cache.breaker.state        — gauge, 0=closed 1=open 2=half-open
+ *  - orderprocessing.cache.breaker.transitions  — counter, tags from, to
+ */
+@Slf4j
+public class RedisCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final CacheCircuitBreakerProperties properties;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+    private final MeterFamily<Counter> transitions;
+    private volatile long openedAtNanos;
+
+    public RedisCircuitBreaker(CacheCircuitBreakerProperties properties, MeterCache meterCache,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.transitions = meterCache.counter("orderprocessing.cache.breaker.transitions",
+                "Redis cache circuit breaker state transitions", "from", "to");
+        Gauge.builder("orderprocessing.cache.breaker.state", state, s -> s.get().ordinal())
+                .description("Redis cache circuit breaker state (0=closed, 1=open, 2=half-open)")
+                .tag("service", "orderprocessing")
+                .register(meterRegistry);
+    }
+
+    /** @return true if the caller may use Redis; it must then report onSuccess or onFailure */
+    public boolean allowRequest() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN
+                && System.nanoTime() - openedAtNanos >= properties.getOpenDuration().toNanos()) {
+            return transition(State.OPEN, State.HALF_OPEN);
+        }
+        return false;
+    }
+
+    public void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.get() == State.HALF_OPEN && transition(State.HALF_OPEN, State.CLOSED)) {
+            closeListeners.forEach(Runnable::run);
+        }
+    }
+
+    public void onFailure() {
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            open(State.HALF_OPEN);
+        } else if (current == State.CLOSED
+                && consecutiveFailures.incrementAndGet() >= properties.getFailureThreshold()) {
+            open(State.CLOSED);
+        }
+    }
+
+    public boolean isClosed() {
+        return state.get() == State.CLOSED;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    /** Runs after the breaker closes again — fallback caches drop what they held during the outage */
+    public void onClose(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    private void open(State from) {
+        openedAtNanos = System.nanoTime();
+        if (transition(from, State.OPEN)) {
+            consecutiveFailures.set(0);
+            log.warn("[CACHE BREAKER] Redis failing — bypassing cache for {}", properties.getOpenDuration());
+        }
+    }
+
+    private boolean transition(State from, State to) {
+        if (!state.compareAndSet(from, to)) {
+            return false;
+        }
+        transitions.get(from.name().toLowerCase(), to.name().toLowerCase()).increment();
+        if (to == State.CLOSED) {
+            log.info("[CACHE BREAKER] Redis recovered — cache re-enabled");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,66 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Database Optimisation Enhancement: Cross-Node Cache Load Lock
+ *
+ * {@code SET <cache>::<key>::loading <token> NX PX <ttl>} — one node loads a missing key while
+ * the others wait for its value. Release deletes the key only if it still holds our token, so
+ * a loader that outlived its TTL cannot release a lock another node has since taken.
+ *
+ * A Redis error counts as "lock acquired": the caller loads locally, as it would without the lock.
+ * While the cache circuit breaker is not closed the lock is skipped entirely.
+ */
+@Slf4j
+public class RedisLoadLock {
+
+    private static final RedisScript<Long> RELEASE = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final Duration ttl;
+    private final RedisCircuitBreaker breaker;
+
+    public RedisLoadLock(StringRedisTemplate redis, Duration ttl, RedisCircuitBreaker breaker) {
+        this.redis = redis;
+        this.ttl = ttl;
+        this.breaker = breaker;
+    }
+
+    /** @return the token to release with, or null if another node holds the lock */
+    public String tryLock(String lockKey) {
+        String token = UUID.randomUUID().toString();
+        if (breaker != null && !breaker.isClosed()) {
+            return token;
+        }
+        try {
+            return Boolean.FALSE.equals(redis.opsForValue().setIfAbsent(lockKey, token, ttl)) ? null : token;
+        } catch (RuntimeException e) {
+            if (breaker != null) {
+                breaker.onFailure();
+            }
+            log.debug("[CACHE LOCK] Could not take {}: {}", lockKey, e.getMessage());
+            return token;
+        }
+    }
+
+    public void unlock(String lockKey, String token) {
+        if (breaker != null && !breaker.isClosed()) {
+            return;   // expires by its TTL
+        }
+        try {
+            redis.execute(RELEASE, List.of(lockKey), token);
+        } catch (RuntimeException e) {
+            log.debug("[CACHE LOCK] Could not release {}: {}", lockKey, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterCache;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterFamily;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.interceptor.CacheErrorHandler;
+
+/**
+ * Database Optimisation Enhancement: Cache Error Handler
+ *
+ * Spring's default handler rethrows, so a cache failure fails the request even though the
+ * data could be loaded. This one logs and swallows every cache error: a failed get is a
+ * miss (the annotated method runs), a failed put/evict/clear is skipped.
+ *
+ * Metrics:
+ *  - orderprocessing.cache.errors  — counter, tags cache, op=get|put|evict|clear
+ */
+@Slf4j
+public class ResilientCacheErrorHandler implements CacheErrorHandler {
+
+    private final MeterFamily<Counter> errors;
+
+    public ResilientCacheErrorHandler(MeterCache meterCache) {
+        this.errors = meterCache.counter("orderprocessing.cache.errors",
+                "Cache errors swallowed by the cache error handler", "cache", "op");
+    }
+
+    @Override
+    public void handleCacheGetError(RuntimeException exception, Cache cache, Object key) {
+        handle("get", exception, cache, key);
+    }
+
+    @Override
+    public void handleCachePutError(RuntimeException exception, Cache cache, Object key, Object value) {
+        handle("put", exception, cache, key);
+    }
+
+    @Override
+    public void handleCacheEvictError(RuntimeException exception, Cache cache, Object key) {
+        handle("evict", exception, cache, key);
+    }
+
+    @Override
+    public void handleCacheClearError(RuntimeException exception, Cache cache) {
+        handle("clear", exception, cache, null);
+    }
+
+    private void handle(String op, RuntimeException exception, Cache cache, Object key) {
+        errors.get(cache.getName(), op).increment();
+        log.warn("[CACHE] {} failed on {} key={}: {}", op, cache.getName(), key, exception.getMessage());
+    }
+}
@@ -0,0 +1,106 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.orderprocessing.orderprocessing.db.config.CacheCircuitBreakerProperties;
+import com.orderprocessing.orderprocessing.db.config.CacheStampedeProperties;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterCache;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterFamily;
+import io.micrometer.core.instrument.Counter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Database Optimisation Enhancement: Resilient Redis Cache Manager
+ *
+ * Decorates every Redis cache it creates, innermost first:
+ *
+ *   RedisCache
+ *     → {@link CircuitBreakingCache}        (cache.breaker.*)   Redis failures bypass the cache
+ *     → {@link StampedeProtectedCache}      (cache.stampede.*)  single-flight + early refresh
+ *     → TransactionAwareCacheDecorator      (setTransactionAware)
+ *     → {@link InstrumentedCache}           (cache.metrics.*)   hit/miss, latency, hot keys
+ *
+ * and owns the bounded pool that runs early refreshes. With all features disabled it
+ * behaves exactly like {@link RedisCacheManager}.
+ */
+public class ResilientRedisCacheManager extends RedisCacheManager implements DisposableBean {
+
+    private final CacheStampedeProperties stampede;
+    private final CacheCircuitBreakerProperties breakerProperties;
+    private final RedisCircuitBreaker breaker;
+    private final RedisLoadLock lock;
+    private final CacheInstrumentation instrumentation;
+    private final ThreadPoolExecutor refresher;
+    private final MeterFamily<Counter> loads;
+    private final MeterFamily<Counter> refreshes;
+    private final MeterFamily<Counter> shortCircuited;
+
+    public ResilientRedisCacheManager(RedisCacheWriter cacheWriter, RedisCacheConfiguration defaults,
+                                      Map<String, RedisCacheConfiguration> caches,
+                                      CacheStampedeProperties stampede,
+                                      CacheCircuitBreakerProperties breakerProperties,
+                                      RedisCircuitBreaker breaker, RedisLoadLock lock,
+                                      CacheInstrumentation instrumentation, MeterCache meterCache) {
+        super(cacheWriter, defaults, caches);
+        this.stampede = stampede;
+        this.breakerProperties = breakerProperties;
+        this.breaker = breaker;
+        this.lock = lock;
+        this.instrumentation = instrumentation;
+        AtomicInteger threads = new AtomicInteger();
+        this.refresher = new ThreadPoolExecutor(stampede.getRefreshThreads(), stampede.getRefreshThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(stampede.getRefreshQueue()), r -> {
+                    Thread t = new Thread(r, "cache-refresh-" + threads.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.refresher.allowCoreThreadTimeOut(true);
+        this.loads = meterCache.counter("orderprocessing.cache.loads",
+                "Cache loads for sync @Cacheable misses, by outcome", "cache", "outcome");
+        this.refreshes = meterCache.counter("orderprocessing.cache.early_refresh",
+                "Background early refreshes of cache entries, by outcome", "cache", "outcome");
+        this.shortCircuited = meterCache.counter("orderprocessing.cache.breaker.short_circuited",
+                "Cache calls that bypassed Redis because the breaker was open", "cache");
+    }
+
+    @Override
+    protected Cache decorateCache(Cache cache) {
+        if (cache instanceof RedisCache redisCache) {
+            if (breakerProperties.isEnabled()) {
+                cache = new CircuitBreakingCache(cache, breaker, fallback(), shortCircuited.get(cache.getName()));
+            }
+            if (stampede.isEnabled()) {
+                cache = new StampedeProtectedCache(cache, redisCache.getCacheConfiguration(), stampede, lock,
+                        refresher, loads, refreshes);
+            }
+        }
+        cache = super.decorateCache(cache);
+        return instrumentation != null ? instrumentation.instrument(cache) : cache;
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> fallback() {
+        CacheCircuitBreakerProperties.Fallback fallback = breakerProperties.getFallback();
+        if (!fallback.isEnabled()) {
+            return null;
+        }
+        return Caffeine.newBuilder()
+                .maximumSize(fallback.getMaxEntries())
+                .expireAfterWrite(fallback.getTtl())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+}
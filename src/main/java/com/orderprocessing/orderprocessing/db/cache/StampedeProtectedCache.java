@@ -0,0 +1,273 @@
+package com.orderprocessing.orderprocessing.db.cache;
+
+import com.orderprocessing.orderprocessing.db.config.CacheStampedeProperties;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterFamily;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Database Optimisation Enhancement: Stampede-Protected Redis Cache
+ *
+ * Wraps a Redis-backed cache for {@code @Cacheable(sync = true)} methods, which Spring routes
+ * through {@link #get(Object, Callable)}:
+ *
+ *  - Single flight: concurrent misses for one key in this JVM share one load; the others wait
+ *    for its result. (RedisCache itself serialises every sync load of the whole cache.)
+ *  - Cross-node lock (cache.stampede.distributed-lock): the loader first takes a short Redis
+ *    lock; a node that loses waits up to lock-wait for the winner's value before loading itself.
+ *  - Early refresh (XFetch): a value loaded here is stored with how long it took to compute
+ *    (delta) and when it expires. A hit triggers a background reload with probability rising
+ *    towards expiry — {@code now + delta * beta * -ln(rand) >= expiry} — so a hot key is
+ *    replaced before it expires instead of every reader missing at once.
+ *
+ * Plain get/put (non-sync {@code @Cacheable}, {@code @CachePut}) pass straight through; reads
+ * unwrap values stored by a sync load, so both kinds of annotation can share a cache.
+ *
+ * Metrics (tag cache=<name>):
+ *  - orderprocessing.cache.loads          — tag outcome=loaded|collapsed|remote|failed
+ *  - orderprocessing.cache.early_refresh  — tag outcome=started|skipped|failed
+ */
+@Slf4j
+public class StampedeProtectedCache implements Cache {
+
+    /** Value stored by a sync load: the cached value, its compute time and absolute expiry */
+    public record Entry(Object value, long deltaMs, long expiresAtMs) { }
+
+    private final Cache delegate;
+    private final RedisCacheConfiguration configuration;
+    private final CacheStampedeProperties properties;
+    private final RedisLoadLock lock;
+    private final Executor refresher;
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter loaded;
+    private final Counter collapsed;
+    private final Counter remote;
+    private final Counter failed;
+    private final Counter refreshStarted;
+    private final Counter refreshSkipped;
+    private final Counter refreshFailed;
+
+    public StampedeProtectedCache(Cache delegate, RedisCacheConfiguration configuration,
+                                  CacheStampedeProperties properties, RedisLoadLock lock, Executor refresher,
+                                  MeterFamily<Counter> loads, MeterFamily<Counter> refreshes) {
+        this.delegate = delegate;
+        this.configuration = configuration;
+        this.properties = properties;
+        this.lock = lock;
+        this.refresher = refresher;
+        String name = delegate.getName();
+        this.loaded = loads.get(name, "loaded");
+        this.collapsed = loads.get(name, "collapsed");
+        this.remote = loads.get(name, "remote");
+        this.failed = loads.get(name, "failed");
+        this.refreshStarted = refreshes.get(name, "started");
+        this.refreshSkipped = refreshes.get(name, "skipped");
+        this.refreshFailed = refreshes.get(name, "failed");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper hit = delegate.get(key);
+        if (hit != null) {
+            if (hit.get() instanceof Entry entry && refreshDue(entry)) {
+                refreshAsync(key, valueLoader);
+            }
+            return (T) unwrap(hit.get());
+        }
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            collapsed.increment();
+            try {
+                Object shared = running.join();
+                if (shared != null) {
+                    return (T) shared;
+                }
+                return (T) loadWithLock(key, valueLoader, false);   // a refresh that produced nothing
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            } catch (Exception e) {
+                failed.increment();
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }
+        try {
+            Object value = loadWithLock(key, valueLoader, false);
+            mine.complete(value);
+            return (T) value;
+        } catch (Throwable t) {
+            failed.increment();
+            mine.completeExceptionally(t);
+            throw t instanceof ValueRetrievalException vre ? vre : new ValueRetrievalException(key, valueLoader, t);
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private boolean refreshDue(Entry entry) {
+        if (properties.getBeta() <= 0 || entry.expiresAtMs() == Long.MAX_VALUE) {
+            return false;
+        }
+        double gap = -Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+        return System.currentTimeMillis() + entry.deltaMs() * properties.getBeta() * gap >= entry.expiresAtMs();
+    }
+
+    private void refreshAsync(Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(key, mine) != null) {
+            return;   // already loading — in this JVM the refresh would be a duplicate
+        }
+        try {
+            refresher.execute(() -> {
+                try {
+                    mine.complete(loadWithLock(key, valueLoader, true));
+                } catch (Throwable t) {
+                    refreshFailed.increment();
+                    mine.completeExceptionally(t);
+                    log.warn("[CACHE] Early refresh of {}::{} failed: {}", getName(), key, t.getMessage());
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            });
+            refreshStarted.increment();
+        } catch (RejectedExecutionException e) {
+            refreshSkipped.increment();
+            inFlight.remove(key, mine);
+            mine.complete(null);
+        }
+    }
+
+    /**
+     * Loads and stores the value, under the cross-node lock when enabled. A refresh that loses
+     * the lock returns the current value without loading; a miss waits for the
+     * winner's value and loads itself only if none arrives within lock-wait.
+     */
+    private Object loadWithLock(Object key, Callable<?> valueLoader, boolean refresh) throws Exception {
+        if (lock == null) {
+            return load(key, valueLoader);
+        }
+        String lockKey = getName() + "::" + key + "::loading";
+        String token = lock.tryLock(lockKey);
+        if (token != null) {
+            try {
+                return load(key, valueLoader);
+            } finally {
+                lock.unlock(lockKey, token);
+            }
+        }
+        if (refresh) {
+            ValueWrapper current = delegate.get(key);
+            return current != null ? unwrap(current.get()) : null;
+        }
+        ValueWrapper arrived = awaitRemote(key);
+        if (arrived != null) {
+            remote.increment();
+            return unwrap(arrived.get());
+        }
+        return load(key, valueLoader);
+    }
+
+    private ValueWrapper awaitRemote(Object key) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getLockWait().toNanos();
+        long pollMs = Math.max(1, properties.getLockPoll().toMillis());
+        while (System.nanoTime() < deadline) {
+            Thread.sleep(pollMs);
+            ValueWrapper hit = delegate.get(key);
+            if (hit != null) {
+                return hit;
+            }
+        }
+        return null;
+    }
+
+    private Object load(Object key, Callable<?> valueLoader) throws Exception {
+        long start = System.currentTimeMillis();
+        Object value = valueLoader.call();
+        long now = System.currentTimeMillis();
+        loaded.increment();
+        if (value != null) {
+            Duration ttl = configuration.getTtlFunction().getTimeToLive(key, value);
+            long expiresAt = ttl == null || ttl.isZero() || ttl.isNegative() ? Long.MAX_VALUE : now + ttl.toMillis();
+            delegate.put(key, new Entry(value, now - start, expiresAt));
+        }
+        return value;
+    }
+
+    private static Object unwrap(Object stored) {
+        return stored instanceof Entry entry ? entry.value() : stored;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper hit = delegate.get(key);
+        return hit != null && hit.get() instanceof Entry entry ? new SimpleValueWrapper(entry.value()) : hit;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper hit = get(key);
+        Object value = hit != null ? hit.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        return existing != null && existing.get() instanceof Entry entry ? new SimpleValueWrapper(entry.value()) : existing;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+}
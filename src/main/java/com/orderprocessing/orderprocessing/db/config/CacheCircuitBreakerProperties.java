@@ -0,0 +1,41 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Database Optimisation Enhancement: Redis Cache Circuit Breaker
+ *
+ *   cache.breaker.enabled=true
+ *   cache.breaker.failure-threshold=5
+ *   cache.breaker.open-duration=10s
+ *   cache.breaker.fallback.enabled=true
+ *   cache.breaker.fallback.max-entries=10000
+ *   cache.breaker.fallback.ttl=30s
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.breaker")
+public class CacheCircuitBreakerProperties {
+
+    private boolean enabled = true;
+
+    /** Consecutive Redis failures that open the breaker */
+    private int failureThreshold = 5;
+
+    /** How long cache calls bypass Redis before one probe call is let through */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    private Fallback fallback = new Fallback();
+
+    /** Bounded local cache used only while the breaker is not closed; cleared when it closes */
+    @Data
+    public static class Fallback {
+        private boolean enabled = true;
+        private long maxEntries = 10_000;
+        private Duration ttl = Duration.ofSeconds(30);
+    }
+}
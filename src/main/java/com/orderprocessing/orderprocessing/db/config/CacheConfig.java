@@ -1,16 +1,30 @@
 package com.orderprocessing.orderprocessing.db.config;
 
+import com.orderprocessing.orderprocessing.db.cache.CacheInstrumentation;
+import com.orderprocessing.orderprocessing.db.cache.CompactRedisSerializer;
+import com.orderprocessing.orderprocessing.db.cache.HotKeyTracker;
+import com.orderprocessing.orderprocessing.db.cache.RedisCircuitBreaker;
+import com.orderprocessing.orderprocessing.db.cache.RedisLoadLock;
+import com.orderprocessing.orderprocessing.db.cache.ResilientCacheErrorHandler;
+import com.orderprocessing.orderprocessing.db.cache.ResilientRedisCacheManager;
+import com.orderprocessing.orderprocessing.db.service.DatabaseMetricsService;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterCache;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.serializer.*;
 
 import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -26,44 +40,106 @@ import java.util.Map;
  *   @Cacheable(value = "orderprocessingCache", key = "#id")
  *   @CacheEvict(value = "orderprocessingCache", key = "#id")
  *   @CachePut(value  = "orderprocessingCache", key = "#result.id")
+ *
+ * Values are written by {@link CompactRedisSerializer} — Smile, LZ4 above a size threshold —
+ * configured per cache through {@link CacheSerializationProperties} (cache.serialization.*).
+ *
+ * Hot read paths use {@code @Cacheable(sync = true)}: misses are single-flight per key and
+ * entries are refreshed early in the background (cache.stampede.*, StampedeProtectedCache).
+ *
+ * Redis outages do not fail or slow requests: a circuit breaker bypasses Redis after repeated
+ * failures, optionally serving from a small local cache (cache.breaker.*), and any cache error
+ * that still escapes is logged and treated as a miss by {@link ResilientCacheErrorHandler}.
+ *
+ * Every cache is instrumented — hits/misses, get and load latency, puts, evictions and sampled
+ * hot keys (cache.metrics.*, /actuator/hotkeys); see {@link CacheInstrumentation}.
  */
 @Configuration
 @EnableCaching
-public class CacheConfig {
+public class CacheConfig implements CachingConfigurer {
+
+    private static final String DEFAULT_CACHE = "default";
 
     private static final Duration SHORT  = Duration.ofSeconds(60);
     private static final Duration MEDIUM = Duration.ofMinutes(5);
     private static final Duration LONG   = Duration.ofMinutes(30);
 
-    /** Default serializer: JSON value, String key */
-    private RedisCacheConfiguration defaultConfig() {
+    private final MeterCache meterCache;
+
+    public CacheConfig(MeterCache meterCache) {
+        this.meterCache = meterCache;
+    }
+
+    @Bean
+    public RedisCircuitBreaker redisCircuitBreaker(CacheCircuitBreakerProperties properties,
+                                                   MeterRegistry meterRegistry) {
+        return new RedisCircuitBreaker(properties, meterCache, meterRegistry);
+    }
+
+    @Bean
+    public HotKeyTracker hotKeyTracker(CacheMetricsProperties properties) {
+        return new HotKeyTracker(properties.getHotKeys());
+    }
+
+    @Override
+    public CacheErrorHandler errorHandler() {
+        return new ResilientCacheErrorHandler(meterCache);
+    }
+
+    /** String key; compact binary value, serializer configured for the named cache */
+    private RedisCacheConfiguration defaultConfig(String cacheName, CacheSerializationProperties serialization,
+                                                  MeterRegistry meterRegistry) {
         return RedisCacheConfiguration.defaultCacheConfig()
                 .serializeKeysWith(RedisSerializationContext.SerializationPair
                         .fromSerializer(new StringRedisSerializer()))
                 .serializeValuesWith(RedisSerializationContext.SerializationPair
-                        .fromSerializer(new GenericJackson2JsonRedisSerializer()))
+                        .fromSerializer(new CompactRedisSerializer(cacheName,
+                                serialization.formatFor(cacheName),
+                                serialization.compressionFor(cacheName),
+                                serialization.compressThresholdFor(cacheName),
+                                meterRegistry)))
                 .disableCachingNullValues();
     }
 
     @Bean
-    public CacheManager cacheManager(RedisConnectionFactory factory) {
-        Map<String, RedisCacheConfiguration> caches = new HashMap<>();
+    public CacheManager cacheManager(RedisConnectionFactory factory,
+                                     CacheSerializationProperties serialization,
+                                     CacheStampedeProperties stampede,
+                                     CacheCircuitBreakerProperties breakerProperties,
+                                     RedisCircuitBreaker breaker,
+                                     CacheMetricsProperties cacheMetrics,
+                                     HotKeyTracker hotKeyTracker,
+                                     DatabaseMetricsService databaseMetrics,
+                                     MeterRegistry meterRegistry) {
+        Map<String, Duration> ttls = new LinkedHashMap<>();
 
         // ── orderprocessing specific caches ─────────────────────────────────────
-        caches.put("orderprocessingCache",       defaultConfig().entryTtl(MEDIUM));
-        caches.put("orderprocessingListCache",   defaultConfig().entryTtl(SHORT));
-        caches.put("orderprocessingCountCache",  defaultConfig().entryTtl(SHORT));
-        caches.put("orderprocessingRefCache",    defaultConfig().entryTtl(LONG));
+        ttls.put("orderprocessingCache",       MEDIUM);
+        ttls.put("orderprocessingListCache",   SHORT);
+        ttls.put("orderprocessingCountCache",  SHORT);
+        ttls.put("orderprocessingRefCache",    LONG);
 
         // ── Shared reference caches ──────────────────────────────────────────
-        caches.put("productCache",        defaultConfig().entryTtl(MEDIUM));
-        caches.put("userCache",           defaultConfig().entryTtl(MEDIUM));
-        caches.put("configCache",         defaultConfig().entryTtl(LONG));
-
-        return RedisCacheManager.builder(factory)
-                .cacheDefaults(defaultConfig().entryTtl(MEDIUM))
-                .withInitialCacheConfigurations(caches)
-                .transactionAware()
-                .build();
+        ttls.put("productCache",        MEDIUM);
+        ttls.put("userCache",           MEDIUM);
+        ttls.put("configCache",         LONG);
+
+        Map<String, RedisCacheConfiguration> caches = new HashMap<>();
+        ttls.forEach((name, ttl) -> caches.put(name, defaultConfig(name, serialization, meterRegistry).entryTtl(ttl)));
+
+        RedisLoadLock lock = stampede.isDistributedLock()
+                ? new RedisLoadLock(new StringRedisTemplate(factory), stampede.getLockTtl(),
+                        breakerProperties.isEnabled() ? breaker : null)
+                : null;
+        CacheInstrumentation instrumentation = cacheMetrics.isEnabled()
+                ? new CacheInstrumentation(databaseMetrics,
+                        cacheMetrics.getHotKeys().isEnabled() ? hotKeyTracker : null, meterCache)
+                : null;
+        ResilientRedisCacheManager manager = new ResilientRedisCacheManager(
+                RedisCacheWriter.nonLockingRedisCacheWriter(factory),
+                defaultConfig(DEFAULT_CACHE, serialization, meterRegistry).entryTtl(MEDIUM),
+                caches, stampede, breakerProperties, breaker, lock, instrumentation, meterCache);
+        manager.setTransactionAware(true);
+        return manager;
     }
 }
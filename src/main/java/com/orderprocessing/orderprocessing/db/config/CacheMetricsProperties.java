@@ -0,0 +1,35 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Database Optimisation Enhancement: Cache Instrumentation Configuration
+ * Settings for {@link com.orderprocessing.orderprocessing.db.cache.CacheInstrumentation} and
+ * its hot-key tracker.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.metrics")
+public class CacheMetricsProperties {
+
+    private boolean enabled = true;
+
+    private HotKeys hotKeys = new HotKeys();
+
+    @Data
+    public static class HotKeys {
+        private boolean enabled = true;
+
+        /** Fraction of cache reads fed to the sketch */
+        private double sampleRate = 0.0625;
+
+        /** Keys reported by /actuator/hotkeys */
+        private int topK = 50;
+
+        /** Count-min sketch counters per row (rounded up to a power of two) and rows */
+        private int sketchWidth = 16384;
+        private int sketchDepth = 4;
+    }
+}
@@ -0,0 +1,58 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Database Optimisation Enhancement: Redis Cache Value Serialization
+ *
+ *   cache.serialization.format=SMILE
+ *   cache.serialization.compression=LZ4
+ *   cache.serialization.compress-threshold-bytes=1024
+ *   cache.serialization.caches.orderprocessingListCache.compression=DEFLATE
+ *
+ * Per-cache entries override only the fields they set.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.serialization")
+public class CacheSerializationProperties {
+
+    public enum Format { SMILE, JSON }
+
+    public enum Compression { NONE, LZ4, DEFLATE }
+
+    private Format format = Format.SMILE;
+    private Compression compression = Compression.LZ4;
+
+    /** Values whose encoded form is smaller than this are stored uncompressed */
+    private int compressThresholdBytes = 1024;
+
+    private Map<String, PerCache> caches = new HashMap<>();
+
+    @Data
+    public static class PerCache {
+        private Format format;
+        private Compression compression;
+        private Integer compressThresholdBytes;
+    }
+
+    public Format formatFor(String cache) {
+        PerCache o = caches.get(cache);
+        return o != null && o.getFormat() != null ? o.getFormat() : format;
+    }
+
+    public Compression compressionFor(String cache) {
+        PerCache o = caches.get(cache);
+        return o != null && o.getCompression() != null ? o.getCompression() : compression;
+    }
+
+    public int compressThresholdFor(String cache) {
+        PerCache o = caches.get(cache);
+        return o != null && o.getCompressThresholdBytes() != null ? o.getCompressThresholdBytes() : compressThresholdBytes;
+    }
+}
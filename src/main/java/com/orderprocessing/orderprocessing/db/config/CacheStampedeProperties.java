@@ -0,0 +1,44 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Database Optimisation Enhancement: Cache Stampede Protection
+ *
+ *   cache.stampede.enabled=true
+ *   cache.stampede.beta=1.0
+ *   cache.stampede.distributed-lock=false
+ *   cache.stampede.lock-ttl=10s
+ *   cache.stampede.lock-wait=2s
+ *
+ * Applies to {@code @Cacheable(sync = true)} methods; see StampedeProtectedCache.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.stampede")
+public class CacheStampedeProperties {
+
+    private boolean enabled = true;
+
+    /** XFetch aggressiveness: larger values refresh earlier, 0 disables early refresh */
+    private double beta = 1.0;
+
+    /** Take a short Redis lock so only one node loads a missing key */
+    private boolean distributedLock = false;
+
+    /** Lock expiry — upper bound on how long a crashed loader can block other nodes */
+    private Duration lockTtl = Duration.ofSeconds(10);
+
+    /** How long a node that lost the lock waits for the winner's value before loading itself */
+    private Duration lockWait = Duration.ofSeconds(2);
+
+    private Duration lockPoll = Duration.ofMillis(50);
+
+    /** Background early-refresh workers; refreshes beyond the queue are skipped, not queued */
+    private int refreshThreads = 2;
+    private int refreshQueue = 100;
+}
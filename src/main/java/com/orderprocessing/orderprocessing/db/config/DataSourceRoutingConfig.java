@@ -1,25 +1,38 @@
 package com.orderprocessing.orderprocessing.db.config;
 
+import com.order.common.consistency.ConsistencyContext;
+import com.orderprocessing.orderprocessing.db.statement.StatementMetrics;
+import com.orderprocessing.orderprocessing.db.statement.StatementTimingDataSource;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
 import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * Database Optimisation Enhancement: Read-Replica DataSource Routing
  *
  * Routes database operations:
- *  - @Transactional(readOnly = true)  → READ  replica DataSource
+ *  - @Transactional(readOnly = true)  → READ  one of N replicas ({@link ReplicaPool}),
+ *                                       or the primary if no replica is in rotation or
+ *                                       caught up to the request's X-Consistency-Token
  *  - @Transactional                   → WRITE primary DataSource
  *
- * In production set datasource.primary.url and datasource.replica.url
- * to different JDBC connection strings.
+ * Every statement is timed per normalised shape by {@link StatementTimingDataSource}.
+ *
+ * In production list the replicas under datasource.replicas.nodes[*] (see {@link ReplicaProperties});
+ * without that, the single datasource.replica.url is used.
  */
 @Configuration
 @EnableTransactionManagement
@@ -27,12 +40,12 @@ public class DataSourceRoutingConfig {
 
     // ── Primary (write) DataSource ────────────────────────────────────────────
     @Bean(name = "primaryDataSource")
-    @Primary
     public DataSource primaryDataSource(
             @Value("${spring.datasource.url}") String url,
             @Value("${spring.datasource.username:sa}") String user,
             @Value("${spring.datasource.password:}") String pass,
-            @Value("${spring.datasource.driver-class-name:org.h2.Driver}") String driver) {
+            @Value("${spring.datasource.driver-class-name:org.h2.Driver}") String driver,
+            MeterRegistry meterRegistry) {
         HikariConfig cfg = new HikariConfig();
         cfg.setJdbcUrl(url);
         cfg.setUsername(user);
@@ -45,51 +58,91 @@ public class DataSourceRoutingConfig {
         cfg.setIdleTimeout(600_000);
         cfg.setMaxLifetime(1_800_000);
         cfg.setLeakDetectionThreshold(60_000);
-        // Hikari metrics via Micrometer
-        cfg.setMetricRegistry(null);   // injected automatically by Spring Boot
+        // Hikari metrics via Micrometer (hikaricp.connections.* tagged pool=<pool name>);
+        // the size is a starting point — HikariPoolAutoSizer may adjust it at runtime
+        cfg.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
         return new HikariDataSource(cfg);
     }
 
-    // ── Replica (read-only) DataSource ────────────────────────────────────────
-    @Bean(name = "replicaDataSource")
-    public DataSource replicaDataSource(
+    // ── Replica (read-only) DataSources ───────────────────────────────────────
+    @Bean(name = "replicaPool", destroyMethod = "close")
+    public ReplicaPool replicaPool(
+            ReplicaProperties properties,
+            MeterRegistry meterRegistry,
             @Value("${datasource.replica.url:${spring.datasource.url}}") String url,
             @Value("${datasource.replica.username:${spring.datasource.username:sa}}") String user,
             @Value("${datasource.replica.password:${spring.datasource.password:}}") String pass,
             @Value("${spring.datasource.driver-class-name:org.h2.Driver}") String driver) {
-        HikariConfig cfg = new HikariConfig();
-        cfg.setJdbcUrl(url);
-        cfg.setUsername(user);
-        cfg.setPassword(pass);
-        cfg.setDriverClassName(driver);
-        cfg.setPoolName("orderprocessing-replica-pool");
-        cfg.setMaximumPoolSize(30);   // replicas handle more read load
-        cfg.setMinimumIdle(5);
-        cfg.setReadOnly(true);
-        return new HikariDataSource(cfg);
+        List<ReplicaProperties.Node> nodes = properties.getNodes();
+        if (nodes.isEmpty()) {
+            ReplicaProperties.Node single = new ReplicaProperties.Node();
+            single.setName("replica");
+            single.setUrl(url);
+            nodes = List.of(single);
+        }
+
+        List<ReplicaPool.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            ReplicaProperties.Node node = nodes.get(i);
+            String name = node.getName() != null ? node.getName() : "replica-" + i;
+            HikariConfig cfg = new HikariConfig();
+            cfg.setJdbcUrl(node.getUrl());
+            cfg.setUsername(node.getUsername() != null ? node.getUsername() : user);
+            cfg.setPassword(node.getPassword() != null ? node.getPassword() : pass);
+            cfg.setDriverClassName(driver);
+            cfg.setPoolName("orderprocessing-" + name + "-pool");
+            cfg.setMaximumPoolSize(node.getMaximumPoolSize());   // replicas handle more read load
+            cfg.setMinimumIdle(5);
+            cfg.setReadOnly(true);
+            cfg.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(new ReplicaPool.Replica(name, new HikariDataSource(cfg)));
+        }
+        return new ReplicaPool(replicas, properties, meterRegistry);
     }
 
     // ── Routing DataSource ────────────────────────────────────────────────────
     @Bean
     @Primary
-    @DependsOn({"primaryDataSource", "replicaDataSource"})
+    @DependsOn({"primaryDataSource", "replicaPool"})
     public DataSource routingDataSource(
             @Qualifier("primaryDataSource") DataSource primary,
-            @Qualifier("replicaDataSource") DataSource replica) {
+            ReplicaPool replicaPool,
+            StatementTimingProperties statementTiming,
+            StatementMetrics statementMetrics,
+            MeterRegistry meterRegistry) {
+        // Reads that found no eligible replica; reads served by replicas are counted per replica
+        Counter primaryReads = Counter.builder("orderprocessing.db.reads")
+                .description("Read-only work served by each pool")
+                .tag("service", "orderprocessing")
+                .tag("pool", "primary")
+                .register(meterRegistry);
+
         Map<Object, Object> targets = new HashMap<>();
         targets.put(DataSourceType.PRIMARY, primary);
-        targets.put(DataSourceType.REPLICA, replica);
 
         AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
             @Override
             protected Object determineCurrentLookupKey() {
                 return DataSourceContextHolder.get();
             }
+
+            @Override
+            protected DataSource determineTargetDataSource() {
+                if (DataSourceContextHolder.get() == DataSourceType.REPLICA) {
+                    DataSource replica = replicaPool.select(ConsistencyContext.requiredToken());
+                    if (replica != null) {
+                        return replica;
+                    }
+                    primaryReads.increment();
+                }
+                return primary;
+            }
         };
         routing.setTargetDataSources(targets);
         routing.setDefaultTargetDataSource(primary);
         routing.afterPropertiesSet();
-        return routing;
+        // Statement timing sits outside the router, so it sees primary and replica statements alike
+        return statementTiming.isEnabled() ? new StatementTimingDataSource(routing, statementMetrics) : routing;
     }
 
     /** DataSource type enum */
@@ -103,6 +156,15 @@ public class DataSourceRoutingConfig {
         public static DataSourceType get() {
             return CONTEXT.get() == null ? DataSourceType.PRIMARY : CONTEXT.get();
         }
+        /** Raw context, null when nothing has been set on this thread */
+        public static DataSourceType current() { return CONTEXT.get(); }
+        public static void restore(DataSourceType previous) {
+            if (previous == null) {
+                CONTEXT.remove();
+            } else {
+                CONTEXT.set(previous);
+            }
+        }
         public static void clear() { CONTEXT.remove(); }
     }
 }
@@ -0,0 +1,25 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Database Optimisation Enhancement: Partition Maintenance Configuration
+ * Horizon and retention for {@link com.orderprocessing.orderprocessing.db.service.PartitionMaintenanceService}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.partitions")
+public class PartitionProperties {
+
+    private boolean enabled = true;
+
+    /** Monthly partitions kept ready beyond the current month */
+    private int monthsAhead = 3;
+
+    /** Whole months kept before the current one; older partitions are detached and dropped */
+    private int retentionMonths = 12;
+
+    private String cron = "0 15 3 * * *";
+}
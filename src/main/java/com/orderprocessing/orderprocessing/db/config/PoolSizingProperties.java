@@ -0,0 +1,36 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Database Optimisation Enhancement: Connection Pool Auto-Sizing Configuration
+ * Bounds and thresholds for {@link com.orderprocessing.orderprocessing.db.service.HikariPoolAutoSizer}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.pool.autosize")
+public class PoolSizingProperties {
+
+    /** Telemetry is always collected; resizing only when enabled */
+    private boolean enabled = false;
+
+    private int primaryMinSize = 5;
+    private int primaryMaxSize = 40;
+    private int replicaMinSize = 5;
+    private int replicaMaxSize = 60;
+
+    /** Grow when the mean connection acquire wait over the last interval exceeds this */
+    private double acquireHighMs = 20;
+
+    /**
+     * Do not grow when the mean connection usage time exceeds this — the database itself
+     * is slow, and more connections would only add load
+     */
+    private double usageHighMs = 500;
+
+    /** Shrink when peak active / max stayed below this for {@code shrinkTicks} intervals */
+    private double shrinkUtilisation = 0.5;
+    private int shrinkTicks = 6;
+}
@@ -0,0 +1,223 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Database Optimisation Enhancement: Read-Replica Pool
+ *
+ * Spreads read-only work across N replicas:
+ *  - selection is weighted by 1 / EWMA latency, so faster replicas take proportionally more reads
+ *  - a background probe measures latency (SELECT 1), replication lag (optional lag query) and the
+ *    connection error rate since the last probe, and takes a replica out of rotation when lag or
+ *    error rate crosses its threshold; it re-enters after {@code recoveryProbes} healthy probes
+ *  - when no replica is in rotation {@link #select(long)} returns null and reads go to the primary
+ *  - read-your-writes: with a consistency token only replicas whose last probe showed them
+ *    caught up to that commit time qualify (needs lagQuery; without it replicas never
+ *    qualify for token-bearing reads, which then go to the primary)
+ *
+ * Metrics (tag replica=<name>):
+ *  - orderprocessing.db.replica.latency      — EWMA probe latency (ms)
+ *  - orderprocessing.db.replica.lag          — replication lag (seconds, -1 if unknown)
+ *  - orderprocessing.db.replica.in_rotation  — 1 in rotation, 0 out
+ *  - orderprocessing.db.reads{pool=<name>}   — reads routed to the replica (pool=primary: fallbacks)
+ *  - orderprocessing.db.replica.errors       — failed connection attempts and probes
+ */
+@Slf4j
+public class ReplicaPool implements Closeable {
+
+    private static final double EWMA_ALPHA = 0.3;
+
+    private final List<Replica> replicas;
+    private final ReplicaProperties properties;
+
+    public ReplicaPool(List<Replica> replicas, ReplicaProperties properties, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.properties = properties;
+        for (Replica r : this.replicas) {
+            r.registerMetrics(meterRegistry);
+        }
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Latency-weighted pick among replicas in rotation that have caught up to
+     * {@code requiredToken} (epoch ms, 0 = no requirement), or null if none qualifies.
+     */
+    public Replica select(long requiredToken) {
+        long required = requiredToken == 0 ? 0 : requiredToken + properties.getConsistencyMarginMs();
+        double total = 0;
+        for (Replica r : replicas) {
+            if (r.eligible(required)) {
+                total += r.weight();
+            }
+        }
+        if (total == 0) {
+            return null;
+        }
+        double point = ThreadLocalRandom.current().nextDouble(total);
+        Replica chosen = null;
+        for (Replica r : replicas) {
+            if (r.eligible(required)) {
+                chosen = r;
+                point -= r.weight();
+                if (point < 0) {
+                    break;
+                }
+            }
+        }
+        chosen.selected.increment();
+        return chosen;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.probe-interval-ms:5000}")
+    public void probe() {
+        for (Replica r : replicas) {
+            r.probe(properties);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Replica r : replicas) {
+            if (r.getTargetDataSource() instanceof Closeable c) {
+                c.close();
+            }
+        }
+    }
+
+    /**
+     * One replica connection pool. Counts connection attempts and failures so the probe
+     * can compute an error rate over real traffic, not just its own queries.
+     */
+    public static class Replica extends DelegatingDataSource {
+
+        private final String name;
+        private final AtomicLong attempts = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private volatile double latencyMs = 1;
+        private volatile double lagSeconds = -1;
+        private volatile boolean inRotation = true;
+        private volatile long caughtUpTo;
+        private int healthyProbes;
+        private Counter selected;
+        private Counter errors;
+
+        public Replica(String name, DataSource dataSource) {
+            super(dataSource);
+            this.name = name;
+        }
+
+        public String name()          { return name; }
+        public boolean inRotation()   { return inRotation; }
+        public double latencyMs()     { return latencyMs; }
+        public double lagSeconds()    { return lagSeconds; }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            attempts.incrementAndGet();
+            try {
+                return super.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                failures.incrementAndGet();
+                errors.increment();
+                throw e;
+            }
+        }
+
+        private boolean eligible(long required) {
+            return inRotation && (required == 0 || caughtUpTo >= required);
+        }
+
+        private double weight() {
+            return 1.0 / Math.max(latencyMs, 0.1);
+        }
+
+        private void registerMetrics(MeterRegistry registry) {
+            Gauge.builder("orderprocessing.db.replica.latency", this, Replica::latencyMs)
+                 .description("EWMA probe latency of the read replica")
+                 .tag("service", "orderprocessing").tag("replica", name)
+                 .baseUnit("milliseconds")
+                 .register(registry);
+            Gauge.builder("orderprocessing.db.replica.lag", this, Replica::lagSeconds)
+                 .description("Replication lag of the read replica (-1 if unknown)")
+                 .tag("service", "orderprocessing").tag("replica", name)
+                 .baseUnit("seconds")
+                 .register(registry);
+            Gauge.builder("orderprocessing.db.replica.in_rotation", this, r -> r.inRotation ? 1 : 0)
+                 .description("Whether the read replica currently receives reads")
+                 .tag("service", "orderprocessing").tag("replica", name)
+                 .register(registry);
+            selected = Counter.builder("orderprocessing.db.reads")
+                 .description("Read-only work served by each pool")
+                 .tag("service", "orderprocessing").tag("pool", name)
+                 .register(registry);
+            errors = Counter.builder("orderprocessing.db.replica.errors")
+                 .description("Failed connection attempts and probes on the replica")
+                 .tag("service", "orderprocessing").tag("replica", name)
+                 .register(registry);
+        }
+
+        private void probe(ReplicaProperties properties) {
+            boolean probeOk = true;
+            long probedAt = System.currentTimeMillis();
+            long start = System.nanoTime();
+            try (Connection c = obtainTargetDataSource().getConnection();
+                 Statement st = c.createStatement()) {
+                st.setQueryTimeout(5);
+                st.execute("SELECT 1");
+                double sample = (System.nanoTime() - start) / 1_000_000.0;
+                latencyMs = EWMA_ALPHA * sample + (1 - EWMA_ALPHA) * latencyMs;
+
+                if (properties.getLagQuery() != null && !properties.getLagQuery().isBlank()) {
+                    try (ResultSet rs = st.executeQuery(properties.getLagQuery())) {
+                        lagSeconds = rs.next() ? rs.getDouble(1) : -1;
+                    }
+                    caughtUpTo = lagSeconds < 0 ? 0 : probedAt - (long) (lagSeconds * 1000);
+                }
+            } catch (SQLException | RuntimeException e) {
+                probeOk = false;
+                errors.increment();
+                log.warn("[DB] Replica {} probe failed: {}", name, e.getMessage());
+            }
+
+            long tried = attempts.getAndSet(0);
+            long failed = failures.getAndSet(0);
+            double errorRate = tried == 0 ? 0 : (double) failed / tried;
+            boolean healthy = probeOk
+                    && errorRate <= properties.getMaxErrorRate()
+                    && lagSeconds <= properties.getMaxLagSeconds();
+
+            if (!healthy) {
+                healthyProbes = 0;
+                if (inRotation) {
+                    inRotation = false;
+                    log.warn("[DB] Replica {} out of rotation (probeOk={} lag={}s errorRate={})",
+                            name, probeOk, lagSeconds, String.format("%.2f", errorRate));
+                }
+            } else if (!inRotation && ++healthyProbes >= properties.getRecoveryProbes()) {
+                inRotation = true;
+                log.info("[DB] Replica {} back in rotation (latency={}ms lag={}s)",
+                        name, String.format("%.1f", latencyMs), lagSeconds);
+            }
+        }
+    }
+}
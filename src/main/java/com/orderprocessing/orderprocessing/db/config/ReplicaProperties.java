@@ -0,0 +1,57 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Database Optimisation Enhancement: Read-Replica Pool Configuration
+ *
+ *   datasource.replicas.nodes[0].name=replica-a
+ *   datasource.replicas.nodes[0].url=jdbc:postgresql://replica-a:5432/order_db
+ *   datasource.replicas.nodes[1].name=replica-b
+ *   datasource.replicas.nodes[1].url=...
+ *
+ * With no nodes configured, the single datasource.replica.* connection is used.
+ * Username/password default to the primary's when omitted.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.replicas")
+public class ReplicaProperties {
+
+    private List<Node> nodes = new ArrayList<>();
+
+    /** Background probe interval */
+    private long probeIntervalMs = 5_000;
+
+    /**
+     * Optional query returning replication lag in seconds, e.g. for PostgreSQL:
+     * SELECT COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+     */
+    private String lagQuery;
+
+    /** A replica lagging more than this is taken out of rotation */
+    private double maxLagSeconds = 10;
+
+    /** A replica whose failed/total connection attempts since the last probe exceed this is taken out */
+    private double maxErrorRate = 0.2;
+
+    /** Extra margin (clock skew between app instances) added to consistency tokens */
+    private long consistencyMarginMs = 250;
+
+    /** Consecutive healthy probes before a replica re-enters rotation */
+    private int recoveryProbes = 2;
+
+    @Data
+    public static class Node {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 30;
+    }
+}
@@ -0,0 +1,30 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Database Optimisation Enhancement: Statement Timing Configuration
+ * Settings for the JDBC timing proxy around the routing DataSource
+ * ({@link com.orderprocessing.orderprocessing.db.statement.StatementTimingDataSource}).
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.statements")
+public class StatementTimingProperties {
+
+    private boolean enabled = true;
+
+    /** Statements slower than this are counted as slow queries */
+    private long slowThresholdMs = 500;
+
+    /**
+     * Distinct statement shapes tracked (one timer + row summary each);
+     * shapes beyond the limit are folded into a single "other" shape
+     */
+    private int maxShapes = 500;
+
+    /** The same SELECT shape executed this many times within one request is reported as N+1 */
+    private int repeatThreshold = 10;
+}
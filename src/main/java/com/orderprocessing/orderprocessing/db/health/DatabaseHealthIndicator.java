@@ -1,5 +1,6 @@
 package com.orderprocessing.orderprocessing.db.health;
 
+import com.orderprocessing.orderprocessing.monitoring.health.SnapshotHealthIndicator;
 import org.springframework.boot.actuate.health.*;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
@@ -12,7 +13,7 @@ import org.springframework.stereotype.Component;
  * Exposed at /actuator/health under "database" component.
  */
 @Component("databaseHealth")
-public class DatabaseHealthIndicator implements HealthIndicator {
+public class DatabaseHealthIndicator extends SnapshotHealthIndicator {
 
     private final JdbcTemplate jdbcTemplate;
 
@@ -21,7 +22,7 @@ public class DatabaseHealthIndicator implements HealthIndicator {
     }
 
     @Override
-    public Health health() {
+    protected Health check() {
         try {
             Long result = jdbcTemplate.queryForObject("SELECT 1", Long.class);
             return Health.up()
@@ -1,5 +1,6 @@
 package com.orderprocessing.orderprocessing.db.health;
 
+import com.orderprocessing.orderprocessing.monitoring.health.SnapshotHealthIndicator;
 import org.springframework.boot.actuate.health.*;
 import org.springframework.data.elasticsearch.client.elc.ElasticsearchTemplate;
 import org.springframework.stereotype.Component;
@@ -8,7 +9,7 @@ import org.springframework.stereotype.Component;
  * Database Optimisation Enhancement: Elasticsearch Health Indicator
  */
 @Component("elasticsearchHealth")
-public class ElasticsearchHealthIndicator implements HealthIndicator {
+public class ElasticsearchHealthIndicator extends SnapshotHealthIndicator {
 
     private final ElasticsearchTemplate elasticsearchTemplate;
 
@@ -17,7 +18,7 @@ public class ElasticsearchHealthIndicator implements HealthIndicator {
     }
 
     @Override
-    public Health health() {
+    protected Health check() {
         try {
             boolean up = elasticsearchTemplate.indexOps(
                     org.springframework.data.elasticsearch.core.IndexCoordinates.of("orderprocessing-index"))
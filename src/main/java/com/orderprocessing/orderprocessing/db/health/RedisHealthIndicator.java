@@ -1,5 +1,7 @@
 package com.orderprocessing.orderprocessing.db.health;
 
+import com.orderprocessing.orderprocessing.db.cache.RedisCircuitBreaker;
+import com.orderprocessing.orderprocessing.monitoring.health.SnapshotHealthIndicator;
 import org.springframework.boot.actuate.health.*;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.stereotype.Component;
@@ -9,29 +11,34 @@ import org.springframework.stereotype.Component;
  *
  * Pings Redis to verify the caching layer is available.
  * If Redis is down, the service still operates (cache misses hit DB).
+ * Reports the cache circuit breaker state alongside the ping.
  */
 @Component("redisHealth")
-public class RedisHealthIndicator implements HealthIndicator {
+public class RedisHealthIndicator extends SnapshotHealthIndicator {
 
     private final RedisConnectionFactory connectionFactory;
+    private final RedisCircuitBreaker breaker;
 
-    public RedisHealthIndicator(RedisConnectionFactory connectionFactory) {
+    public RedisHealthIndicator(RedisConnectionFactory connectionFactory, RedisCircuitBreaker breaker) {
         this.connectionFactory = connectionFactory;
+        this.breaker = breaker;
     }
 
     @Override
-    public Health health() {
+    protected Health check() {
         try (var conn = connectionFactory.getConnection()) {
             String pong = new String(conn.ping());
             return Health.up()
                     .withDetail("service", "orderprocessing")
                     .withDetail("redis", "reachable")
                     .withDetail("ping", pong)
+                    .withDetail("cache_breaker", breaker.getState())
                     .build();
         } catch (Exception ex) {
             return Health.down()
                     .withDetail("service", "orderprocessing")
                     .withDetail("redis", "unreachable — cache misses will hit DB")
+                    .withDetail("cache_breaker", breaker.getState())
                     .withDetail("error", ex.getMessage())
                     .build();
         }
@@ -13,6 +13,10 @@ import java.util.List;
  *
  * Combines Redis caching with Elasticsearch full-text search.
  * Search results are cached for 60s to reduce ES query load.
+ *
+ * Both lookups are {@code sync = true}: when a hot key expires, one caller per key reloads it
+ * while the rest wait, and hot keys are refreshed in the background before they expire
+ * (see StampedeProtectedCache).
  */
 @Service
 @RequiredArgsConstructor
@@ -25,14 +29,14 @@ public class OrderprocessingSearchService {
      * Full-text search with Redis caching.
      * Cache key includes the query string — evict on data changes.
      */
-    @Cacheable(value = "orderprocessingCache", key = "'search:' + #query")
+    @Cacheable(value = "orderprocessingCache", key = "'search:' + #query", sync = true)
     @Timed(value = "orderprocessing.search.duration", description = "ES search duration")
     public List<OrderprocessingSearchDocument> search(String query) {
         log.info("[SEARCH] Full-text search for '{}'", query);
         return searchRepository.fuzzySearch(query);
     }
 
-    @Cacheable(value = "orderprocessingCache", key = "'status:' + #status")
+    @Cacheable(value = "orderprocessingCache", key = "'status:' + #status", sync = true)
     public List<OrderprocessingSearchDocument> findByStatus(String status) {
         log.info("[SEARCH] Status filter: '{}'", status);
         return searchRepository.findByStatus(status);
@@ -1,5 +1,7 @@
 package com.orderprocessing.orderprocessing.db.service;
 
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterCache;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterFamily;
 import io.micrometer.core.instrument.*;
 import org.springframework.stereotype.Service;
 
@@ -12,7 +14,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * Exposed to Prometheus via /actuator/prometheus.
  *
  * Metrics:
- *  - orderprocessing_cache_hits_total       — Redis cache hits
+ *  - orderprocessing_cache_hits_total       — Redis cache hits (recorded by InstrumentedCache)
  *  - orderprocessing_cache_misses_total     — Redis cache misses (DB queries)
  *  - orderprocessing_db_queries_total       — Total DB queries by type
  *  - orderprocessing_db_slow_queries_total  — Queries above 500ms
@@ -21,45 +23,45 @@ import java.util.concurrent.atomic.AtomicLong;
 @Service
 public class DatabaseMetricsService {
 
-    private final MeterRegistry meterRegistry;
     private final AtomicLong activeConnections = new AtomicLong(0);
+    private final MeterFamily<Counter> cacheHits;
+    private final MeterFamily<Counter> cacheMisses;
+    private final MeterFamily<Counter> dbQueries;
+    private final MeterFamily<Counter> slowQueries;
+    private final MeterFamily<DistributionSummary> slowQueryDuration;
 
-    public DatabaseMetricsService(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+    public DatabaseMetricsService(MeterRegistry meterRegistry, MeterCache meterCache) {
         Gauge.builder("orderprocessing.connection.pool.active", activeConnections, AtomicLong::get)
              .description("Active HikariCP connections for orderprocessing")
              .tag("service", "orderprocessing")
              .register(meterRegistry);
+        cacheHits   = meterCache.counter("orderprocessing.cache.hits.total",
+                "Redis cache hits for orderprocessing", "cache");
+        cacheMisses = meterCache.counter("orderprocessing.cache.misses.total",
+                "Redis cache misses for orderprocessing (DB fallback)", "cache");
+        dbQueries   = meterCache.counter("orderprocessing.db.queries.total",
+                "DB queries for orderprocessing", "type");
+        slowQueries = meterCache.counter("orderprocessing.db.slow.queries.total",
+                "DB queries exceeding 500ms for orderprocessing", "type");
+        slowQueryDuration = meterCache.summary("orderprocessing.db.query.duration",
+                "Duration of slow DB queries for orderprocessing", "type");
     }
 
     public void recordCacheHit(String cacheName) {
-        Counter.builder("orderprocessing.cache.hits.total")
-               .tag("service", "orderprocessing").tag("cache", cacheName)
-               .description("Redis cache hits for orderprocessing")
-               .register(meterRegistry).increment();
+        cacheHits.get(cacheName).increment();
     }
 
     public void recordCacheMiss(String cacheName) {
-        Counter.builder("orderprocessing.cache.misses.total")
-               .tag("service", "orderprocessing").tag("cache", cacheName)
-               .description("Redis cache misses for orderprocessing (DB fallback)")
-               .register(meterRegistry).increment();
+        cacheMisses.get(cacheName).increment();
     }
 
     public void recordDbQuery(String queryType) {
-        Counter.builder("orderprocessing.db.queries.total")
-               .tag("service", "orderprocessing").tag("type", queryType)
-               .description("DB queries for orderprocessing")
-               .register(meterRegistry).increment();
+        dbQueries.get(queryType).increment();
     }
 
     public void recordSlowQuery(String queryType, long ms) {
-        Counter.builder("orderprocessing.db.slow.queries.total")
-               .tag("service", "orderprocessing").tag("type", queryType)
-               .description("DB queries exceeding 500ms for orderprocessing")
-               .register(meterRegistry).increment();
-        meterRegistry.summary("orderprocessing.db.query.duration",
-                "service", "orderprocessing", "type", queryType).record(ms);
+        slowQueries.get(queryType).increment();
+        slowQueryDuration.get(queryType).record(ms);
     }
 
     public void setActiveConnections(long count) {
@@ -0,0 +1,196 @@
+package com.orderprocessing.orderprocessing.db.service;
+
+import com.orderprocessing.orderprocessing.db.config.PoolSizingProperties;
+import com.orderprocessing.orderprocessing.db.config.ReplicaPool;
+import com.zaxxer.hikari.HikariConfigMXBean;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Database Optimisation Enhancement: HikariCP Telemetry and Auto-Sizing
+ *
+ * Every interval, for the primary pool and each replica pool:
+ *  - samples the pool MXBean (active / idle / pending threads) and feeds the total active
+ *    count to {@link DatabaseMetricsService#setActiveConnections}; the per-pool gauges and the
+ *    acquire-time histogram come from Hikari's Micrometer tracker (hikaricp.connections.*)
+ *  - if enabled, resizes the pool within its bounds via the config MXBean:
+ *      grow   +25% when threads waited (pending > 0 or mean acquire wait > acquireHighMs),
+ *             unless mean connection usage time > usageHighMs (the database is the bottleneck)
+ *      shrink −12% after shrinkTicks intervals with peak utilisation < shrinkUtilisation
+ *
+ * Peak utilisation is the highest active count seen by a faster sampler (peak-sample-ms)
+ * during the interval, divided by the maximum pool size. A single reading at the end of the
+ * interval would miss bursts between ticks and shrink a pool that was briefly saturated.
+ *
+ * Metrics (tag pool=<pool name>):
+ *  - orderprocessing.db.pool.max_size  — current maximum pool size
+ *  - orderprocessing.db.pool.resizes   — resize decisions, tagged direction=grow|shrink
+ */
+@Service
+@Slf4j
+public class HikariPoolAutoSizer {
+
+    private final List<ManagedPool> pools = new ArrayList<>();
+    private final PoolSizingProperties properties;
+    private final DatabaseMetricsService databaseMetricsService;
+    private final MeterRegistry meterRegistry;
+
+    public HikariPoolAutoSizer(@Qualifier("primaryDataSource") DataSource primary,
+                               ReplicaPool replicaPool,
+                               PoolSizingProperties properties,
+                               DatabaseMetricsService databaseMetricsService,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.databaseMetricsService = databaseMetricsService;
+        this.meterRegistry = meterRegistry;
+        if (primary instanceof HikariDataSource hikari) {
+            pools.add(new ManagedPool(hikari, properties.getPrimaryMinSize(), properties.getPrimaryMaxSize()));
+        }
+        for (ReplicaPool.Replica replica : replicaPool.replicas()) {
+            if (replica.getTargetDataSource() instanceof HikariDataSource hikari) {
+                pools.add(new ManagedPool(hikari, properties.getReplicaMinSize(), properties.getReplicaMaxSize()));
+            }
+        }
+    }
+
+    /** Raises each pool's interval peak; cheap enough to run several times a second */
+    @Scheduled(fixedRateString = "${datasource.pool.autosize.peak-sample-ms:250}")
+    public void samplePeak() {
+        for (ManagedPool pool : pools) {
+            HikariPoolMXBean mx = pool.dataSource.getHikariPoolMXBean();
+            if (mx != null) {
+                pool.peakActive.accumulateAndGet(mx.getActiveConnections(), Math::max);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.pool.autosize.interval-ms:10000}")
+    public void sample() {
+        long active = 0;
+        for (ManagedPool pool : pools) {
+            HikariPoolMXBean mx = pool.dataSource.getHikariPoolMXBean();
+            if (mx == null) {
+                continue;   // pool not started yet
+            }
+            active += mx.getActiveConnections();
+            if (properties.isEnabled()) {
+                pool.tune(mx);
+            }
+        }
+        databaseMetricsService.setActiveConnections(active);
+    }
+
+    private final class ManagedPool {
+        final HikariDataSource dataSource;
+        final String name;
+        final int minSize;
+        final int maxSize;
+        final Counter grown;
+        final Counter shrunk;
+        final TimerDelta acquire;
+        final TimerDelta usage;
+        /** Highest active count since the previous tune; reset there */
+        final AtomicInteger peakActive = new AtomicInteger();
+        int lowTicks;
+
+        ManagedPool(HikariDataSource dataSource, int minSize, int maxSize) {
+            this.dataSource = dataSource;
+            this.name = dataSource.getPoolName();
+            this.minSize = minSize;
+            this.maxSize = maxSize;
+            Gauge.builder("orderprocessing.db.pool.max_size", dataSource, HikariDataSource::getMaximumPoolSize)
+                 .description("Current maximum size of the HikariCP pool")
+                 .tag("service", "orderprocessing").tag("pool", name)
+                 .register(meterRegistry);
+            this.grown = resizeCounter("grow");
+            this.shrunk = resizeCounter("shrink");
+            this.acquire = new TimerDelta("hikaricp.connections.acquire", name);
+            this.usage = new TimerDelta("hikaricp.connections.usage", name);
+        }
+
+        private Counter resizeCounter(String direction) {
+            return Counter.builder("orderprocessing.db.pool.resizes")
+                    .description("HikariCP pool resize decisions")
+                    .tag("service", "orderprocessing").tag("pool", name).tag("direction", direction)
+                    .register(meterRegistry);
+        }
+
+        void tune(HikariPoolMXBean mx) {
+            double acquireMs = acquire.meanMs();
+            double usageMs = usage.meanMs();
+            HikariConfigMXBean config = dataSource.getHikariConfigMXBean();
+            int current = config.getMaximumPoolSize();
+            int pending = mx.getThreadsAwaitingConnection();
+            int peak = Math.max(peakActive.getAndSet(0), mx.getActiveConnections());
+            double utilisation = (double) peak / current;
+
+            boolean starved = pending > 0 || acquireMs > properties.getAcquireHighMs();
+            if (starved && usageMs <= properties.getUsageHighMs() && current < maxSize) {
+                resize(config, Math.min(maxSize, current + Math.max(1, current / 4)), "grow", pending, acquireMs, usageMs);
+                lowTicks = 0;
+                return;
+            }
+            if (!starved && utilisation < properties.getShrinkUtilisation()) {
+                if (++lowTicks >= properties.getShrinkTicks() && current > minSize) {
+                    resize(config, Math.max(minSize, current - Math.max(1, current / 8)), "shrink", pending, acquireMs, usageMs);
+                    lowTicks = 0;
+                }
+            } else {
+                lowTicks = 0;
+            }
+        }
+
+        private void resize(HikariConfigMXBean config, int size, String direction,
+                            int pending, double acquireMs, double usageMs) {
+            log.info("[DB] Pool {} {} {} → {} (pending={} acquire={}ms usage={}ms)", name, direction,
+                    config.getMaximumPoolSize(), size, pending,
+                    String.format("%.1f", acquireMs), String.format("%.1f", usageMs));
+            if (size < config.getMinimumIdle()) {
+                config.setMinimumIdle(size);
+            }
+            config.setMaximumPoolSize(size);
+            ("grow".equals(direction) ? grown : shrunk).increment();
+        }
+    }
+
+    /** Mean duration of one pool's Hikari timer over the interval since the previous call */
+    private final class TimerDelta {
+        final String meter;
+        final String pool;
+        long lastCount;
+        double lastTotalMs;
+
+        TimerDelta(String meter, String pool) {
+            this.meter = meter;
+            this.pool = pool;
+        }
+
+        double meanMs() {
+            Timer timer = meterRegistry.find(meter).tag("pool", pool).timer();
+            if (timer == null) {
+                return 0;
+            }
+            long count = timer.count();
+            double totalMs = timer.totalTime(TimeUnit.MILLISECONDS);
+            long samples = count - lastCount;
+            double mean = samples <= 0 ? 0 : (totalMs - lastTotalMs) / samples;
+            lastCount = count;
+            lastTotalMs = totalMs;
+            return mean;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.orderprocessing.orderprocessing.db.service;
+
+import com.orderprocessing.orderprocessing.db.config.PartitionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Database Optimisation Enhancement: order_processing Partition Maintenance
+ *
+ * order_processing is range-partitioned by month on created_at (postgresql/V3). Once at
+ * start-up and then on {@code datasource.partitions.cron}:
+ *  - creates the partitions up to {@code monthsAhead} months out, so inserts never fail
+ *    for lack of a partition (order_processing_ensure_partitions())
+ *  - detaches partitions older than {@code retentionMonths} with DETACH ... CONCURRENTLY
+ *    and drops them: retention costs one catalog change per month instead of a DELETE
+ *    over millions of rows, and leaves no dead tuples to vacuum
+ *  - deletes the dropped month's rows from order_processing_keys, the global order_id
+ *    guard; dropping a partition does not fire its delete trigger
+ *
+ * Runs against the primary pool directly (autocommit — DETACH CONCURRENTLY cannot run in a
+ * transaction block). Does nothing on databases where the table is not partitioned (H2).
+ *
+ * Metrics:
+ *  - orderprocessing.db.partitions          — attached partitions of order_processing
+ *  - orderprocessing.db.partitions.created  — partitions created
+ *  - orderprocessing.db.partitions.dropped  — partitions detached and dropped
+ */
+@Service
+@Slf4j
+public class PartitionMaintenanceService {
+
+    static final String TABLE = "order_processing";
+    private static final String KEYS_TABLE = TABLE + "_keys";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbc;
+    private final PartitionProperties properties;
+    private final AtomicInteger partitionCount = new AtomicInteger();
+    private final Counter created;
+    private final Counter dropped;
+    private volatile Boolean partitioned;
+
+    public PartitionMaintenanceService(@Qualifier("primaryDataSource") DataSource primary,
+                                       PartitionProperties properties,
+                                       MeterRegistry meterRegistry) {
+        this.jdbc = new JdbcTemplate(primary);
+        this.properties = properties;
+        Gauge.builder("orderprocessing.db.partitions", partitionCount, AtomicInteger::get)
+                .description("Attached monthly partitions of order_processing")
+                .tag("service", "orderprocessing")
+                .tag("table", TABLE)
+                .register(meterRegistry);
+        this.created = Counter.builder("orderprocessing.db.partitions.created")
+                .tag("service", "orderprocessing")
+                .tag("table", TABLE)
+                .register(meterRegistry);
+        this.dropped = Counter.builder("orderprocessing.db.partitions.dropped")
+                .tag("service", "orderprocessing")
+                .tag("table", TABLE)
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${datasource.partitions.cron:0 15 3 * * *}")
+    public void maintain() {
+        if (!properties.isEnabled() || !isPartitioned()) {
+            return;
+        }
+        try {
+            Integer made = jdbc.queryForObject("SELECT order_processing_ensure_partitions(CURRENT_DATE, ?)",
+                    Integer.class, properties.getMonthsAhead());
+            if (made != null && made > 0) {
+                created.increment(made);
+                log.info("Created {} partition(s) of {}", made, TABLE);
+            }
+            dropExpired(YearMonth.now().minusMonths(properties.getRetentionMonths()));
+            partitionCount.set(partitions().size());
+        } catch (Exception e) {
+            log.error("Partition maintenance of {} failed: {}", TABLE, e.getMessage(), e);
+        }
+    }
+
+    /** Detaches and drops every partition whose month is before {@code oldestKept} */
+    void dropExpired(YearMonth oldestKept) {
+        for (String partition : partitions()) {
+            YearMonth month = monthOf(partition);
+            if (month == null || !month.isBefore(oldestKept)) {
+                continue;
+            }
+            // identifiers come from pg_inherits and match PARTITION_PREFIX + yyyy_MM
+            jdbc.execute("ALTER TABLE " + TABLE + " DETACH PARTITION " + partition + " CONCURRENTLY");
+            jdbc.execute("DROP TABLE " + partition);
+            int keys = jdbc.update("DELETE FROM " + KEYS_TABLE + " WHERE created_at >= ? AND created_at < ?",
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            dropped.increment();
+            log.info("Dropped partition {} (older than {}) and {} order_id key(s)", partition, oldestKept, keys);
+        }
+    }
+
+    private List<String> partitions() {
+        return jdbc.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid " +
+                "JOIN pg_class p ON p.oid = i.inhparent " +
+                "WHERE p.oid = to_regclass(?) ORDER BY c.relname",
+                String.class, TABLE);
+    }
+
+    private boolean isPartitioned() {
+        Boolean known = partitioned;
+        if (known == null) {
+            try {
+                known = Boolean.TRUE.equals(jdbc.execute((ConnectionCallback<Boolean>) c ->
+                        c.getMetaData().getDatabaseProductName().toLowerCase().contains("postgres")))
+                        && Boolean.TRUE.equals(jdbc.queryForObject(
+                                "SELECT relkind = 'p' FROM pg_class WHERE oid = to_regclass(?)",
+                                Boolean.class, TABLE));
+            } catch (Exception e) {
+                known = false;
+            }
+            if (!known) {
+                log.info("{} is not partitioned; partition maintenance disabled", TABLE);
+            }
+            partitioned = known;
+        }
+        return known;
+    }
+
+    static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), SUFFIX);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.orderprocessing.orderprocessing.db.statement;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Database Optimisation Enhancement: Slow Statements Endpoint
+ *
+ *   GET    /actuator/statements?limit=20&sort=total|mean|max|count|rows|errors
+ *   DELETE /actuator/statements   — start a fresh measurement window
+ *
+ * Lists the most expensive statement shapes seen since start-up (or the last reset), with the
+ * normalised SQL behind each {@code statement} metric tag.
+ */
+@Component
+@Endpoint(id = "statements")
+public class SlowStatementsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final StatementMetrics statementMetrics;
+
+    public SlowStatementsEndpoint(StatementMetrics statementMetrics) {
+        this.statementMetrics = statementMetrics;
+    }
+
+    @ReadOperation
+    public List<StatementMetrics.ShapeSnapshot> top(@Nullable Integer limit, @Nullable String sort) {
+        return statementMetrics.top(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit, sort);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        statementMetrics.reset();
+    }
+}
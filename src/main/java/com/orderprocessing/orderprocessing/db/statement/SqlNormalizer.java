@@ -0,0 +1,95 @@
+package com.orderprocessing.orderprocessing.db.statement;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Reduces a SQL string to its shape: literals become {@code ?}, IN / VALUES lists collapse to
+ * a single element and whitespace is normalised, so every execution of the same query —
+ * whatever its parameters or list lengths — maps to one shape.
+ */
+public final class SqlNormalizer {
+
+    private static final int MAX_LENGTH = 2000;
+    private static final int CACHE_SIZE = 4096;
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin ?\\(\\?(?: ?, ?\\?)+\\)");
+    private static final Pattern VALUES_ROWS = Pattern.compile("(?i)(\\bvalues \\([^()]*\\))(?:, ?\\([^()]*\\))+");
+
+    /** Hibernate and Spring Data re-issue the same strings; remember recent results */
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private SqlNormalizer() {
+    }
+
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String cached = CACHE.get(sql);
+        if (cached != null) {
+            return cached;
+        }
+        String shape = scan(sql);
+        shape = IN_LIST.matcher(shape).replaceAll("in (?)");
+        shape = VALUES_ROWS.matcher(shape).replaceAll("$1");
+        if (shape.length() > MAX_LENGTH) {
+            shape = shape.substring(0, MAX_LENGTH);
+        }
+        if (CACHE.size() >= CACHE_SIZE) {
+            CACHE.clear();
+        }
+        CACHE.put(sql, shape);
+        return shape;
+    }
+
+    /** Replaces quoted strings and numeric literals with ? and collapses whitespace runs */
+    private static String scan(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int n = sql.length();
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i++;
+                while (i < n) {
+                    if (sql.charAt(i) == '\'') {
+                        if (i + 1 < n && sql.charAt(i + 1) == '\'') {
+                            i += 2;         // escaped quote
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                i++;
+                out.append('?');
+            } else if (Character.isDigit(c) && !partOfIdentifier(out)) {
+                while (i < n && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (!out.isEmpty() && i < n) {
+                    out.append(' ');
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return out.toString();
+    }
+
+    private static boolean partOfIdentifier(StringBuilder out) {
+        if (out.isEmpty()) {
+            return false;
+        }
+        char prev = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(prev) || prev == '_' || prev == '"' || prev == '$';
+    }
+}
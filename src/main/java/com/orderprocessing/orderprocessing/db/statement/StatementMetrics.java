@@ -0,0 +1,236 @@
+package com.orderprocessing.orderprocessing.db.statement;
+
+import com.orderprocessing.orderprocessing.db.config.StatementTimingProperties;
+import com.orderprocessing.orderprocessing.db.service.DatabaseMetricsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Database Optimisation Enhancement: Per-Statement Metrics
+ *
+ * Aggregates every statement executed through {@link StatementTimingDataSource} by its
+ * normalised shape ({@link SqlNormalizer}). Shapes are keyed by their normalised SQL, so two
+ * statements never share aggregates; each also gets a short display id (64-bit hash of the
+ * SQL, in hex), used as the metric tag. The SQL for an id is listed by the {@code statements}
+ * actuator endpoint. Past maxShapes, new shapes share one "other" shape; it mixes unrelated
+ * statements, so it is never reported as an N+1.
+ *
+ * Metrics:
+ *  - orderprocessing.db.statement.latency  — timer + histogram, tags statement, operation,
+ *                                            outcome=success|error
+ *  - orderprocessing.db.statement.rows     — rows returned / affected, tags statement, operation
+ *  - orderprocessing.db.n_plus_one         — requests that repeated one SELECT shape
+ *                                            repeatThreshold times, tag statement
+ *  - orderprocessing.db.queries.total / .slow.queries.total via {@link DatabaseMetricsService}
+ */
+@Component
+@Slf4j
+public class StatementMetrics {
+
+    static final String OTHER = "other";
+    static final String SUCCESS = "success";
+    static final String ERROR = "error";
+    private static final String OTHER_SQL = "<other>";
+
+    private final Map<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final StatementTimingProperties properties;
+    private final DatabaseMetricsService databaseMetricsService;
+    private final MeterRegistry meterRegistry;
+
+    public StatementMetrics(StatementTimingProperties properties,
+                            DatabaseMetricsService databaseMetricsService,
+                            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.databaseMetricsService = databaseMetricsService;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Resolves (registering on first sight) the shape of {@code sql} */
+    public Shape shapeOf(String sql) {
+        String normalized = SqlNormalizer.normalize(sql);
+        Shape shape = shapes.get(normalized);
+        if (shape != null) {
+            return shape;
+        }
+        if (shapes.size() >= properties.getMaxShapes()) {
+            return shapes.computeIfAbsent(OTHER_SQL, k -> new Shape(OTHER, OTHER_SQL, "other"));
+        }
+        return shapes.computeIfAbsent(normalized, k -> new Shape(displayId(k), k, operationOf(k)));
+    }
+
+    /** FNV-1a over the normalised SQL; 64 bits keep tag collisions out of reach for maxShapes shapes */
+    static String displayId(String normalized) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return String.format("%016x", hash);
+    }
+
+    /**
+     * One execution of {@code shape}, successful or not ({@code outcome}); {@code rows} is -1 when
+     * not known (a query's result set, or a failed statement)
+     */
+    public void executed(Shape shape, long nanos, String outcome, long rows) {
+        shape.timer(outcome).record(nanos, TimeUnit.NANOSECONDS);
+        shape.count.increment();
+        if (ERROR.equals(outcome)) {
+            shape.errors.increment();
+        }
+        shape.totalNanos.add(nanos);
+        shape.maxNanos.accumulateAndGet(nanos, Math::max);
+        if (rows >= 0) {
+            rows(shape, rows);
+        }
+        databaseMetricsService.recordDbQuery(shape.operation);
+        long ms = TimeUnit.NANOSECONDS.toMillis(nanos);
+        if (ms >= properties.getSlowThresholdMs()) {
+            databaseMetricsService.recordSlowQuery(shape.operation, ms);
+            log.warn("Slow statement [{}] {}ms: {}", shape.id, ms, shape.sql);
+        }
+        checkRepeated(shape);
+    }
+
+    public void rows(Shape shape, long rows) {
+        shape.rows.record(rows);
+        shape.totalRows.add(rows);
+    }
+
+    private void checkRepeated(Shape shape) {
+        StatementScope scope = StatementScope.current();
+        if (scope == null || !"select".equals(shape.operation) || OTHER.equals(shape.id)) {
+            return;
+        }
+        // report once per request, when the threshold is crossed
+        if (scope.executed(shape.id) == properties.getRepeatThreshold()) {
+            shape.nPlusOne.increment();
+            log.warn("Possible N+1 in {}: statement [{}] executed {} times: {}",
+                    scope.request(), shape.id, properties.getRepeatThreshold(), shape.sql);
+        }
+    }
+
+    /** Top {@code limit} shapes ordered by {@code sort}: total (default), mean, max, count, rows or errors */
+    public List<ShapeSnapshot> top(int limit, String sort) {
+        Comparator<ShapeSnapshot> order = switch (sort == null ? "total" : sort.toLowerCase(Locale.ROOT)) {
+            case "mean"  -> Comparator.comparingDouble(ShapeSnapshot::meanMs);
+            case "max"   -> Comparator.comparingDouble(ShapeSnapshot::maxMs);
+            case "count" -> Comparator.comparingLong(ShapeSnapshot::count);
+            case "rows"  -> Comparator.comparingLong(ShapeSnapshot::rows);
+            case "errors" -> Comparator.comparingLong(ShapeSnapshot::errors);
+            default      -> Comparator.comparingDouble(ShapeSnapshot::totalMs);
+        };
+        return shapes.values().stream()
+                .map(Shape::snapshot)
+                .sorted(order.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /** Clears the aggregates behind {@link #top} (meters keep their cumulative values) */
+    public void reset() {
+        shapes.values().forEach(Shape::reset);
+    }
+
+    private static String operationOf(String sql) {
+        int end = 0;
+        while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+            end++;
+        }
+        String verb = sql.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (verb) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete", "merge", "call" -> verb;
+            default -> "other";
+        };
+    }
+
+    public record ShapeSnapshot(String id, String operation, String sql, long count,
+                                double totalMs, double meanMs, double maxMs, long rows, long errors,
+                                long nPlusOne) {
+    }
+
+    public final class Shape {
+        final String id;
+        final String sql;
+        final String operation;
+        private final Timer timer;
+        /** Registered on the first failure, so shapes that never fail add no error histogram */
+        private volatile Timer errorTimer;
+        private final DistributionSummary rows;
+        private final Counter nPlusOne;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder totalRows = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Shape(String id, String sql, String operation) {
+            this.id = id;
+            this.sql = sql;
+            this.operation = operation;
+            this.timer = latencyTimer(SUCCESS);
+            this.rows = DistributionSummary.builder("orderprocessing.db.statement.rows")
+                    .description("Rows returned or affected per statement shape")
+                    .tag("service", "orderprocessing")
+                    .tag("statement", id)
+                    .tag("operation", operation)
+                    .register(meterRegistry);
+            this.nPlusOne = Counter.builder("orderprocessing.db.n_plus_one")
+                    .description("Requests that repeated one SELECT shape past the N+1 threshold")
+                    .tag("service", "orderprocessing")
+                    .tag("statement", id)
+                    .register(meterRegistry);
+        }
+
+        private Timer timer(String outcome) {
+            if (!ERROR.equals(outcome)) {
+                return timer;
+            }
+            Timer t = errorTimer;
+            if (t == null) {
+                t = errorTimer = latencyTimer(ERROR);
+            }
+            return t;
+        }
+
+        private Timer latencyTimer(String outcome) {
+            return Timer.builder("orderprocessing.db.statement.latency")
+                    .description("Execution time per statement shape")
+                    .tag("service", "orderprocessing")
+                    .tag("statement", id)
+                    .tag("operation", operation)
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        private ShapeSnapshot snapshot() {
+            long n = count.sum();
+            double totalMs = totalNanos.sum() / 1e6;
+            return new ShapeSnapshot(id, operation, sql, n, totalMs, n == 0 ? 0 : totalMs / n,
+                    maxNanos.get() / 1e6, totalRows.sum(), errors.sum(), (long) nPlusOne.count());
+        }
+
+        private void reset() {
+            count.reset();
+            errors.reset();
+            totalNanos.reset();
+            totalRows.reset();
+            maxNanos.set(0);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.orderprocessing.orderprocessing.db.statement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-request count of executions by statement shape, opened by {@link StatementScopeFilter}.
+ * Threads without an open scope (schedulers, Kafka listeners) are not checked for N+1.
+ */
+public final class StatementScope {
+
+    private static final ThreadLocal<StatementScope> CURRENT = new ThreadLocal<>();
+
+    private final String request;
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    private StatementScope(String request) {
+        this.request = request;
+    }
+
+    public static void open(String request) {
+        CURRENT.set(new StatementScope(request));
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    static StatementScope current() {
+        return CURRENT.get();
+    }
+
+    /** @return how many times {@code shapeId} has now run in this request */
+    int executed(String shapeId) {
+        return executions.merge(shapeId, 1, Integer::sum);
+    }
+
+    String request() {
+        return request;
+    }
+}
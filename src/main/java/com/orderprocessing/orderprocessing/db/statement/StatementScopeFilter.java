@@ -0,0 +1,30 @@
+package com.orderprocessing.orderprocessing.db.statement;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Database Optimisation Enhancement: Statement Scope Filter
+ * Opens a {@link StatementScope} per request so repeated statement shapes (N+1) can be
+ * attributed to the endpoint that issued them.
+ */
+@Component
+@Order(3)
+public class StatementScopeFilter implements Filter {
+
+    @Override
+    public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest httpReq = (HttpServletRequest) req;
+        StatementScope.open(httpReq.getMethod() + " " + httpReq.getRequestURI());
+        try {
+            chain.doFilter(req, res);
+        } finally {
+            StatementScope.close();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.orderprocessing.orderprocessing.db.statement;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Database Optimisation Enhancement: JDBC Timing Proxy
+ *
+ * Wraps a DataSource so that every statement executed on its connections is timed and
+ * reported to {@link StatementMetrics} under its normalised shape. Row counts come from the
+ * update count (DML, summed for batches) or from counting {@code ResultSet.next()} until
+ * the result set is closed (queries). A statement that throws is still recorded, with
+ * outcome=error, so timeouts and deadlocks show up in the latency of their shape.
+ *
+ * Plain JDK proxies over the JDBC interfaces — one extra reflective call per JDBC method,
+ * no agent and no driver wrapper in the URL. {@code unwrap} still reaches the pooled objects.
+ */
+public class StatementTimingDataSource extends DelegatingDataSource {
+
+    private final StatementMetrics metrics;
+
+    public StatementTimingDataSource(DataSource target, StatementMetrics metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    /** Identity semantics for the proxy itself — Hibernate keeps statements in hash maps */
+    private static Object objectMethod(Object proxy, Object target, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> target.toString();
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return objectMethod(proxy, target, method, args);
+            }
+            Object result = StatementTimingDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> statement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        }
+
+        private Object statement(Class<? extends Statement> type, Statement statement, String sql) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                    new StatementHandler(statement, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        /** Prepared SQL, or the last SQL executed / batched on a plain Statement */
+        private String sql;
+        private StatementMetrics.Shape lastShape;
+
+        StatementHandler(Statement target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return objectMethod(proxy, target, method, args);
+            }
+            String name = method.getName();
+            if (!name.startsWith("execute")) {
+                if ("addBatch".equals(name) && args != null && args.length == 1) {
+                    sql = (String) args[0];
+                }
+                Object result = StatementTimingDataSource.invoke(target, method, args);
+                if ("getResultSet".equals(name) && result != null && lastShape != null) {
+                    return resultSet((ResultSet) result, lastShape);
+                }
+                return result;
+            }
+
+            if (args != null && args.length > 0 && args[0] instanceof String executed) {
+                sql = executed;
+            }
+            StatementMetrics.Shape shape = metrics.shapeOf(sql);
+            lastShape = shape;
+            long start = System.nanoTime();
+            Object result = null;
+            String outcome = StatementMetrics.ERROR;
+            try {
+                result = StatementTimingDataSource.invoke(target, method, args);
+                outcome = StatementMetrics.SUCCESS;
+            } finally {
+                long nanos = System.nanoTime() - start;
+                metrics.executed(shape, nanos, outcome, result instanceof ResultSet ? -1 : rowsOf(result));
+            }
+            return result instanceof ResultSet rs ? resultSet(rs, shape) : result;
+        }
+
+        private long rowsOf(Object result) {
+            if (result instanceof Integer n) {
+                return Math.max(n, 0);
+            }
+            if (result instanceof Long n) {
+                return Math.max(n, 0);
+            }
+            if (result instanceof int[] counts) {
+                long sum = 0;
+                for (int n : counts) {
+                    sum += Math.max(n, 0);
+                }
+                return sum;
+            }
+            if (result instanceof long[] counts) {
+                long sum = 0;
+                for (long n : counts) {
+                    sum += Math.max(n, 0);
+                }
+                return sum;
+            }
+            return -1;   // execute(): rows of a result are counted through getResultSet()
+        }
+
+        private ResultSet resultSet(ResultSet rs, StatementMetrics.Shape shape) {
+            return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(),
+                    new Class<?>[] {ResultSet.class}, new ResultSetHandler(rs, shape));
+        }
+    }
+
+    private final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final StatementMetrics.Shape shape;
+        private long rows;
+        private boolean reported;
+
+        ResultSetHandler(ResultSet target, StatementMetrics.Shape shape) {
+            this.target = target;
+            this.shape = shape;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return objectMethod(proxy, target, method, args);
+            }
+            Object result = StatementTimingDataSource.invoke(target, method, args);
+            switch (method.getName()) {
+                case "next" -> {
+                    if (Boolean.TRUE.equals(result)) {
+                        rows++;
+                    }
+                }
+                case "close" -> {
+                    if (!reported) {
+                        reported = true;
+                        metrics.rows(shape, rows);
+                    }
+                }
+                default -> { }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.orderprocessing.orderprocessing.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Summary of one bulk import request.
+ * {@code errors} holds the first rejected rows (row number + reason), capped.
+ * {@code failedChunk} (0-based) and {@code failure} are set when a chunk could not be inserted:
+ * the import stopped there, earlier chunks are committed and counted in {@code imported}.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class OrderProcessImportResult {
+    private long imported;
+    private long rejected;
+    private int chunks;
+    private long durationMs;
+    private double rowsPerSecond;
+    private List<String> errors;
+    private Integer failedChunk;
+    private String failure;
+}
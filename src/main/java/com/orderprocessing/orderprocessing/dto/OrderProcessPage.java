@@ -0,0 +1,43 @@
+package com.orderprocessing.orderprocessing.dto;
+
+import com.orderprocessing.orderprocessing.model.OrderProcess;
+import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * One keyset page of OrderProcess rows, ordered by (createdAt, id).
+ * {@code nextCursor} is null on the last page; pass it back as {@code after} to get the next one.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class OrderProcessPage {
+    private List<OrderProcess> items;
+    private int size;
+    private String nextCursor;
+
+    /** Position of a row in (createdAt, id) order, opaque to clients */
+    public record Cursor(LocalDateTime createdAt, long id) {
+
+        public static Cursor of(OrderProcess p) {
+            return new Cursor(p.getCreatedAt(), p.getId());
+        }
+
+        public String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                int sep = raw.lastIndexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), Long.parseLong(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid page cursor: " + token);
+            }
+        }
+    }
+}
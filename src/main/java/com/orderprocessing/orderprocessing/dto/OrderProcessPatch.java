@@ -0,0 +1,20 @@
+package com.orderprocessing.orderprocessing.dto;
+
+import lombok.*;
+
+/**
+ * Partial update of an OrderProcess. Only non-null fields are applied.
+ * {@code version} is the version the client last read; it may instead be sent
+ * as an {@code If-Match} ETag.
+ */
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+public class OrderProcessPatch {
+    private String stage;
+    private String status;
+    private String notes;
+    private Long version;
+
+    public boolean isEmpty() {
+        return stage == null && status == null && notes == null;
+    }
+}
@@ -5,7 +5,10 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "orderprocesss")
+@Table(name = "orderprocesss", indexes = {
+        @Index(name = "idx_orderprocess_created_id", columnList = "created_at, id"),
+        @Index(name = "idx_orderprocess_status_created_id", columnList = "status, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -13,7 +16,8 @@ import java.time.LocalDateTime;
 public class OrderProcess {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderprocess_seq")
+    @SequenceGenerator(name = "orderprocess_seq", sequenceName = "orderprocess_seq", allocationSize = 50)
     private Long id;
 
     private Long orderId;
@@ -21,12 +25,15 @@ public class OrderProcess {
     private String status;
     private String notes;
 
-    @Column(name = "created_at")
+    @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -1,5 +1,7 @@
 package com.orderprocessing.orderprocessing.monitoring.aspect;
 
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterCache;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterFamily;
 import io.micrometer.core.instrument.*;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
@@ -7,6 +9,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.TimeUnit;
+
 /**
  * Monitoring Enhancement: AOP Monitoring Aspect
  *
@@ -17,6 +21,7 @@ import org.springframework.stereotype.Component;
  *  - Prometheus metric emission
  *
  * No changes needed in business code — just add this aspect once.
+ * Meter handles come from {@link MeterCache}, so a call costs map lookups, not a registration.
  */
 @Aspect
 @Component
@@ -25,9 +30,18 @@ public class MonitoringAspect {
     private static final Logger log = LoggerFactory.getLogger(MonitoringAspect.class);
 
     private final MeterRegistry meterRegistry;
+    private final MeterFamily<Timer> controllerDurations;
+    private final MeterFamily<Counter> controllerErrors;
+    private final MeterFamily<Timer> serviceDurations;
 
-    public MonitoringAspect(MeterRegistry meterRegistry) {
+    public MonitoringAspect(MeterRegistry meterRegistry, MeterCache meterCache) {
         this.meterRegistry = meterRegistry;
+        this.controllerDurations = meterCache.timer("orderprocessing.controller.duration",
+                "REST controller method execution time", true, "class", "method", "status");
+        this.controllerErrors = meterCache.counter("orderprocessing.controller.errors",
+                "REST controller methods that threw", "class", "method");
+        this.serviceDurations = meterCache.timer("orderprocessing.service.duration",
+                "Service method execution time", false, "class", "method");
     }
 
     /**
@@ -37,7 +51,6 @@ public class MonitoringAspect {
     public Object monitorControllerMethod(ProceedingJoinPoint pjp) throws Throwable {
         String className  = pjp.getTarget().getClass().getSimpleName();
         String methodName = pjp.getSignature().getName();
-        String metricName = "orderprocessing.controller.duration";
 
         Timer.Sample sample = Timer.start(meterRegistry);
         String status = "success";
@@ -47,20 +60,10 @@ public class MonitoringAspect {
         } catch (Throwable ex) {
             status = "error";
             log.error("[MONITORING] Controller error in {}.{}: {}", className, methodName, ex.getMessage());
-            Counter.builder("orderprocessing.controller.errors")
-                   .tag("service", "orderprocessing")
-                   .tag("class",  className)
-                   .tag("method", methodName)
-                   .register(meterRegistry).increment();
+            controllerErrors.get(className, methodName).increment();
             throw ex;
         } finally {
-            sample.stop(Timer.builder(metricName)
-                    .tag("service", "orderprocessing")
-                    .tag("class",   className)
-                    .tag("method",  methodName)
-                    .tag("status",  status)
-                    .publishPercentileHistogram()
-                    .register(meterRegistry));
+            sample.stop(controllerDurations.get(className, methodName, status));
         }
     }
 
@@ -82,11 +85,7 @@ public class MonitoringAspect {
             if (elapsed > 500) {
                 log.warn("[APM] SLOW SERVICE METHOD: {}.{} took {}ms", className, methodName, elapsed);
             }
-            meterRegistry.timer("orderprocessing.service.duration",
-                    "service", "orderprocessing",
-                    "class",  className,
-                    "method", methodName)
-                    .record(elapsed, java.util.concurrent.TimeUnit.MILLISECONDS);
+            serviceDurations.get(className, methodName).record(elapsed, TimeUnit.MILLISECONDS);
         }
     }
 }
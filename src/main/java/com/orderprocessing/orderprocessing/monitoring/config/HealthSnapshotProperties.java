@@ -0,0 +1,24 @@
+package com.orderprocessing.orderprocessing.monitoring.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Monitoring Enhancement: Health Snapshot Configuration
+ * Schedule and limits for {@link com.orderprocessing.orderprocessing.monitoring.health.HealthSnapshotEngine}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "health.snapshot")
+public class HealthSnapshotProperties {
+
+    /** Delay between check rounds */
+    private long intervalMs = 5000;
+
+    /** A check that has not answered within this is reported DOWN (timeout) */
+    private long timeoutMs = 2000;
+
+    /** A snapshot older than this is reported DOWN (stale) — the check has stopped completing */
+    private long maxAgeMs = 30000;
+}
@@ -0,0 +1,47 @@
+package com.orderprocessing.orderprocessing.monitoring.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Monitoring Enhancement: Startup Warm-up Configuration
+ * Steps and limits for {@link com.orderprocessing.orderprocessing.monitoring.warmup.StartupWarmer}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /** The pod is marked ready after this even if warm-up has not finished */
+    private Duration timeout = Duration.ofSeconds(60);
+
+    /** Rows read per warm-up page (orderprocesss here, recent orders in the order processing service) */
+    private int recentOrders = 200;
+
+    /** Searches run through the Redis-cached search service */
+    private List<String> searchQueries = new ArrayList<>();
+
+    /** Statuses run through the cached status filter */
+    private List<String> searchStatuses = new ArrayList<>(List.of("PENDING", "IN_PROGRESS", "COMPLETED"));
+
+    /** Topics whose metadata is fetched so the Kafka producer exists before the first send */
+    private List<String> kafkaTopics = new ArrayList<>(List.of("order.processed", "order.cancelled"));
+
+    /** GET paths called over HTTP on this instance; {id} cycles through the warmed order processes */
+    private List<String> httpPaths = new ArrayList<>(List.of(
+            "/api/v1/order-processing",
+            "/api/v1/order-processing/{id}"));
+
+    /**
+     * Calls per HTTP path. Warm-up requests come from localhost and share one RateLimitingFilter
+     * bucket (100/min), so paths × iterations should stay below that.
+     */
+    private int httpIterations = 20;
+}
@@ -11,7 +11,7 @@ import java.lang.management.MemoryMXBean;
  * Exposes custom JVM + application health details via /actuator/health.
  * - Heap usage warning above 85%
  * - Uptime reporting
- * - Ready flag (can be set programmatically during startup)
+ * - Ready flag — held DOWN by StartupWarmer until warm-up finishes (readiness group)
  */
 @Component
 public class AppHealthIndicator implements HealthIndicator {
@@ -0,0 +1,126 @@
+package com.orderprocessing.orderprocessing.monitoring.health;
+
+import com.orderprocessing.orderprocessing.monitoring.config.HealthSnapshotProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monitoring Enhancement: Health Snapshot Engine
+ *
+ * Every {@code health.snapshot.interval-ms} runs the {@link SnapshotHealthIndicator#check()}
+ * of every snapshot-backed indicator in parallel and publishes the results:
+ *  - a check that does not finish within {@code timeout-ms} is published DOWN (timeout);
+ *    its late result, if any, replaces the timeout when it arrives
+ *  - a check still running from an earlier round is not started again, so a hung dependency
+ *    holds at most one thread
+ *  - a snapshot older than {@code max-age-ms} is served as DOWN (stale)
+ *
+ * Rounds run on the engine's own scheduler thread. Each round blocks for up to
+ * {@code timeout-ms}, so on the shared Spring scheduler it would delay every other scheduled task.
+ */
+@Component
+@Slf4j
+public class HealthSnapshotEngine {
+
+    private final List<SnapshotHealthIndicator> indicators;
+    private final HealthSnapshotProperties properties;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "health-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public HealthSnapshotEngine(List<SnapshotHealthIndicator> indicators, HealthSnapshotProperties properties) {
+        this.indicators = indicators;
+        this.properties = properties;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "health-check-" + threads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::tick, 0, properties.getIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+
+    private void tick() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            // an exception would cancel the fixed-delay task for good
+            log.error("Health snapshot round failed: {}", e.getMessage(), e);
+        }
+    }
+
+    public void refresh() {
+        List<Future<?>> running = new ArrayList<>();
+        List<SnapshotHealthIndicator> started = new ArrayList<>();
+        for (SnapshotHealthIndicator indicator : indicators) {
+            if (!indicator.begin()) {
+                continue;   // previous check still running; its snapshot keeps ageing
+            }
+            started.add(indicator);
+            running.add(executor.submit(() -> run(indicator)));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMs());
+        for (int i = 0; i < running.size(); i++) {
+            Future<?> future = running.get(i);
+            try {
+                future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                started.get(i).publish(Health.down()
+                        .withDetail("error", "check timed out after " + properties.getTimeoutMs() + "ms")
+                        .build(), properties.getTimeoutMs(), properties.getMaxAgeMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // run() publishes its own failures
+            }
+        }
+    }
+
+    private void run(SnapshotHealthIndicator indicator) {
+        long start = System.nanoTime();
+        try {
+            Health health;
+            try {
+                health = indicator.check();
+            } catch (Exception e) {
+                health = Health.down(e).build();
+            }
+            long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (latencyMs > properties.getTimeoutMs()) {
+                log.debug("Health check {} completed after {}ms, past its timeout",
+                        indicator.getClass().getSimpleName(), latencyMs);
+            }
+            indicator.publish(health, latencyMs, properties.getMaxAgeMs());
+        } finally {
+            indicator.end();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+}
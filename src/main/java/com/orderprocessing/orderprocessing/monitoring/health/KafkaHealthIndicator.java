@@ -1,11 +1,14 @@
 package com.orderprocessing.orderprocessing.monitoring.health;
 
+import jakarta.annotation.PreDestroy;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.DescribeClusterOptions;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.*;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
@@ -15,29 +18,60 @@ import java.util.concurrent.TimeUnit;
  * Checks Kafka broker connectivity as part of /actuator/health endpoint.
  * Kubernetes readiness probes will fail if Kafka is DOWN.
  * Shows up as "kafka" component in health check response.
+ *
+ * One AdminClient is kept for the life of the application (it reconnects by itself) instead
+ * of a new client — new connections, metadata fetch, threads — per probe.
  */
 @Component
-public class KafkaHealthIndicator implements HealthIndicator {
+public class KafkaHealthIndicator extends SnapshotHealthIndicator {
+
+    private static final int TIMEOUT_MS = 3000;
 
     @Value("${spring.kafka.bootstrap-servers:localhost:9092}")
     private String bootstrapServers;
 
+    private volatile AdminClient client;
+
     @Override
-    public Health health() {
-        try (AdminClient client = AdminClient.create(
-                Map.of(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
-                       AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, "3000",
-                       AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, "3000"))) {
-            client.listTopics().names().get(3, TimeUnit.SECONDS);
+    protected Health check() {
+        try {
+            int brokers = admin().describeCluster(new DescribeClusterOptions().timeoutMs(TIMEOUT_MS))
+                    .nodes().get(TIMEOUT_MS, TimeUnit.MILLISECONDS).size();
             return Health.up()
                     .withDetail("bootstrap-servers", bootstrapServers)
+                    .withDetail("brokers", brokers)
                     .withDetail("status", "Kafka broker reachable")
                     .build();
         } catch (Exception ex) {
             return Health.down()
                     .withDetail("bootstrap-servers", bootstrapServers)
-                    .withDetail("error", ex.getMessage())
+                    .withDetail("error", String.valueOf(ex.getMessage()))
                     .build();
         }
     }
+
+    private AdminClient admin() {
+        AdminClient admin = client;
+        if (admin == null) {
+            synchronized (this) {
+                admin = client;
+                if (admin == null) {
+                    admin = AdminClient.create(Map.of(
+                            AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                            AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, String.valueOf(TIMEOUT_MS),
+                            AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, String.valueOf(TIMEOUT_MS)));
+                    client = admin;
+                }
+            }
+        }
+        return admin;
+    }
+
+    @PreDestroy
+    public void close() {
+        AdminClient admin = client;
+        if (admin != null) {
+            admin.close(Duration.ofSeconds(1));
+        }
+    }
 }
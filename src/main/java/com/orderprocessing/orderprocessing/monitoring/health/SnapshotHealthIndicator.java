@@ -0,0 +1,58 @@
+package com.orderprocessing.orderprocessing.monitoring.health;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Monitoring Enhancement: Snapshot-Backed Health Indicator
+ *
+ * Subclasses implement {@link #check()} — the actual probe of a dependency.
+ * {@link HealthSnapshotEngine} runs it in the background; {@link #health()}, which serves
+ * /actuator/health and the Kubernetes probes, only reads the last result and adds its age
+ * and latency, so a probe never waits on the dependency.
+ */
+public abstract class SnapshotHealthIndicator implements HealthIndicator {
+
+    private final AtomicBoolean inFlight = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    /** Probes the dependency; runs on the engine's threads, never on a request thread */
+    protected abstract Health check();
+
+    @Override
+    public final Health health() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return Health.unknown().withDetail("reason", "no check completed yet").build();
+        }
+        long ageMs = Math.max(0, System.currentTimeMillis() - current.checkedAt.toEpochMilli());
+        Health.Builder builder = ageMs > current.maxAgeMs
+                ? Health.down().withDetail("stale", "last check completed " + ageMs + "ms ago")
+                : Health.status(current.health.getStatus());
+        return builder
+                .withDetails(current.health.getDetails())
+                .withDetail("checked_at", current.checkedAt.toString())
+                .withDetail("age_ms", ageMs)
+                .withDetail("latency_ms", current.latencyMs)
+                .build();
+    }
+
+    /** Claims the check for one run; false while a previous run is still executing */
+    boolean begin() {
+        return inFlight.compareAndSet(false, true);
+    }
+
+    void end() {
+        inFlight.set(false);
+    }
+
+    void publish(Health health, long latencyMs, long maxAgeMs) {
+        snapshot = new Snapshot(health, Instant.now(), latencyMs, maxAgeMs);
+    }
+
+    private record Snapshot(Health health, Instant checkedAt, long latencyMs, long maxAgeMs) {
+    }
+}
@@ -0,0 +1,147 @@
+package com.orderprocessing.orderprocessing.monitoring.metrics;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * One meter name with a fixed list of tag keys, and a resolved meter handle per combination
+ * of tag values.
+ *
+ * Handles are found through one nested {@link ConcurrentHashMap} level per tag key, keyed by
+ * the tag value itself — no key object, Tags or builder is allocated once a combination has
+ * been seen, and String hash codes are cached by the JVM. The fixed-arity {@code get}
+ * overloads avoid a varargs array on the hot path.
+ *
+ * At most {@code maxSeries} combinations are registered; later ones share a single series
+ * whose tag values are all {@value #OVERFLOW}, so an unbounded tag value (an id, a raw path,
+ * an exception message) cannot grow the registry without limit.
+ */
+public final class MeterFamily<M extends Meter> {
+
+    public static final String OVERFLOW = "other";
+    static final String NONE = "none";
+
+    private final String name;
+    private final String[] tagKeys;
+    private final Function<Tags, M> factory;
+    private final int maxSeries;
+    private final Runnable onOverflow;
+    private final ConcurrentMap<String, Object> root = new ConcurrentHashMap<>();
+    private final AtomicInteger series = new AtomicInteger();
+    private volatile M overflow;
+
+    MeterFamily(String name, String[] tagKeys, Function<Tags, M> factory, int maxSeries, Runnable onOverflow) {
+        this.name = name;
+        this.tagKeys = tagKeys;
+        this.factory = factory;
+        this.maxSeries = maxSeries;
+        this.onOverflow = onOverflow;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Registered tag-value combinations, excluding the overflow series */
+    public int size() {
+        return series.get();
+    }
+
+    public M get(String v1) {
+        checkArity(1);
+        M meter = leaf(root, v1);
+        return meter != null ? meter : create(v1);
+    }
+
+    public M get(String v1, String v2) {
+        checkArity(2);
+        ConcurrentMap<String, Object> level = child(root, v1);
+        M meter = level == null ? null : leaf(level, v2);
+        return meter != null ? meter : create(v1, v2);
+    }
+
+    public M get(String v1, String v2, String v3) {
+        checkArity(3);
+        ConcurrentMap<String, Object> level = child(child(root, v1), v2);
+        M meter = level == null ? null : leaf(level, v3);
+        return meter != null ? meter : create(v1, v2, v3);
+    }
+
+    public M get(String v1, String v2, String v3, String v4) {
+        checkArity(4);
+        ConcurrentMap<String, Object> level = child(child(child(root, v1), v2), v3);
+        M meter = level == null ? null : leaf(level, v4);
+        return meter != null ? meter : create(v1, v2, v3, v4);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ConcurrentMap<String, Object> child(ConcurrentMap<String, Object> level, String value) {
+        return level == null ? null : (ConcurrentMap<String, Object>) level.get(key(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private M leaf(ConcurrentMap<String, Object> level, String value) {
+        return (M) level.get(key(value));
+    }
+
+    /**
+     * Slow path: first sight of a combination. Nothing — not even an intermediate level — is
+     * added once the cap is reached, so overflowing values cost no memory.
+     */
+    @SuppressWarnings("unchecked")
+    private M create(String... values) {
+        if (series.get() >= maxSeries) {
+            return overflow();
+        }
+        ConcurrentMap<String, Object> level = root;
+        for (int i = 0; i < values.length - 1; i++) {
+            level = (ConcurrentMap<String, Object>) level.computeIfAbsent(key(values[i]),
+                    k -> new ConcurrentHashMap<String, Object>());
+        }
+        return (M) level.computeIfAbsent(key(values[values.length - 1]), k -> {
+            series.incrementAndGet();
+            return factory.apply(tags(values));
+        });
+    }
+
+    private static String key(String value) {
+        return value == null ? NONE : value;
+    }
+
+    private M overflow() {
+        M meter = overflow;
+        if (meter == null) {
+            synchronized (this) {
+                meter = overflow;
+                if (meter == null) {
+                    String[] values = new String[tagKeys.length];
+                    Arrays.fill(values, OVERFLOW);
+                    meter = factory.apply(tags(values));
+                    overflow = meter;
+                }
+            }
+        }
+        onOverflow.run();
+        return meter;
+    }
+
+    private Tags tags(String[] values) {
+        Tags tags = Tags.empty();
+        for (int i = 0; i < tagKeys.length; i++) {
+            tags = tags.and(tagKeys[i], key(values[i]));
+        }
+        return tags;
+    }
+
+    private void checkArity(int arity) {
+        if (arity != tagKeys.length) {
+            throw new IllegalArgumentException(name + " takes " + tagKeys.length + " tag values, got " + arity);
+        }
+    }
+}
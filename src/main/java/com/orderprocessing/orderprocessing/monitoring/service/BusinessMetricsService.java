@@ -1,5 +1,7 @@
 package com.orderprocessing.orderprocessing.monitoring.service;
 
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterCache;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterFamily;
 import io.micrometer.core.instrument.*;
 import org.springframework.stereotype.Service;
 
@@ -21,18 +23,29 @@ import java.util.concurrent.atomic.AtomicInteger;
 @Service
 public class BusinessMetricsService {
 
-    private final MeterRegistry meterRegistry;
-
     // Gauge — currently active operations
     private final AtomicInteger activeOperations = new AtomicInteger(0);
 
-    public BusinessMetricsService(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+    // Meter handles, resolved once per tag combination
+    private final MeterFamily<Counter> operations;
+    private final MeterFamily<Counter> errors;
+    private final MeterFamily<Counter> kafkaEvents;
+    private final MeterFamily<DistributionSummary> durations;
+
+    public BusinessMetricsService(MeterRegistry meterRegistry, MeterCache meterCache) {
         // Register gauge once
         Gauge.builder("orderprocessing.active.operations", activeOperations, AtomicInteger::get)
              .description("Number of currently active orderprocessing operations")
              .tag("service", "orderprocessing")
              .register(meterRegistry);
+        operations  = meterCache.counter("orderprocessing.operations.total",
+                "Total orderprocessing operations by type and status", "operation", "status");
+        errors      = meterCache.counter("orderprocessing.errors.total",
+                "Total orderprocessing errors by operation and error type", "operation", "error_type");
+        kafkaEvents = meterCache.counter("orderprocessing.kafka.events.total",
+                "Total Kafka events for orderprocessing", "topic", "direction");
+        durations   = meterCache.summary("orderprocessing.operation.duration",
+                "Duration of orderprocessing operations in ms", "operation");
     }
 
     /**
@@ -40,13 +53,7 @@ public class BusinessMetricsService {
      * @param operationType  e.g. "create", "update", "delete", "query"
      */
     public void recordSuccess(String operationType) {
-        Counter.builder("orderprocessing.operations.total")
-               .tag("service", "orderprocessing")
-               .tag("operation", operationType)
-               .tag("status", "success")
-               .description("Total orderprocessing operations by type and status")
-               .register(meterRegistry)
-               .increment();
+        operations.get(operationType, "success").increment();
     }
 
     /**
@@ -55,13 +62,7 @@ public class BusinessMetricsService {
      * @param errorType      e.g. "validation", "database", "kafka"
      */
     public void recordFailure(String operationType, String errorType) {
-        Counter.builder("orderprocessing.errors.total")
-               .tag("service", "orderprocessing")
-               .tag("operation", operationType)
-               .tag("error_type", errorType)
-               .description("Total orderprocessing errors by operation and error type")
-               .register(meterRegistry)
-               .increment();
+        errors.get(operationType, errorType).increment();
     }
 
     /**
@@ -70,13 +71,7 @@ public class BusinessMetricsService {
      * @param direction  "published" or "consumed"
      */
     public void recordKafkaEvent(String topic, String direction) {
-        Counter.builder("orderprocessing.kafka.events.total")
-               .tag("service", "orderprocessing")
-               .tag("topic", topic)
-               .tag("direction", direction)
-               .description("Total Kafka events for orderprocessing")
-               .register(meterRegistry)
-               .increment();
+        kafkaEvents.get(topic, direction).increment();
     }
 
     /**
@@ -85,10 +80,7 @@ public class BusinessMetricsService {
      * @param durationMs     elapsed milliseconds
      */
     public void recordDuration(String operationType, long durationMs) {
-        meterRegistry.summary("orderprocessing.operation.duration",
-                "service", "orderprocessing",
-                "operation", operationType)
-               .record(durationMs);
+        durations.get(operationType).record(durationMs);
     }
 
     /** Mark one more in-flight operation. Call at start of operation. */
@@ -0,0 +1,279 @@
+package com.orderprocessing.orderprocessing.monitoring.warmup;
+
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import com.orderprocessing.orderprocessing.db.config.ReplicaPool;
+import com.orderprocessing.orderprocessing.db.search.OrderprocessingSearchService;
+import com.orderprocessing.orderprocessing.model.OrderProcess;
+import com.orderprocessing.orderprocessing.monitoring.config.WarmupProperties;
+import com.orderprocessing.orderprocessing.monitoring.health.AppHealthIndicator;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterCache;
+import com.orderprocessing.orderprocessing.monitoring.metrics.MeterFamily;
+import com.orderprocessing.orderprocessing.service.OrderProcessService;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.spec.SecretKeySpec;
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Monitoring Enhancement: Startup Warm-up
+ *
+ * A new pod starts with empty caches, cold connection pools, lazily created Kafka and
+ * Elasticsearch clients and an interpreter-only JIT, so its first minutes of traffic are
+ * several times slower at p99. After ApplicationReadyEvent this runs, on its own thread:
+ *
+ *   pools    open minimumIdle connections on the primary and each replica pool
+ *   orders   read the first keyset pages of orderprocesss through {@link OrderProcessService}
+ *   search   run the configured searches / statuses through the Redis-cached search service
+ *   kafka    fetch topic metadata, which creates the producer and its broker connections
+ *   http     call the main GET endpoints on this instance with a short-lived token
+ *
+ * {@link AppHealthIndicator} — part of the readiness group — reports DOWN until warm-up
+ * finishes or warmup.timeout passes, so the pod gets no traffic before. A failing step is
+ * logged and skipped; warm-up never keeps a pod unready past the timeout. A separate timer marks
+ * the pod ready at the timeout, so a step that hangs (a blocked Kafka metadata fetch, a stuck
+ * search) cannot hold readiness back.
+ *
+ * Only beans of this application are warmed; the order processing service warms its own
+ * caches with {@code com.order.processing.service.OrderProcessingWarmer}.
+ *
+ * Metrics:
+ *  - orderprocessing.warmup.step  — timer, tags step, outcome=ok|failed|skipped
+ */
+@Component
+@Slf4j
+public class StartupWarmer {
+
+    private final WarmupProperties properties;
+    private final AppHealthIndicator appHealth;
+    private final DataSource primaryDataSource;
+    private final ReplicaPool replicaPool;
+    private final OrderProcessService orderProcessService;
+    private final OrderprocessingSearchService searchService;
+    private final KafkaTemplate<String, byte[]> eventKafkaTemplate;
+    private final String jwtSecret;
+    private final MeterFamily<Timer> steps;
+
+    private final List<Long> recentIds = new ArrayList<>();
+    private volatile Instant deadline;
+    private volatile boolean finished;
+    private final ScheduledExecutorService deadlineTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "startup-warmer-deadline");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public StartupWarmer(WarmupProperties properties,
+                         AppHealthIndicator appHealth,
+                         @Qualifier("primaryDataSource") DataSource primaryDataSource,
+                         ReplicaPool replicaPool,
+                         OrderProcessService orderProcessService,
+                         OrderprocessingSearchService searchService,
+                         @Qualifier("eventKafkaTemplate") KafkaTemplate<String, byte[]> eventKafkaTemplate,
+                         @Value("${security.jwt.secret}") String jwtSecret,
+                         MeterCache meterCache) {
+        this.properties = properties;
+        this.appHealth = appHealth;
+        this.primaryDataSource = primaryDataSource;
+        this.replicaPool = replicaPool;
+        this.orderProcessService = orderProcessService;
+        this.searchService = searchService;
+        this.eventKafkaTemplate = eventKafkaTemplate;
+        this.jwtSecret = jwtSecret;
+        this.steps = meterCache.timer("orderprocessing.warmup.step", "Startup warm-up step duration",
+                false, "step", "outcome");
+        if (properties.isEnabled()) {
+            appHealth.setReady(false);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady(ApplicationReadyEvent event) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        int port = event.getApplicationContext() instanceof WebServerApplicationContext web
+                ? web.getWebServer().getPort() : -1;
+        deadline = Instant.now().plus(properties.getTimeout());
+        deadlineTimer.schedule(this::deadlineReached, properties.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        Thread thread = new Thread(() -> warmUp(port), "startup-warmer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void warmUp(int port) {
+        long start = System.nanoTime();
+        try {
+            step("pools", this::warmPools);
+            step("orders", this::warmOrders);
+            step("search", this::warmSearch);
+            step("kafka", this::warmKafka);
+            if (port > 0) {
+                step("http", () -> warmHttp(port));
+            }
+        } finally {
+            finished = true;
+            deadlineTimer.shutdownNow();
+            appHealth.setReady(true);
+            log.info("[WARMUP] Finished in {} ms — ready for traffic",
+                    Duration.ofNanos(System.nanoTime() - start).toMillis());
+        }
+    }
+
+    private void deadlineReached() {
+        if (!finished) {
+            appHealth.setReady(true);
+            log.warn("[WARMUP] Timeout {} reached with warm-up still running — ready for traffic",
+                    properties.getTimeout());
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        deadlineTimer.shutdownNow();
+    }
+
+    private void step(String name, WarmupStep step) {
+        if (Instant.now().isAfter(deadline)) {
+            steps.get(name, "skipped").record(Duration.ZERO);
+            log.warn("[WARMUP] Skipping {} — warm-up timeout {} reached", name, properties.getTimeout());
+            return;
+        }
+        long start = System.nanoTime();
+        String outcome = "ok";
+        try {
+            step.run();
+        } catch (Exception e) {
+            outcome = "failed";
+            log.warn("[WARMUP] Step {} failed: {}", name, e.getMessage());
+        } finally {
+            steps.get(name, outcome).record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private void warmPools() throws SQLException {
+        openConnections(primaryDataSource);
+        for (ReplicaPool.Replica replica : replicaPool.replicas()) {
+            openConnections(replica);
+        }
+    }
+
+    /** Holds minimumIdle connections at once so the pool creates them all now, not on first use */
+    private static void openConnections(DataSource dataSource) throws SQLException {
+        int count = dataSource.isWrapperFor(HikariDataSource.class)
+                ? Math.max(1, dataSource.unwrap(HikariDataSource.class).getMinimumIdle())
+                : 1;
+        List<Connection> held = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(1);
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    private void warmOrders() {
+        List<OrderProcess> page = orderProcessService.findPage(null, null, properties.getRecentOrders()).getItems();
+        for (OrderProcess order : page) {
+            recentIds.add(order.getId());
+        }
+        for (String status : properties.getSearchStatuses()) {
+            orderProcessService.findPage(status, null, properties.getRecentOrders());
+        }
+        log.info("[WARMUP] Loaded {} order processes", page.size());
+    }
+
+    private void warmSearch() {
+        properties.getSearchQueries().forEach(searchService::search);
+        properties.getSearchStatuses().forEach(searchService::findByStatus);
+    }
+
+    private void warmKafka() {
+        for (String topic : properties.getKafkaTopics()) {
+            eventKafkaTemplate.partitionsFor(topic);
+        }
+    }
+
+    private void warmHttp(int port) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        String bearer = "Bearer " + warmupToken();
+        int calls = 0;
+        int failures = 0;
+        for (String path : properties.getHttpPaths()) {
+            for (int i = 0; i < properties.getHttpIterations() && Instant.now().isBefore(deadline); i++) {
+                String resolved = path;
+                if (path.contains("{id}")) {
+                    if (recentIds.isEmpty()) {
+                        break;
+                    }
+                    resolved = path.replace("{id}", String.valueOf(recentIds.get(i % recentIds.size())));
+                }
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + resolved))
+                        .header("Authorization", bearer)
+                        .header("X-Warmup", "true")
+                        .timeout(Duration.ofSeconds(5))
+                        .GET()
+                        .build();
+                int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                calls++;
+                if (status >= 500) {
+                    failures++;
+                }
+            }
+        }
+        log.info("[WARMUP] {} synthetic requests, {} server errors", calls, failures);
+    }
+
+    /** Signed with the service's own HS256 secret; valid only for the warm-up window */
+    private String warmupToken() {
+        SecretKeySpec key = new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject("startup-warmer")
+                .issuedAt(now)
+                .expiresAt(now.plus(properties.getTimeout()))
+                .claim("roles", List.of("USER"))
+                .build();
+        return new NimbusJwtEncoder(new ImmutableSecret<>(key))
+                .encode(JwtEncoderParameters.from(JwsHeader.with(MacAlgorithm.HS256).build(), claims))
+                .getTokenValue();
+    }
+
+    @FunctionalInterface
+    private interface WarmupStep {
+        void run() throws Exception;
+    }
+}
@@ -1,11 +1,86 @@
 package com.orderprocessing.orderprocessing.repository;
 
 import com.orderprocessing.orderprocessing.model.OrderProcess;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface OrderProcessRepository extends JpaRepository<OrderProcess, Long> {
     List<OrderProcess> findByStatus(String status);
+
+    // ── Keyset pagination on (createdAt, id) ─────────────────────────────────
+    // First pages take a Pageable sorted by createdAt, id (no count query);
+    // later pages seek past the cursor instead of using OFFSET.
+
+    List<OrderProcess> findAllBy(Pageable pageable);
+
+    List<OrderProcess> findByStatus(String status, Pageable pageable);
+
+    @Query("SELECT p FROM OrderProcess p " +
+           "WHERE p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id) " +
+           "ORDER BY p.createdAt, p.id")
+    List<OrderProcess> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id,
+                                     Pageable limit);
+
+    @Query("SELECT p FROM OrderProcess p " +
+           "WHERE p.status = :status " +
+           "AND (p.createdAt > :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) " +
+           "ORDER BY p.createdAt, p.id")
+    List<OrderProcess> findPageByStatusAfter(@Param("status") String status,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+
+    // ── Partial update ──────────────────────────────────────────────────────
+
+    /**
+     * Applies the non-null fields in one statement, guarded by the expected version.
+     * Returns 0 if the row does not exist or its version has moved on.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE OrderProcess p SET " +
+           "p.stage = COALESCE(:stage, p.stage), " +
+           "p.status = COALESCE(:status, p.status), " +
+           "p.notes = COALESCE(:notes, p.notes), " +
+           "p.updatedAt = :updatedAt, " +
+           "p.version = p.version + 1 " +
+           "WHERE p.id = :id AND p.version = :version")
+    int applyPatch(@Param("id") Long id,
+                   @Param("stage") String stage,
+                   @Param("status") String status,
+                   @Param("notes") String notes,
+                   @Param("updatedAt") LocalDateTime updatedAt,
+                   @Param("version") Long version);
+
+    @Query("SELECT p.version FROM OrderProcess p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // ── Streaming (caller must hold a transaction and close the stream) ──────
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM OrderProcess p ORDER BY p.createdAt, p.id")
+    Stream<OrderProcess> streamAll();
+
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+                 @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    @Query("SELECT p FROM OrderProcess p WHERE p.status = :status ORDER BY p.createdAt, p.id")
+    Stream<OrderProcess> streamByStatus(@Param("status") String status);
 }
@@ -0,0 +1,302 @@
+package com.orderprocessing.orderprocessing.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.order.common.events.dto.OrderProcessEventDto;
+import com.order.common.events.EventEncoder;
+import com.order.common.events.EventPublisher;
+import com.orderprocessing.orderprocessing.dto.OrderProcessImportResult;
+import com.orderprocessing.orderprocessing.model.OrderProcess;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Bulk import of OrderProcess rows from NDJSON or CSV.
+ *
+ * The body is parsed incrementally (one row at a time, never the whole payload), rows are
+ * grouped into chunks and each chunk is inserted in its own transaction:
+ *  - IDs come from the pooled orderprocess_seq sequence (allocationSize 50), so Hibernate
+ *    can batch the INSERTs — IDENTITY would force one round trip per row
+ *  - the session JDBC batch size is raised to the chunk size; flush + clear after each chunk
+ *    keeps the persistence context small
+ *  - one ORDERPROCESS_BULK_IMPORTED event per chunk instead of one per row, listing the
+ *    chunk's ids (pooled sequence blocks interleave with other writers, so they are not a range)
+ *
+ * If a chunk fails to insert, its transaction rolls back and the import stops there. Earlier
+ * chunks stay committed, and the result reports them together with the failed chunk's index
+ * and error instead of failing the whole request.
+ *
+ * CSV must have a header row; recognised columns: orderId, stage, status, notes.
+ *
+ * Metrics:
+ *  - orderprocessing.import.rows  — tagged result=imported|rejected (rate = rows/sec)
+ */
+@Service
+@Slf4j
+public class OrderProcessImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String TOPIC = "order.processed";
+    private static final String EVENT = "ORDERPROCESS_BULK_IMPORTED";
+    private static final int MAX_REPORTED_ERRORS = 20;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final EventPublisher eventPublisher;
+    private final EventEncoder eventEncoder;
+    private final ObjectReader ndjsonReader;
+    private final int chunkSize;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public OrderProcessImportService(EntityManager entityManager,
+                                     TransactionTemplate transactionTemplate,
+                                     EventPublisher eventPublisher,
+                                     EventEncoder eventEncoder,
+                                     ObjectMapper objectMapper,
+                                     @Value("${orderprocess.import.chunk-size:1000}") int chunkSize,
+                                     MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.eventEncoder = eventEncoder;
+        this.ndjsonReader = objectMapper.readerFor(OrderProcess.class)
+                .without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        this.chunkSize = chunkSize;
+        this.importedRows = Counter.builder("orderprocessing.import.rows")
+                .description("OrderProcess rows processed by bulk import")
+                .tag("service", "orderprocessing")
+                .tag("result", "imported")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("orderprocessing.import.rows")
+                .description("OrderProcess rows processed by bulk import")
+                .tag("service", "orderprocessing")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+    }
+
+    public OrderProcessImportResult importRows(InputStream body, Format format) throws IOException {
+        ImportRun run = new ImportRun();
+        if (format == Format.NDJSON) {
+            readNdjson(body, run);
+        } else {
+            readCsv(body, run);
+        }
+        run.flushChunk();
+        if (run.failedChunk != null) {
+            log.warn("Bulk import stopped at chunk {}: {}", run.failedChunk, run.failure);
+        }
+
+        long durationMs = Math.max(1, (System.nanoTime() - run.start) / 1_000_000);
+        double rowsPerSecond = run.imported * 1000.0 / durationMs;
+        log.info("Bulk import finished: {} imported, {} rejected, {} chunks in {} ms ({} rows/s)",
+                run.imported, run.rejected, run.chunks, durationMs, String.format("%.0f", rowsPerSecond));
+        return OrderProcessImportResult.builder()
+                .imported(run.imported)
+                .rejected(run.rejected)
+                .chunks(run.chunks)
+                .durationMs(durationMs)
+                .rowsPerSecond(rowsPerSecond)
+                .errors(run.errors)
+                .failedChunk(run.failedChunk)
+                .failure(run.failure)
+                .build();
+    }
+
+    // ── Parsing ───────────────────────────────────────────────────────────────
+
+    /** Bad values in a well-formed row reject that row; malformed JSON stops the import */
+    private void readNdjson(InputStream body, ImportRun run) throws IOException {
+        try (MappingIterator<OrderProcess> rows = ndjsonReader.readValues(body)) {
+            long row = 0;
+            while (!run.stopped()) {
+                row++;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    run.add(rows.nextValue());
+                } catch (JsonMappingException e) {
+                    run.reject(row, e.getOriginalMessage());
+                } catch (JsonProcessingException e) {
+                    run.reject(row, "malformed JSON, import stopped: " + e.getOriginalMessage());
+                    break;
+                }
+            }
+        }
+    }
+
+    private void readCsv(InputStream body, ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return;
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsv(header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        String line;
+        long lineNumber = 1;
+        while (!run.stopped() && (line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                List<String> values = splitCsv(line);
+                String orderId = column(values, columns, "orderid");
+                run.add(OrderProcess.builder()
+                        .orderId(orderId == null ? null : Long.valueOf(orderId))
+                        .stage(column(values, columns, "stage"))
+                        .status(column(values, columns, "status"))
+                        .notes(column(values, columns, "notes"))
+                        .build());
+            } catch (RuntimeException e) {
+                run.reject(lineNumber - 1, e.getMessage());
+            }
+        }
+    }
+
+    private static String column(List<String> values, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String v = values.get(index);
+        return v.isEmpty() ? null : v;
+    }
+
+    /** Splits one CSV line; supports double-quoted fields with "" escapes (no embedded newlines) */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // ── Chunked insert ────────────────────────────────────────────────────────
+
+    private final class ImportRun {
+        final long start = System.nanoTime();
+        final List<OrderProcess> chunk = new ArrayList<>(chunkSize);
+        final List<String> errors = new ArrayList<>();
+        long imported;
+        long rejected;
+        int chunks;
+        Integer failedChunk;
+        String failure;
+
+        boolean stopped() {
+            return failedChunk != null;
+        }
+
+        void add(OrderProcess row) {
+            if (stopped()) {
+                return;
+            }
+            row.setId(null);
+            row.setVersion(null);
+            chunk.add(row);
+            if (chunk.size() >= chunkSize) {
+                flushChunk();
+            }
+        }
+
+        void reject(long row, String reason) {
+            rejected++;
+            rejectedRows.increment();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("row " + row + ": " + reason);
+            }
+        }
+
+        void flushChunk() {
+            if (chunk.isEmpty() || stopped()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    entityManager.unwrap(Session.class).setJdbcBatchSize(chunkSize);
+                    for (OrderProcess row : chunk) {
+                        entityManager.persist(row);
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+            } catch (RuntimeException e) {
+                // rolled back — the chunk's rows count as rejected and parsing stops
+                failedChunk = chunks;
+                failure = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                rejected += chunk.size();
+                rejectedRows.increment(chunk.size());
+                chunk.clear();
+                return;
+            }
+
+            List<Long> ids = new ArrayList<>(chunk.size());
+            for (OrderProcess row : chunk) {
+                ids.add(row.getId());
+            }
+            byte[] payload = eventEncoder.orderProcessChanged(TOPIC, OrderProcessEventDto.builder()
+                    .event(EVENT)
+                    .ids(ids)
+                    .count((long) chunk.size())
+                    .createdAt(LocalDateTime.now())
+                    .build());
+            eventPublisher.publish(TOPIC, EVENT, payload);
+
+            imported += chunk.size();
+            importedRows.increment(chunk.size());
+            chunks++;
+            chunk.clear();
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package com.orderprocessing.orderprocessing.service;
 
+import com.order.common.events.dto.OrderProcessEventDto;
+import com.order.common.events.EventEncoder;
+import com.order.common.events.EventPublisher;
+import com.orderprocessing.orderprocessing.dto.OrderProcessPage;
+import com.orderprocessing.orderprocessing.dto.OrderProcessPatch;
 import com.orderprocessing.orderprocessing.model.OrderProcess;
 import com.orderprocessing.orderprocessing.repository.OrderProcessRepository;
 import lombok.RequiredArgsConstructor;
+import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -16,39 +28,156 @@ import java.util.Optional;
 public class OrderProcessService {
 
     private final OrderProcessRepository orderProcessRepository;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final EventPublisher eventPublisher;
+    private final EventEncoder eventEncoder;
+    private final EntityManager entityManager;
 
     private static final String TOPIC = "order.processed";
+    private static final Sort KEYSET_ORDER = Sort.by("createdAt", "id");
 
     public OrderProcess create(OrderProcess orderProcess) {
         log.info("Creating OrderProcess: {}", orderProcess);
         OrderProcess saved = orderProcessRepository.save(orderProcess);
-        kafkaTemplate.send(TOPIC, "ORDERPROCESS_CREATED", saved.toString());
+        publish("ORDERPROCESS_CREATED", toEvent("ORDERPROCESS_CREATED", saved));
         log.info("OrderProcess created with id: {}", saved.getId());
         return saved;
     }
 
-    public List<OrderProcess> findAll() {
-        return orderProcessRepository.findAll();
+    /**
+     * Keyset page in (createdAt, id) order, optionally filtered by status.
+     * Cost per page is independent of how deep the client has paged.
+     */
+    @Transactional(readOnly = true)
+    public OrderProcessPage findPage(String status, String after, int limit) {
+        List<OrderProcess> items;
+        if (after == null) {
+            PageRequest first = PageRequest.of(0, limit, KEYSET_ORDER);
+            items = status == null
+                    ? orderProcessRepository.findAllBy(first)
+                    : orderProcessRepository.findByStatus(status, first);
+        } else {
+            OrderProcessPage.Cursor cursor = OrderProcessPage.Cursor.decode(after);
+            PageRequest next = PageRequest.ofSize(limit);
+            items = status == null
+                    ? orderProcessRepository.findPageAfter(cursor.createdAt(), cursor.id(), next)
+                    : orderProcessRepository.findPageByStatusAfter(status, cursor.createdAt(), cursor.id(), next);
+        }
+        String nextCursor = items.size() < limit
+                ? null
+                : OrderProcessPage.Cursor.of(items.get(items.size() - 1)).encode();
+        return OrderProcessPage.builder()
+                .items(items)
+                .size(items.size())
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Streams every row (optionally filtered by status) to {@code sink} in (createdAt, id) order.
+     * Rows are fetched in driver batches and detached once handed over, so the persistence
+     * context — and heap — stay flat regardless of table size.
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(String status, Consumer<OrderProcess> sink) {
+        try (Stream<OrderProcess> rows = status == null
+                ? orderProcessRepository.streamAll()
+                : orderProcessRepository.streamByStatus(status)) {
+            rows.forEach(p -> {
+                sink.accept(p);
+                entityManager.detach(p);
+            });
+        }
     }
 
     public Optional<OrderProcess> findById(Long id) {
         return orderProcessRepository.findById(id);
     }
 
-    public OrderProcess update(Long id, OrderProcess updated) {
-        return orderProcessRepository.findById(id).map(existing -> {
-            updated.setId(id);
-            OrderProcess saved = orderProcessRepository.save(updated);
-            kafkaTemplate.send(TOPIC, "ORDERPROCESS_UPDATED", saved.toString());
-            log.info("OrderProcess updated: {}", saved.getId());
-            return saved;
-        }).orElseThrow(() -> new RuntimeException("OrderProcess not found: " + id));
+    /**
+     * Replaces every field except {@code createdAt}, provided the row is still at
+     * {@code expectedVersion}. A concurrent write between the check and the save is caught by
+     * the entity's {@code @Version} and reported as a conflict as well.
+     */
+    public UpdateResult update(Long id, OrderProcess updated, long expectedVersion) {
+        Optional<OrderProcess> found = orderProcessRepository.findById(id);
+        if (found.isEmpty()) {
+            return new UpdateResult(PatchResult.Outcome.NOT_FOUND, null, null);
+        }
+        OrderProcess existing = found.get();
+        if (existing.getVersion() == null || existing.getVersion() != expectedVersion) {
+            return new UpdateResult(PatchResult.Outcome.CONFLICT, existing.getVersion(), null);
+        }
+        updated.setId(id);
+        updated.setCreatedAt(existing.getCreatedAt());
+        updated.setVersion(expectedVersion);
+        OrderProcess saved;
+        try {
+            saved = orderProcessRepository.save(updated);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return orderProcessRepository.findVersionById(id)
+                    .map(current -> new UpdateResult(PatchResult.Outcome.CONFLICT, current, null))
+                    .orElseGet(() -> new UpdateResult(PatchResult.Outcome.NOT_FOUND, null, null));
+        }
+        publish("ORDERPROCESS_UPDATED", toEvent("ORDERPROCESS_UPDATED", saved));
+        log.info("OrderProcess updated: {} (version {})", saved.getId(), saved.getVersion());
+        return new UpdateResult(PatchResult.Outcome.APPLIED, saved.getVersion(), saved);
+    }
+
+    /**
+     * Applies the supplied fields with one conditional UPDATE — no read, no merge.
+     * The row is only read on the failure path, to tell "missing" from "stale version".
+     * The ORDERPROCESS_UPDATED event carries only the patched fields.
+     */
+    public PatchResult patch(Long id, OrderProcessPatch patch, long expectedVersion) {
+        LocalDateTime now = LocalDateTime.now();
+        int updated = orderProcessRepository.applyPatch(
+                id, patch.getStage(), patch.getStatus(), patch.getNotes(), now, expectedVersion);
+        if (updated == 0) {
+            return orderProcessRepository.findVersionById(id)
+                    .map(current -> new PatchResult(PatchResult.Outcome.CONFLICT, current))
+                    .orElseGet(() -> new PatchResult(PatchResult.Outcome.NOT_FOUND, null));
+        }
+        publish("ORDERPROCESS_UPDATED", OrderProcessEventDto.builder()
+                .event("ORDERPROCESS_UPDATED")
+                .id(id)
+                .stage(patch.getStage())
+                .status(patch.getStatus())
+                .notes(patch.getNotes())
+                .updatedAt(now)
+                .build());
+        log.info("OrderProcess patched: {} (version {})", id, expectedVersion + 1);
+        return new PatchResult(PatchResult.Outcome.APPLIED, expectedVersion + 1);
+    }
+
+    /** Outcome of {@link #patch}; {@code version} is the row's version afterwards (null if missing) */
+    public record PatchResult(Outcome outcome, Long version) {
+        public enum Outcome { APPLIED, NOT_FOUND, CONFLICT }
+    }
+
+    /** Outcome of {@link #update}; {@code saved} is the stored row when applied */
+    public record UpdateResult(PatchResult.Outcome outcome, Long version, OrderProcess saved) {
     }
 
     public void delete(Long id) {
         orderProcessRepository.deleteById(id);
-        kafkaTemplate.send(TOPIC, "ORDERPROCESS_DELETED", id.toString());
+        publish("ORDERPROCESS_DELETED", OrderProcessEventDto.builder().event("ORDERPROCESS_DELETED").id(id).build());
         log.info("OrderProcess deleted: {}", id);
     }
+
+    private void publish(String key, OrderProcessEventDto event) {
+        eventPublisher.publish(TOPIC, key, eventEncoder.orderProcessChanged(TOPIC, event));
+    }
+
+    private OrderProcessEventDto toEvent(String eventType, OrderProcess p) {
+        return OrderProcessEventDto.builder()
+                .event(eventType)
+                .id(p.getId())
+                .orderId(p.getOrderId())
+                .stage(p.getStage())
+                .status(p.getStatus())
+                .notes(p.getNotes())
+                .createdAt(p.getCreatedAt())
+                .updatedAt(p.getUpdatedAt())
+                .build();
+    }
 }
@@ -0,0 +1,54 @@
+-- Database Optimisation Enhancement: Owned Schema (H2 / local development)
+-- Service: orderprocessing
+-- Version: V3 — same tables and indexes as postgresql/V3, without partitioning
+
+CREATE SEQUENCE IF NOT EXISTS order_processing_id_seq;
+
+CREATE TABLE IF NOT EXISTS order_processing (
+    id                   BIGINT       DEFAULT NEXT VALUE FOR order_processing_id_seq NOT NULL,
+    order_id             VARCHAR(255) NOT NULL,
+    status               VARCHAR(255) NOT NULL,
+    inventory_check      VARCHAR(255),
+    inventory_available  BOOLEAN,
+    validation_result    VARCHAR(255),
+    validation_passed    BOOLEAN,
+    processing_notes     CLOB,
+    processed_at         TIMESTAMP(6),
+    processed_by         VARCHAR(255),
+    created_at           TIMESTAMP(6) NOT NULL,
+    updated_at           TIMESTAMP(6),
+    version              BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT order_processing_pkey PRIMARY KEY (id),
+    CONSTRAINT uk_order_processing_order_id UNIQUE (order_id)
+);
+
+-- A table created earlier by ddl-auto had a nullable version; transitionStatus compares it
+-- with "version = :expectedVersion", which never matches NULL.
+ALTER TABLE order_processing ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE order_processing SET version = 0 WHERE version IS NULL;
+ALTER TABLE order_processing ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE order_processing ALTER COLUMN version SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_order_processing_status_updated ON order_processing (status, updated_at);
+CREATE INDEX IF NOT EXISTS idx_order_processing_created_id     ON order_processing (created_at DESC, id DESC);
+
+CREATE SEQUENCE IF NOT EXISTS orderprocess_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS orderprocesss (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    order_id    BIGINT,
+    stage       VARCHAR(255),
+    status      VARCHAR(255),
+    notes       VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6),
+    version     BIGINT       NOT NULL DEFAULT 0
+);
+
+ALTER TABLE orderprocesss ADD COLUMN IF NOT EXISTS version BIGINT;
+UPDATE orderprocesss SET version = 0 WHERE version IS NULL;
+ALTER TABLE orderprocesss ALTER COLUMN version SET DEFAULT 0;
+ALTER TABLE orderprocesss ALTER COLUMN version SET NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_orderprocess_created_id        ON orderprocesss (created_at, id);
+CREATE INDEX IF NOT EXISTS idx_orderprocess_status_created_id ON orderprocesss (status, created_at, id);
@@ -0,0 +1,21 @@
+-- Database Optimisation Enhancement: order_processing Read Model (H2 / local development)
+-- Service: orderprocessing
+-- Version: V4 — same as postgresql/V4
+
+CREATE TABLE IF NOT EXISTS order_processing_view (
+    order_id             VARCHAR(255) NOT NULL PRIMARY KEY,
+    status               VARCHAR(255) NOT NULL,
+    inventory_available  BOOLEAN,
+    inventory_check      VARCHAR(255),
+    validation_passed    BOOLEAN,
+    validation_result    VARCHAR(255),
+    processing_notes     CLOB,
+    processed_at         TIMESTAMP(6),
+    created_at           TIMESTAMP(6),
+    updated_at           TIMESTAMP(6),
+    source_version       BIGINT,
+    projected_at         TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_order_processing_view_status_updated ON order_processing_view (status, updated_at DESC);
+CREATE INDEX IF NOT EXISTS idx_order_processing_view_projected ON order_processing_view (projected_at);
@@ -0,0 +1,26 @@
+-- Database Optimisation Enhancement: order_processing Read Model
+-- Service: orderprocessing
+-- Version: V4 — denormalised status projection, written only by OrderProcessingProjector
+--
+-- Status reads go here instead of the partitioned write table. One row per order, keyed by
+-- order_id (a plain primary key — this table is not partitioned).
+
+CREATE TABLE IF NOT EXISTS order_processing_view (
+    order_id             VARCHAR(255) NOT NULL PRIMARY KEY,
+    status               VARCHAR(255) NOT NULL,
+    inventory_available  BOOLEAN,
+    inventory_check      VARCHAR(255),
+    validation_passed    BOOLEAN,
+    validation_result    VARCHAR(255),
+    processing_notes     TEXT,
+    processed_at         TIMESTAMP(6),
+    created_at           TIMESTAMP(6),
+    updated_at           TIMESTAMP(6),
+    source_version       BIGINT,
+    projected_at         TIMESTAMP(6) NOT NULL
+) WITH (fillfactor = 90);   -- room for HOT updates: rows are rewritten on every status change
+
+-- Dashboards: orders per status, most recently changed first
+CREATE INDEX IF NOT EXISTS idx_order_processing_view_status_updated ON order_processing_view (status, updated_at DESC);
+-- Rebuild orphan sweep
+CREATE INDEX IF NOT EXISTS idx_order_processing_view_projected ON order_processing_view (projected_at);
@@ -0,0 +1,112 @@
+package com.order.common.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.order.common.events.codec.BinaryEventCodec;
+import com.order.common.events.dto.CancellationEventDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Event payload encoding: the approaches the producers used before {@link EventPayloadWriter}
+ * against the streaming writer and the binary codec. Every variant ends in the byte[] Kafka
+ * sends, so the String baselines include the UTF-8 encode their StringSerializer used to do.
+ *
+ * The String.format baseline does no escaping, so the inputs contain no characters that need it.
+ *
+ * Run from the test classpath (the GC profiler reports gc.alloc.rate.norm, bytes per event):
+ *
+ *   java -cp target/test-classes:target/classes:<test classpath> com.order.common.events.EventEncodingBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventEncodingBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EventPayloadWriter jsonWriter = new EventPayloadWriter();
+    private final BinaryEventCodec binaryCodec = new BinaryEventCodec();
+
+    private final String orderId = "ORD-20240314-000042";
+    private final String stage = "VALIDATED";
+    private final String message = "Order validated and queued for packing";
+    private final LocalDateTime timestamp = LocalDateTime.of(2024, 3, 14, 15, 9, 26, 535_897_000);
+    private final CancellationEventDto cancellation = CancellationEventDto.builder()
+            .orderId(orderId)
+            .customerId("CUST-1187")
+            .reason("Customer requested cancellation")
+            .refundAmount(129.95)
+            .cancelledAt(1_710_428_966_535L)
+            .build();
+
+    // ── order.processed ───────────────────────────────────────────────────────
+
+    /** Former TrackingEventProducer payload */
+    @Benchmark
+    public byte[] orderProcessedStringFormat() {
+        return String.format(
+                "{\"orderId\":\"%s\",\"stage\":\"%s\",\"message\":\"%s\",\"event\":\"ORDER_PROCESSED\",\"timestamp\":\"%s\"}",
+                orderId, stage, message, timestamp).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] orderProcessedStreamingWriter() {
+        return jsonWriter.orderProcessed(orderId, stage, message, timestamp);
+    }
+
+    @Benchmark
+    public byte[] orderProcessedBinary() {
+        return binaryCodec.orderProcessed(orderId, stage, message, timestamp);
+    }
+
+    // ── order.cancelled ───────────────────────────────────────────────────────
+
+    /** Former OrderCancellationEventProducer payload */
+    @Benchmark
+    public byte[] orderCancelledObjectNode() throws JsonProcessingException {
+        ObjectNode event = objectMapper.createObjectNode();
+        event.put("orderId", cancellation.getOrderId());
+        event.put("customerId", cancellation.getCustomerId());
+        event.put("reason", cancellation.getReason());
+        event.put("refundAmount", cancellation.getRefundAmount());
+        event.put("cancelledAt", cancellation.getCancelledAt());
+        event.put("status", "CANCELLED");
+        return objectMapper.writeValueAsString(event).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] orderCancelledStreamingWriter() {
+        return jsonWriter.orderCancelled(cancellation);
+    }
+
+    @Benchmark
+    public byte[] orderCancelledBinary() {
+        return binaryCodec.orderCancelled(cancellation);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EventEncodingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
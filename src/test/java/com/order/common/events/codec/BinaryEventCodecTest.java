@@ -0,0 +1,226 @@
+package com.order.common.events.codec;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.order.common.events.EventPayloadWriter;
+import com.order.common.events.dto.CancellationEventDto;
+import com.order.common.events.dto.OrderProcessEventDto;
+import com.order.common.events.dto.StageTransitionsDto;
+import com.order.common.events.dto.TrackingStatusDto;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryEventCodecTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 3, 14, 15, 9, 26, 535_897_000);
+
+    private final BinaryEventCodec codec = new BinaryEventCodec();
+    private final EventPayloadWriter jsonWriter = new EventPayloadWriter();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    // ── Round trips, one per schema ───────────────────────────────────────────
+
+    @Test
+    void orderProcessedRoundTrip() {
+        byte[] payload = codec.orderProcessed("ORD-1", "VALIDATED", "Validation passed — ✓ 🚚", AT);
+
+        assertThat(BinaryEventCodec.isBinary(payload)).isTrue();
+        assertThat(BinaryEventCodec.schemaOf(payload)).isEqualTo(EventSchema.ORDER_PROCESSED);
+        TrackingStatusDto decoded = codec.decodeOrderProcessed(payload);
+        assertThat(decoded.getOrderId()).isEqualTo("ORD-1");
+        assertThat(decoded.getStage()).isEqualTo("VALIDATED");
+        assertThat(decoded.getMessage()).isEqualTo("Validation passed — ✓ 🚚");
+        assertThat(LocalDateTime.parse(decoded.getTimestamp())).isEqualTo(AT);
+    }
+
+    @Test
+    void orderCancelledRoundTrip() {
+        CancellationEventDto event = CancellationEventDto.builder()
+                .orderId("ORD-2")
+                .customerId("CUST-9")
+                .reason("Changed my mind")
+                .refundAmount(129.95)
+                .cancelledAt(1_710_428_966_535L)
+                .build();
+
+        byte[] payload = codec.orderCancelled(event);
+
+        assertThat(BinaryEventCodec.schemaOf(payload)).isEqualTo(EventSchema.ORDER_CANCELLED);
+        assertThat(codec.decodeOrderCancelled(payload)).isEqualTo(event);
+    }
+
+    @Test
+    void orderProcessChangedRoundTrip() {
+        OrderProcessEventDto event = OrderProcessEventDto.builder()
+                .event("ORDERPROCESS_BULK_IMPORTED")
+                .orderId(-42L)
+                .stage("PACKING")
+                .status("IN_PROGRESS")
+                .notes("fragile")
+                .createdAt(AT)
+                .updatedAt(AT.plusSeconds(5))
+                .ids(List.of(1001L, 1002L, 1051L))
+                .count(3L)
+                .build();
+
+        byte[] payload = codec.orderProcessChanged(event);
+
+        assertThat(BinaryEventCodec.schemaOf(payload)).isEqualTo(EventSchema.ORDER_PROCESS_CHANGED);
+        assertThat(codec.decodeOrderProcessChanged(payload)).isEqualTo(event);
+    }
+
+    @Test
+    void orderStageTransitionsRoundTrip() {
+        StageTransitionsDto event = new StageTransitionsDto("ORD-3", new ArrayList<>(List.of(
+                new StageTransitionsDto.Transition("RECEIVED", "Order received", AT),
+                new StageTransitionsDto.Transition("VALIDATED", null, AT.plusNanos(1)),
+                new StageTransitionsDto.Transition("SHIPPED", "Handed to carrier", AT.plusMinutes(3)))));
+
+        byte[] payload = codec.orderStageTransitions(event);
+
+        assertThat(BinaryEventCodec.schemaOf(payload)).isEqualTo(EventSchema.ORDER_STAGE_TRANSITIONS);
+        assertThat(codec.decodeOrderStageTransitions(payload)).isEqualTo(event);
+    }
+
+    @Test
+    void nullFieldsTakeNoSpaceAndDecodeAsNull() {
+        OrderProcessEventDto deleted = OrderProcessEventDto.builder().event("ORDERPROCESS_DELETED").id(7L).build();
+
+        byte[] payload = codec.orderProcessChanged(deleted);
+
+        assertThat(codec.decodeOrderProcessChanged(payload)).isEqualTo(deleted);
+        assertThat(payload.length).isLessThan(codec.orderProcessChanged(OrderProcessEventDto.builder()
+                .event("ORDERPROCESS_DELETED").id(7L).notes("x").build()).length);
+    }
+
+    @Test
+    void decodeDispatchesOnSchemaId() {
+        assertThat(codec.decode(codec.orderProcessed("ORD-4", "RECEIVED", null, AT)))
+                .isInstanceOf(TrackingStatusDto.class);
+        assertThat(codec.decode(codec.orderCancelled(CancellationEventDto.builder().orderId("ORD-4").build())))
+                .isInstanceOf(CancellationEventDto.class);
+        assertThat(codec.decode(codec.orderProcessChanged(OrderProcessEventDto.builder().id(1L).build())))
+                .isInstanceOf(OrderProcessEventDto.class);
+        assertThat(codec.decode(codec.orderStageTransitions(new StageTransitionsDto("ORD-4", List.of()))))
+                .isInstanceOf(StageTransitionsDto.class);
+    }
+
+    @Test
+    void typedDecodeRejectsAnotherSchema() {
+        byte[] cancelled = codec.orderCancelled(CancellationEventDto.builder().orderId("ORD-5").build());
+
+        assertThatThrownBy(() -> codec.decodeOrderProcessed(cancelled))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("ORDER_PROCESSED");
+    }
+
+    // ── Compatibility ─────────────────────────────────────────────────────────
+
+    /** A newer writer added fields of every wire type; this (older) reader skips them */
+    @Test
+    void oldReaderSkipsFieldsFromNewerWriter() {
+        BinaryEventWriter out = new BinaryEventWriter().begin(EventSchema.ORDER_PROCESSED);
+        out.string(1, "ORD-6");
+        out.int64(20, 123_456_789L);
+        out.string(2, "SHIPPED");
+        out.string(21, "carrier=DHL");
+        out.float64(22, 3.5);
+        out.string(3, "On its way");
+        out.dateTime(4, AT);
+        out.int64(23, -1L);
+
+        TrackingStatusDto decoded = codec.decodeOrderProcessed(out.toByteArray());
+
+        assertThat(decoded.getOrderId()).isEqualTo("ORD-6");
+        assertThat(decoded.getStage()).isEqualTo("SHIPPED");
+        assertThat(decoded.getMessage()).isEqualTo("On its way");
+        assertThat(LocalDateTime.parse(decoded.getTimestamp())).isEqualTo(AT);
+    }
+
+    /** A v1 ORDER_PROCESS_CHANGED record (before ids / count) decodes with those fields null */
+    @Test
+    void newReaderLeavesFieldsMissingFromOlderWriterNull() {
+        BinaryEventWriter out = new BinaryEventWriter().begin(EventSchema.ORDER_PROCESS_CHANGED);
+        out.string(1, "ORDERPROCESS_CREATED");
+        out.int64(2, 11L);
+        out.string(5, "PENDING");
+
+        OrderProcessEventDto decoded = codec.decodeOrderProcessChanged(out.toByteArray());
+
+        assertThat(decoded.getEvent()).isEqualTo("ORDERPROCESS_CREATED");
+        assertThat(decoded.getId()).isEqualTo(11L);
+        assertThat(decoded.getStatus()).isEqualTo("PENDING");
+        assertThat(decoded.getIds()).isNull();
+        assertThat(decoded.getCount()).isNull();
+    }
+
+    /** A v2 record still carrying the retired lastId field decodes; the field is skipped */
+    @Test
+    void retiredLastIdFieldIsSkipped() {
+        BinaryEventWriter out = new BinaryEventWriter().begin(EventSchema.ORDER_PROCESS_CHANGED);
+        out.string(1, "ORDERPROCESS_BULK_IMPORTED");
+        out.int64(2, 1001L);
+        out.int64(9, 1050L);
+        out.int64(10, 50L);
+
+        OrderProcessEventDto decoded = codec.decodeOrderProcessChanged(out.toByteArray());
+
+        assertThat(decoded.getId()).isEqualTo(1001L);
+        assertThat(decoded.getCount()).isEqualTo(50L);
+        assertThat(decoded.getIds()).isNull();
+    }
+
+    @Test
+    void bulkImportJsonListsEveryId() throws IOException {
+        OrderProcessEventDto event = OrderProcessEventDto.builder()
+                .event("ORDERPROCESS_BULK_IMPORTED")
+                .ids(List.of(7L, 8L, 60L))
+                .count(3L)
+                .createdAt(AT)
+                .build();
+
+        OrderProcessEventDto fromJson = objectMapper.readValue(jsonWriter.orderProcessChanged(event),
+                OrderProcessEventDto.class);
+
+        assertThat(fromJson.getIds()).containsExactly(7L, 8L, 60L);
+        assertThat(fromJson.getCount()).isEqualTo(3L);
+    }
+
+    /** Consumers tell the formats apart by the first byte while a topic is being migrated */
+    @Test
+    void consumerReadsJsonAndBinaryFromTheSameTopic() throws IOException {
+        byte[] json = jsonWriter.orderProcessed("ORD-7", "RECEIVED", "Order received", AT);
+        byte[] binary = codec.orderProcessed("ORD-7", "RECEIVED", "Order received", AT);
+
+        assertThat(BinaryEventCodec.isBinary(json)).isFalse();
+        assertThat(BinaryEventCodec.isBinary(binary)).isTrue();
+
+        TrackingStatusDto fromJson = readOrderProcessed(json);
+        TrackingStatusDto fromBinary = readOrderProcessed(binary);
+        assertThat(fromBinary.getOrderId()).isEqualTo(fromJson.getOrderId());
+        assertThat(fromBinary.getStage()).isEqualTo(fromJson.getStage());
+        assertThat(fromBinary.getMessage()).isEqualTo(fromJson.getMessage());
+        assertThat(LocalDateTime.parse(fromBinary.getTimestamp()))
+                .isEqualTo(LocalDateTime.parse(fromJson.getTimestamp()));
+    }
+
+    @Test
+    void isBinaryRejectsEmptyAndNull() {
+        assertThat(BinaryEventCodec.isBinary(null)).isFalse();
+        assertThat(BinaryEventCodec.isBinary(new byte[0])).isFalse();
+    }
+
+    private TrackingStatusDto readOrderProcessed(byte[] payload) throws IOException {
+        return BinaryEventCodec.isBinary(payload)
+                ? codec.decodeOrderProcessed(payload)
+                : objectMapper.readValue(payload, TrackingStatusDto.class);
+    }
+}
@@ -0,0 +1,174 @@
+package com.order.common.events.spool;
+
+import com.order.common.events.EventPublisher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaZKBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Broker outage end to end: records published while the broker is down land in the spool,
+ * and after the broker is back the replayer delivers them in publish order and checkpoints.
+ *
+ * Uses the embedded broker programmatically (the same broker {@code @EmbeddedKafka} starts)
+ * because the test stops and restarts it, which needs a fixed port for the producer to find
+ * it again.
+ */
+class KafkaSpoolReplayTest {
+
+    private static final String TOPIC = "order.processed";
+
+    @TempDir
+    Path spoolDir;
+
+    private EmbeddedKafkaZKBroker broker;
+    private DefaultKafkaProducerFactory<String, byte[]> producerFactory;
+    private KafkaTemplate<String, byte[]> template;
+    private KafkaSpool spool;
+    private EventPublisher publisher;
+    private KafkaSpoolReplayer replayer;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        broker = new EmbeddedKafkaZKBroker(1, false, 1, TOPIC).kafkaPorts(freePort());
+        broker.afterPropertiesSet();
+
+        producerFactory = new DefaultKafkaProducerFactory<>(Map.of(
+                ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString(),
+                ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false,
+                ProducerConfig.ACKS_CONFIG, "1",
+                ProducerConfig.MAX_BLOCK_MS_CONFIG, 1_000,
+                ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 1_000,
+                ProducerConfig.DELIVERY_TIMEOUT_MS_CONFIG, 2_000,
+                ProducerConfig.LINGER_MS_CONFIG, 0,
+                ProducerConfig.RECONNECT_BACKOFF_MAX_MS_CONFIG, 500));
+        template = new KafkaTemplate<>(producerFactory);
+
+        registry = new SimpleMeterRegistry();
+        spool = new KafkaSpool(spoolDir.toString(), 1 << 20, 4, registry);
+        spool.open();
+        publisher = new EventPublisher(template, spool, registry);
+        replayer = new KafkaSpoolReplayer(spool, template, 100, 2_000, 1_000, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        publisher.close();
+        spool.close();
+        producerFactory.destroy();
+        broker.destroy();
+    }
+
+    @Test
+    void recordsSpooledDuringOutageAreReplayedInOrderAfterRestart() throws Exception {
+        publisher.publish(TOPIC, "k0", bytes("before outage"));
+        publisher.flush();
+        assertThat(spool.isEmpty()).isTrue();
+
+        broker.getKafkaServer(0).shutdown();
+        broker.getKafkaServer(0).awaitShutdown();
+
+        // the first send fails after delivery.timeout.ms and is spooled from its callback;
+        // once the spool is non-empty every later record goes straight behind it
+        publisher.publish(TOPIC, "k1", bytes("1"));
+        await().atMost(Duration.ofSeconds(30)).until(() -> spool.pendingRecords() == 1);
+        for (int i = 2; i <= 5; i++) {
+            publisher.publish(TOPIC, "k" + i, bytes(Integer.toString(i)));
+        }
+
+        // the age gauge tracks the oldest waiting record
+        await().atMost(Duration.ofSeconds(5)).until(() -> oldestAgeSeconds() > 0);
+        List<SpooledRecord> spooled = spool.read(10);
+        assertThat(spooled).extracting(SpooledRecord::key).containsExactly("k1", "k2", "k3", "k4", "k5");
+        assertThat(spooled).extracting(r -> new String(r.value(), StandardCharsets.UTF_8))
+                .containsExactly("1", "2", "3", "4", "5");
+        assertThat(spooled).allMatch(r -> TOPIC.equals(r.topic()));
+
+        // still down: nothing is acknowledged, so nothing is committed
+        replayer.replay();
+        assertThat(spool.pendingRecords()).isEqualTo(5);
+        assertThat(Files.exists(spoolDir.resolve("checkpoint"))).isFalse();
+
+        broker.restart(0);
+        await().atMost(Duration.ofSeconds(60)).pollInterval(Duration.ofMillis(500)).untilAsserted(() -> {
+            replayer.replay();
+            assertThat(spool.isEmpty()).isTrue();
+        });
+
+        assertThat(oldestAgeSeconds()).isZero();
+
+        SpooledRecord last = spooled.get(spooled.size() - 1);
+        assertThat(Files.readString(spoolDir.resolve("checkpoint")).trim())
+                .isEqualTo(last.segment() + ":" + last.nextOffset());
+
+        // at-least-once: a record acknowledged after its batch timed out may appear twice,
+        // but first occurrences follow publish order
+        assertThat(consumeKeys(6)).containsExactly("k0", "k1", "k2", "k3", "k4", "k5");
+
+        // a restarted service resumes from the checkpoint and replays nothing again
+        spool.close();
+        KafkaSpool reopened = new KafkaSpool(spoolDir.toString(), 1 << 20, 4, new SimpleMeterRegistry());
+        reopened.open();
+        spool = reopened;
+        assertThat(reopened.isEmpty()).isTrue();
+    }
+
+    private double oldestAgeSeconds() {
+        return registry.get("orderprocessing.kafka.spool.oldest.age").gauge().value();
+    }
+
+    private List<String> consumeKeys(int expected) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("spool-replay-test", "false", broker);
+        try (Consumer<String, byte[]> consumer = new DefaultKafkaConsumerFactory<>(props,
+                new StringDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, TOPIC);
+            List<String> keys = new ArrayList<>();
+            StreamSupport.stream(KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), expected)
+                            .records(TOPIC).spliterator(), false)
+                    .map(ConsumerRecord::key)
+                    .filter(key -> !keys.contains(key))
+                    .forEach(keys::add);
+            return keys;
+        }
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
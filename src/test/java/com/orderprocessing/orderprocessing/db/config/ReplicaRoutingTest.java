@@ -0,0 +1,186 @@
+package com.orderprocessing.orderprocessing.db.config;
+
+import com.orderprocessing.orderprocessing.db.config.DataSourceRoutingConfig.DataSourceContextHolder;
+import com.orderprocessing.orderprocessing.db.config.DataSourceRoutingConfig.DataSourceType;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes through the real {@link DataSourceRoutingConfig} beans against one primary and two
+ * replica in-memory H2 databases. Each database holds a single node_info row naming it and
+ * carrying the replication lag the probe's lag query reports.
+ */
+class ReplicaRoutingTest {
+
+    private static final int READS = 200;
+
+    private final String run = UUID.randomUUID().toString().substring(0, 8);
+    private final String primaryUrl = url("primary");
+    private final String replicaAUrl = url("replica-a");
+    private final String replicaBUrl = url("replica-b");
+
+    private final DataSourceRoutingConfig config = new DataSourceRoutingConfig();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DataSource primary;
+    private ReplicaPool replicaPool;
+    private DataSource routing;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        seed(primaryUrl, "primary");
+        seed(replicaAUrl, "replica-a");
+        seed(replicaBUrl, "replica-b");
+
+        ReplicaProperties properties = new ReplicaProperties();
+        properties.setNodes(List.of(node("replica-a", replicaAUrl), node("replica-b", replicaBUrl)));
+        properties.setLagQuery("SELECT lag_seconds FROM node_info");
+        properties.setMaxLagSeconds(10);
+        properties.setRecoveryProbes(2);
+
+        StatementTimingProperties statementTiming = new StatementTimingProperties();
+        statementTiming.setEnabled(false);
+
+        primary = config.primaryDataSource(primaryUrl, "sa", "", "org.h2.Driver", meterRegistry);
+        replicaPool = config.replicaPool(properties, meterRegistry, primaryUrl, "sa", "", "org.h2.Driver");
+        routing = config.routingDataSource(primary, replicaPool, statementTiming, null, meterRegistry);
+        replicaPool.probe();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        DataSourceContextHolder.clear();
+        replicaPool.close();
+        ((Closeable) primary).close();
+    }
+
+    @Test
+    void writesGoToThePrimary() throws SQLException {
+        for (int i = 0; i < 20; i++) {
+            assertThat(nodeServing()).isEqualTo("primary");
+        }
+        try (Connection c = routing.getConnection(); Statement st = c.createStatement()) {
+            st.executeUpdate("UPDATE node_info SET lag_seconds = 0");
+        }
+    }
+
+    @Test
+    void readsGoToTheReplicas() throws SQLException {
+        DataSourceContextHolder.set(DataSourceType.REPLICA);
+
+        Set<String> served = new HashSet<>();
+        for (int i = 0; i < READS; i++) {
+            served.add(nodeServing());
+        }
+
+        assertThat(served).containsExactlyInAnyOrder("replica-a", "replica-b");
+        assertThat(meterRegistry.counter("orderprocessing.db.reads",
+                "service", "orderprocessing", "pool", "primary").count()).isZero();
+    }
+
+    @Test
+    void laggingReplicaIsSkippedUntilItRecovers() throws SQLException {
+        setLag(replicaBUrl, 60);
+        replicaPool.probe();
+
+        assertThat(replica("replica-b").inRotation()).isFalse();
+        assertThat(replica("replica-b").lagSeconds()).isEqualTo(60);
+        DataSourceContextHolder.set(DataSourceType.REPLICA);
+        for (int i = 0; i < READS; i++) {
+            assertThat(nodeServing()).isEqualTo("replica-a");
+        }
+
+        setLag(replicaBUrl, 0);
+        replicaPool.probe();
+        assertThat(replica("replica-b").inRotation()).isFalse();
+        replicaPool.probe();
+        assertThat(replica("replica-b").inRotation()).isTrue();
+    }
+
+    @Test
+    void failedReplicaIsSkipped() throws SQLException {
+        ((HikariDataSource) replica("replica-a").getTargetDataSource()).close();
+        replicaPool.probe();
+
+        assertThat(replica("replica-a").inRotation()).isFalse();
+        DataSourceContextHolder.set(DataSourceType.REPLICA);
+        for (int i = 0; i < READS; i++) {
+            assertThat(nodeServing()).isEqualTo("replica-b");
+        }
+    }
+
+    @Test
+    void readsFallBackToThePrimaryWhenNoReplicaIsInRotation() throws SQLException {
+        setLag(replicaAUrl, 60);
+        ((HikariDataSource) replica("replica-b").getTargetDataSource()).close();
+        replicaPool.probe();
+
+        DataSourceContextHolder.set(DataSourceType.REPLICA);
+        assertThat(nodeServing()).isEqualTo("primary");
+        assertThat(meterRegistry.counter("orderprocessing.db.reads",
+                "service", "orderprocessing", "pool", "primary").count()).isEqualTo(1);
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private String url(String node) {
+        return "jdbc:h2:mem:routing-" + node + "-" + run + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private String nodeServing() throws SQLException {
+        try (Connection c = routing.getConnection();
+             Statement st = c.createStatement();
+             ResultSet rs = st.executeQuery("SELECT name FROM node_info")) {
+            rs.next();
+            return rs.getString(1);
+        }
+    }
+
+    private ReplicaPool.Replica replica(String name) {
+        return replicaPool.replicas().stream()
+                .filter(r -> r.name().equals(name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static ReplicaProperties.Node node(String name, String url) {
+        ReplicaProperties.Node node = new ReplicaProperties.Node();
+        node.setName(name);
+        node.setUrl(url);
+        node.setMaximumPoolSize(5);
+        return node;
+    }
+
+    private static void seed(String url, String name) throws SQLException {
+        try (Connection c = DriverManager.getConnection(url, "sa", "");
+             Statement st = c.createStatement()) {
+            st.execute("CREATE TABLE node_info (name VARCHAR(32), lag_seconds DOUBLE)");
+            st.execute("INSERT INTO node_info VALUES ('" + name + "', 0)");
+        }
+    }
+
+    private static void setLag(String url, double seconds) throws SQLException {
+        try (Connection c = DriverManager.getConnection(url, "sa", "");
+             Statement st = c.createStatement()) {
+            st.executeUpdate("UPDATE node_info SET lag_seconds = " + seconds);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.orderprocessing.orderprocessing.monitoring.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of recording a metric: the {@code builder(...).register(registry)} call the
+ * metrics services and MonitoringAspect made on every increment, against a {@link MeterFamily}
+ * handle resolved through {@link MeterCache}. Tag values rotate over a small set of
+ * class/method names, as on a request path, and every series is registered in setup, so
+ * both variants measure lookup and recording only.
+ *
+ * Run from the test classpath (the GC profiler reports gc.alloc.rate.norm, bytes per call):
+ *
+ *   java -cp target/test-classes:target/classes:<test classpath> \
+ *       com.orderprocessing.orderprocessing.monitoring.metrics.MeterLookupBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class MeterLookupBenchmark {
+
+    private static final String[] CLASSES = {
+            "OrderProcessController", "OrderProcessService", "OrderSearchService", "TrackingController"};
+    private static final String[] METHODS = {
+            "findById", "findPage", "create", "update", "cancel", "search", "status", "history"};
+
+    private MeterRegistry meterRegistry;
+    private MeterFamily<Counter> errors;
+    private MeterFamily<Timer> latency;
+
+    @Setup
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        MeterCache meterCache = new MeterCache(meterRegistry, 1000);
+        errors = meterCache.counter("orderprocessing.controller.errors",
+                "Controller invocations that threw", "class", "method");
+        latency = meterCache.timer("orderprocessing.controller.latency",
+                "Controller invocation latency", true, "class", "method", "status");
+        for (String className : CLASSES) {
+            for (String method : METHODS) {
+                errors.get(className, method);
+                latency.get(className, method, "success");
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Call {
+        private int next;
+
+        String className() {
+            return CLASSES[next & (CLASSES.length - 1)];
+        }
+
+        String method() {
+            return METHODS[(next++ >>> 2) & (METHODS.length - 1)];
+        }
+    }
+
+    // ── Counter ───────────────────────────────────────────────────────────────
+
+    @Benchmark
+    public void counterBuilderPerCall(Call call) {
+        Counter.builder("orderprocessing.controller.errors")
+               .description("Controller invocations that threw")
+               .tag("service", "orderprocessing")
+               .tag("class", call.className())
+               .tag("method", call.method())
+               .register(meterRegistry).increment();
+    }
+
+    @Benchmark
+    public void counterCachedHandle(Call call) {
+        errors.get(call.className(), call.method()).increment();
+    }
+
+    // ── Timer ─────────────────────────────────────────────────────────────────
+
+    @Benchmark
+    public void timerBuilderPerCall(Call call) {
+        Timer.builder("orderprocessing.controller.latency")
+             .description("Controller invocation latency")
+             .tag("service", "orderprocessing")
+             .tag("class", call.className())
+             .tag("method", call.method())
+             .tag("status", "success")
+             .publishPercentileHistogram()
+             .register(meterRegistry).record(1_250_000, TimeUnit.NANOSECONDS);
+    }
+
+    @Benchmark
+    public void timerCachedHandle(Call call) {
+        latency.get(call.className(), call.method(), "success").record(1_250_000, TimeUnit.NANOSECONDS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MeterLookupBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}